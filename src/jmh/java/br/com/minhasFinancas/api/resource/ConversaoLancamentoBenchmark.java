@@ -0,0 +1,56 @@
+package br.com.minhasFinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.minhasFinancas.api.dto.LancamentoDTO;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+
+/**
+ * Conversão Lancamento -> LancamentoDTO feita em toda resposta de busca e do stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoLancamentoBenchmark {
+
+	private LancamentoResource resource;
+	private Lancamento lancamento;
+	
+	@Setup
+	public void setUp() {
+		resource = new LancamentoResource(null, null, null);
+		lancamento = Lancamento.builder()
+				.id(1l)
+				.descricao("aluguel")
+				.mes(6)
+				.ano(2020)
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.DESPESA)
+				.status(StatusLancamento.PENDENTE)
+				.usuario(Usuario.builder().id(1l).build())
+				.build();
+	}
+	
+	@Benchmark
+	public LancamentoDTO converter() {
+		return resource.converter(lancamento);
+	}
+}
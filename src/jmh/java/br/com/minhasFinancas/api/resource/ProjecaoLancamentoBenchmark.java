@@ -0,0 +1,72 @@
+package br.com.minhasFinancas.api.resource;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.minhasFinancas.api.dto.LancamentoDTO;
+import br.com.minhasFinancas.benchmark.BaseDeDados;
+import br.com.minhasFinancas.model.entity.Lancamento;
+
+/**
+ * Entidade + converter contra a projeção direto no LancamentoDTO, nas leituras de GET /api/lancamentos/{id}
+ * e GET /api/lancamentos. Para comparar bytes/op rode com -Djmh.args="ProjecaoLancamento -prof gc".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjecaoLancamentoBenchmark {
+
+	private LancamentoResource resource;
+	
+	@Setup
+	public void setUp() {
+		resource = new LancamentoResource(null, null, null);
+	}
+	
+	@Benchmark
+	public LancamentoDTO obterEntidadeEConverter(BaseDeDados base) {
+		Optional<Lancamento> lancamento = base.lancamentoService.obterPorId(idDoMeio(base));
+		return resource.converter(lancamento.get());
+	}
+	
+	@Benchmark
+	public LancamentoDTO obterProjecao(BaseDeDados base) {
+		return base.lancamentoService.obterDTOPorId(idDoMeio(base)).get();
+	}
+	
+	@Benchmark
+	public List<LancamentoDTO> buscarEntidadesEConverter(BaseDeDados base) {
+		return base.lancamentoService.buscar(filtro(base)).stream()
+				.map(resource::converter)
+				.collect(Collectors.toList());
+	}
+	
+	@Benchmark
+	public List<LancamentoDTO> buscarProjecao(BaseDeDados base) {
+		return base.lancamentoService.buscarDTO(filtro(base));
+	}
+	
+	private Long idDoMeio(BaseDeDados base) {
+		return (long) base.volume / 2;
+	}
+	
+	private Lancamento filtro(BaseDeDados base) {
+		return Lancamento.builder().usuario(base.usuario).ano(2020).mes(6).build();
+	}
+}
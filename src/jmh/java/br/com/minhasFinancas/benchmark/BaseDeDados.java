@@ -0,0 +1,88 @@
+package br.com.minhasFinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.minhasFinancas.MinhasFinancasApplication;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+import br.com.minhasFinancas.service.LancamentoService;
+import br.com.minhasFinancas.service.ResumoMensalService;
+import br.com.minhasFinancas.service.SaldoUsuarioService;
+
+/**
+ * Sobe a aplicação (porta aleatória, o @EnableWebMvc exige o contexto servlet) sobre um H2 em memória no modo PostgreSQL e
+ * grava {@code volume} lançamentos para um único usuário, distribuídos em 10 anos.
+ */
+@State(Scope.Benchmark)
+public class BaseDeDados {
+
+	private static final int LINHAS_POR_BATCH = 5000;
+	
+	@Param({ "1000", "100000", "1000000" })
+	public int volume;
+	
+	public ConfigurableApplicationContext context;
+	public LancamentoService lancamentoService;
+	public Usuario usuario;
+	
+	@Setup(Level.Trial)
+	public void subir() {
+		context = new SpringApplicationBuilder(MinhasFinancasApplication.class)
+				.run("--server.port=0",
+						"--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+						"--spring.datasource.driver-class-name=org.h2.Driver",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--sql.perfil.ativo=false",
+						"--spring.devtools.restart.enabled=false",
+						"--logging.level.root=WARN");
+		lancamentoService = context.getBean(LancamentoService.class);
+		usuario = context.getBean(UsuarioRepository.class)
+				.save(Usuario.builder().nome("benchmark").email("benchmark@email.com").senha("senha").build());
+		popular();
+	}
+	
+	@TearDown(Level.Trial)
+	public void descer() {
+		context.close();
+	}
+	
+	// insere direto pelo JDBC e depois reconstrói as projeções de saldo e resumo mensal
+	private void popular() {
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		String insert = "insert into financas.lancamento (id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status) "
+				+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		List<Object[]> batch = new ArrayList<>(LINHAS_POR_BATCH);
+		Date hoje = Date.valueOf(LocalDate.now());
+		for (int i = 1; i <= volume; i++) {
+			batch.add(new Object[] { (long) i, "lançamento " + i, i % 12 + 1, 2015 + i % 10, usuario.getId(),
+					BigDecimal.valueOf(i % 1000 + 1, 2), hoje, i % 3 == 0 ? "RECEITA" : "DESPESA",
+					i % 4 == 0 ? "PENDENTE" : "EFETIVADO" });
+			if (batch.size() == LINHAS_POR_BATCH) {
+				jdbcTemplate.batchUpdate(insert, batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			jdbcTemplate.batchUpdate(insert, batch);
+		}
+		// os ids gravados acima não podem ser entregues de novo pela sequence
+		jdbcTemplate.execute("alter sequence financas.lancamento_seq restart with " + (volume + 100));
+		context.getBean(ResumoMensalService.class).reconstruir();
+		context.getBean(SaldoUsuarioService.class).corrigirSaldo(usuario.getId());
+	}
+}
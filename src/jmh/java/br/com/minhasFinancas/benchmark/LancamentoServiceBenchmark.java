@@ -0,0 +1,60 @@
+package br.com.minhasFinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LancamentoServiceBenchmark {
+
+	@Benchmark
+	public List<Lancamento> buscarPorAnoEMes(BaseDeDados base) {
+		Lancamento filtro = Lancamento.builder().usuario(base.usuario).ano(2020).mes(6).build();
+		return base.lancamentoService.buscar(filtro);
+	}
+	
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuario(BaseDeDados base) {
+		return base.lancamentoService.obterSaldoPorUsuario(base.usuario.getId());
+	}
+	
+	// cada chamada insere uma linha, então a tabela cresce durante a medição
+	@Benchmark
+	public Lancamento salvar(BaseDeDados base) {
+		return base.lancamentoService.salvar(novoLancamento(base));
+	}
+	
+	@Benchmark
+	public void validar(BaseDeDados base, Blackhole blackhole) {
+		Lancamento lancamento = novoLancamento(base);
+		base.lancamentoService.validar(lancamento);
+		blackhole.consume(lancamento);
+	}
+	
+	private Lancamento novoLancamento(BaseDeDados base) {
+		return Lancamento.builder()
+				.descricao("benchmark")
+				.mes(6)
+				.ano(2020)
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.DESPESA)
+				.usuario(base.usuario)
+				.build();
+	}
+}
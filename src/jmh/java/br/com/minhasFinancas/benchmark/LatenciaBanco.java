@@ -0,0 +1,39 @@
+package br.com.minhasFinancas.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Simula um banco lento: cada conexão obtida do pool fica presa por benchmark.latencia-ms
+ * antes de ser usada, como uma ida e volta demorada ao PostgreSQL.
+ */
+public class LatenciaBanco implements BeanPostProcessor {
+
+	@Value("${benchmark.latencia-ms:0}")
+	private long latenciaMs;
+	
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!(bean instanceof DataSource) || latenciaMs == 0) {
+			return bean;
+		}
+		return new DelegatingDataSource((DataSource) bean) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				Connection connection = super.getConnection();
+				try {
+					Thread.sleep(latenciaMs);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return connection;
+			}
+		};
+	}
+}
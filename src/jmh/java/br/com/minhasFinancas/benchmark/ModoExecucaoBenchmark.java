@@ -0,0 +1,103 @@
+package br.com.minhasFinancas.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.minhasFinancas.MinhasFinancasApplication;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+
+/**
+ * Teste de carga HTTP comparando o pool de threads do Tomcat com as threads virtuais.
+ * O Tomcat fica limitado a 32 threads e o Hikari a 64 conexões, com latência simulada no banco:
+ * no modo tradicional a vazão para nas threads do Tomcat, no modo virtual vai até o pool de conexões
+ * (teto teórico de 32 e 64 requisições simultâneas). Com latência baixa o limite passa a ser a CPU,
+ * principalmente com o cliente na mesma máquina.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(128)
+@Fork(value = 1, jvmArgsAppend = "-Dhttp.maxConnections=256") // keep-alive para todas as threads do cliente
+public class ModoExecucaoBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Servidor {
+		
+		@Param({ "false", "true" })
+		public boolean threadsVirtuais;
+		
+		@Param({ "200" })
+		public long latenciaMs;
+		
+		ConfigurableApplicationContext context;
+		URL obterSaldo;
+		
+		@Setup(Level.Trial)
+		public void subir() throws MalformedURLException {
+			context = new SpringApplicationBuilder(MinhasFinancasApplication.class, LatenciaBanco.class)
+					.run("--server.port=0",
+							"--server.tomcat.threads.max=32",
+							"--spring.datasource.hikari.maximum-pool-size=64",
+							"--spring.datasource.hikari.minimum-idle=64",
+							"--spring.datasource.hikari.connection-timeout=30000",
+							"--servidor.threads-virtuais=" + threadsVirtuais,
+							"--benchmark.latencia-ms=" + latenciaMs,
+							"--spring.datasource.url=jdbc:h2:mem:carga;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+							"--spring.datasource.driver-class-name=org.h2.Driver",
+							"--spring.datasource.username=sa",
+							"--spring.datasource.password=",
+							"--sql.perfil.ativo=false",
+							"--spring.devtools.restart.enabled=false",
+							"--logging.level.root=WARN");
+			Usuario usuario = context.getBean(UsuarioRepository.class)
+					.save(Usuario.builder().nome("carga").email("carga@email.com").senha("senha").build());
+			int porta = ((WebServerApplicationContext) context).getWebServer().getPort();
+			
+			obterSaldo = URI.create("http://localhost:" + porta + "/api/usuarios/" + usuario.getId() + "/saldo").toURL();
+		}
+		
+		@TearDown(Level.Trial)
+		public void descer() {
+			context.close();
+		}
+	}
+	
+	// cliente bloqueante, uma requisição por thread do JMH
+	@Benchmark
+	public int obterSaldo(Servidor servidor) throws IOException {
+		HttpURLConnection conexao = (HttpURLConnection) servidor.obterSaldo.openConnection();
+		int status = conexao.getResponseCode();
+		try (InputStream corpo = conexao.getInputStream()) {
+			corpo.readAllBytes();
+		}
+		if (status != 200) {
+			throw new IllegalStateException("Status inesperado: " + status);
+		}
+		return status;
+	}
+}
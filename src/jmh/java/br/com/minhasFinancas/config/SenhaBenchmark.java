@@ -0,0 +1,56 @@
+package br.com.minhasFinancas.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Autenticações por segundo em uma thread, ou seja, por núcleo, para cada usuario.senha.custo.
+ * Multiplicado pelo número de threads do executor de senhas dá o teto de logins da instância;
+ * conferirSenhaSemHash é o custo das senhas ainda não convertidas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(1)
+@Fork(1)
+public class SenhaBenchmark {
+
+	private static final String SENHA = "senha-do-benchmark";
+
+	@Param({ "8", "10", "12" })
+	public int custo;
+
+	private PasswordEncoder encoder;
+	private String hash;
+
+	@Setup
+	public void setUp() {
+		encoder = new SenhaConfiguration().passwordEncoder(custo);
+		hash = encoder.encode(SENHA);
+	}
+
+	@Benchmark
+	public boolean conferirSenha() {
+		return encoder.matches(SENHA, hash);
+	}
+
+	@Benchmark
+	public boolean conferirSenhaSemHash() {
+		return encoder.matches(SENHA, SENHA);
+	}
+}
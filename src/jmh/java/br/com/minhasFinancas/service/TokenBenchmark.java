@@ -0,0 +1,70 @@
+package br.com.minhasFinancas.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.service.impl.TokenServiceImpl;
+
+/**
+ * Custo por requisição da verificação feita pelo FiltroToken, com 'revogados' tokens na lista de revogação,
+ * para comparar com a leitura do usuário (finById) que ela substitui.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBenchmark {
+
+	@Param({ "0", "100000" })
+	public int revogados;
+
+	private TokenService service;
+	private String valido;
+	private String revogado;
+
+	@Setup
+	public void setUp() {
+		service = new TokenServiceImpl(Base64.getEncoder().encodeToString(new byte[32]), Duration.ofMinutes(60), Clock.systemUTC());
+		Usuario usuario = Usuario.builder().id(1l).build();
+		for (int i = 0; i < revogados; i++) {
+			service.revogar(service.emitir(usuario));
+		}
+		valido = service.emitir(usuario).getValor();
+		TokenAcesso token = service.emitir(usuario);
+		service.revogar(token);
+		revogado = token.getValor();
+	}
+
+	@Benchmark
+	public Optional<TokenAcesso> verificar() {
+		return service.verificar(valido);
+	}
+
+	@Benchmark
+	public Optional<TokenAcesso> verificarRevogado() {
+		return service.verificar(revogado);
+	}
+
+	@Benchmark
+	public TokenAcesso emitir() {
+		return service.emitir(Usuario.builder().id(1l).build());
+	}
+}
@@ -10,4 +10,6 @@ import lombok.NoArgsConstructor;
 public class AtualizaStatusDTO {
 
 	private String status;
+	// opcional: com ela a alteração só é feita se o lançamento ainda estiver nessa versão
+	private Long versao;
 }
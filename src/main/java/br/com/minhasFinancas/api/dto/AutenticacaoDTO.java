@@ -0,0 +1,24 @@
+package br.com.minhasFinancas.api.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutenticacaoDTO {
+
+	private Long id;
+	private String nome;
+	private String email;
+	private String token;
+	private String tipo;
+	private Instant expiraEm;
+}
@@ -0,0 +1,22 @@
+package br.com.minhasFinancas.api.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultaSqlDTO {
+
+	private String sql;
+	private long tempoMs;
+	// rota da requisição que executou a instrução; null fora de requisições (jobs, despacho de eventos)
+	private String rota;
+	private LocalDateTime executadaEm;
+	
+}
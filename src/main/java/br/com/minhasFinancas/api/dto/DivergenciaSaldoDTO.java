@@ -0,0 +1,19 @@
+package br.com.minhasFinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DivergenciaSaldoDTO {
+
+	private Long usuario;
+	private BigDecimal saldoGravado;
+	private BigDecimal saldoCalculado;
+}
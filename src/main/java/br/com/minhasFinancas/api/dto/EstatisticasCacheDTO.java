@@ -0,0 +1,30 @@
+package br.com.minhasFinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasCacheDTO {
+
+	private String regiao;
+	private long acertos;
+	private long falhas;
+	private long insercoes;
+	private double taxaAcerto;
+	
+	public static EstatisticasCacheDTO de(String regiao, long acertos, long falhas, long insercoes) {
+		long consultas = acertos + falhas;
+		return EstatisticasCacheDTO.builder()
+				.regiao(regiao)
+				.acertos(acertos)
+				.falhas(falhas)
+				.insercoes(insercoes)
+				.taxaAcerto(consultas == 0 ? 0 : (double) acertos / consultas)
+				.build();
+	}
+}
@@ -0,0 +1,25 @@
+package br.com.minhasFinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FechamentoDTO {
+
+	private Long usuario;
+	private Integer ano;
+	private Integer mes;
+	private String de;
+	private String para;
+	private int alterados;
+	private int receitas;
+	private int despesas;
+	private BigDecimal valorMovimentado;
+}
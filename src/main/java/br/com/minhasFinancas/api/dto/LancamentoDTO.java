@@ -2,6 +2,8 @@ package br.com.minhasFinancas.api.dto;
 
 import java.math.BigDecimal;
 
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,4 +23,15 @@ public class LancamentoDTO {
 	private Long usuario;
 	private String tipo;
 	private String status;
+	// versão lida, enviada de volta nas alterações para detectar escritas concorrentes
+	private Long versao;
+	
+	// usado pela projeção da consulta (select new ...), que entrega os enums da entidade
+	public LancamentoDTO(Long id, String descricao, Integer mes, Integer ano, BigDecimal valor, Long usuario,
+			TipoLancamento tipo, StatusLancamento status, Long versao) {
+		this(id, descricao, mes, ano, valor, usuario,
+				tipo == null ? null : tipo.name(),
+				status == null ? null : status.name(),
+				versao);
+	}
 }
@@ -0,0 +1,30 @@
+package br.com.minhasFinancas.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerfilRequisicaoDTO {
+
+	private String metodo;
+	private String rota;
+	private int status;
+	private LocalDateTime finalizadaEm;
+	private long instrucoes;
+	private long tempoMs;
+	private List<ConsultaSqlDTO> maisLentas;
+	// selects repetidos a partir do limite de sql.perfil.repeticoes-n-mais-1, com a quantidade de execuções
+	private Map<String, Integer> repetidas;
+	private boolean lenta;
+	private boolean suspeitaNMais1;
+	
+}
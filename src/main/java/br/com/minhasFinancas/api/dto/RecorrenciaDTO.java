@@ -0,0 +1,30 @@
+package br.com.minhasFinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+
+	private Long id;
+	private String descricao;
+	private BigDecimal valor;
+	private String tipo;
+	private String regra;
+	private Integer parcelas;
+	// primeiro mês gerado
+	private Integer mes;
+	private Integer ano;
+	private Long usuario;
+	// próximo mês a gerar, nulos quando a recorrência foi encerrada
+	private Integer proximoMes;
+	private Integer proximoAno;
+	private Integer geradas;
+}
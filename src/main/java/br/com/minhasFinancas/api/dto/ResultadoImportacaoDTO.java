@@ -0,0 +1,23 @@
+package br.com.minhasFinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+
+	private long lidas;
+	private long importadas;
+	private long duplicadas;
+	private long rejeitadas;
+	private List<String> erros;
+	private long duracaoMs;
+	private double linhasPorSegundo;
+}
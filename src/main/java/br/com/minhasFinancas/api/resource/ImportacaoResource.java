@@ -0,0 +1,58 @@
+package br.com.minhasFinancas.api.resource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.minhasFinancas.api.dto.ResultadoImportacaoDTO;
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.service.ImportacaoService;
+import br.com.minhasFinancas.service.importacao.FormatoExtrato;
+
+@RestController
+@RequestMapping("/api/lancamentos/importacao")
+public class ImportacaoResource {
+
+	private ImportacaoService service;
+	
+	public ImportacaoResource(ImportacaoService service) {
+		this.service = service;
+	}
+	
+	// o arquivo do extrato vem no corpo da requisição e é lido à medida que chega
+	@PostMapping
+	public ResponseEntity importar(
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam("formato") String formato,
+			@RequestParam(value = "charset", defaultValue = "UTF-8") String charset,
+			HttpServletRequest request
+			) throws IOException {
+		try {
+			FormatoExtrato formatoExtrato = FormatoExtrato.de(formato);
+			if (!charsetValido(charset)) {
+				throw new RegraNegocioException("Charset não suportado: " + charset);
+			}
+			ResultadoImportacaoDTO resultado = service.importar(idUsuario, formatoExtrato,
+					new InputStreamReader(request.getInputStream(), charset));
+			return ResponseEntity.ok(resultado);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	private boolean charsetValido(String charset) {
+		try {
+			return Charset.isSupported(charset);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+}
@@ -1,9 +1,22 @@
 package br.com.minhasFinancas.api.resource;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,47 +27,76 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.minhasFinancas.api.dto.AtualizaStatusDTO;
 import br.com.minhasFinancas.api.dto.LancamentoDTO;
+import br.com.minhasFinancas.api.dto.PaginaLancamentoDTO;
+import br.com.minhasFinancas.api.dto.ResultadoLoteDTO;
+import br.com.minhasFinancas.config.FiltroToken;
 import br.com.minhasFinancas.exception.RegraNegocioException;
 import br.com.minhasFinancas.model.entity.Lancamento;
 import br.com.minhasFinancas.model.entity.Usuario;
 import br.com.minhasFinancas.model.enums.StatusLancamento;
 import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.CursorLancamento;
 import br.com.minhasFinancas.service.LancamentoService;
 import br.com.minhasFinancas.service.UsuarioService;
+import br.com.minhasFinancas.service.exportacao.EscritorLancamentos;
+import br.com.minhasFinancas.service.exportacao.FormatoExportacao;
 
 @RestController
 @RequestMapping("/api/lancamentos")
 //@RequiredArgsConstructor // implementa 1 contrutor com os argumentos obrigatórios ou sejá os declarados como final
 public class LancamentoResource {
 
+	private static final String NDJSON = "application/x-ndjson";
+	
+	// linhas do lote salvas por transação
+	private static final int TAMANHO_BLOCO_LOTE = 500;
+	
 	private LancamentoService service;
 	private UsuarioService usuarioService;
+	private ObjectMapper objectMapper;
 	
-	public LancamentoResource(LancamentoService service, UsuarioService usuarioService) {
+	public LancamentoResource(LancamentoService service, UsuarioService usuarioService, ObjectMapper objectMapper) {
 		this.service = service;
 		this.usuarioService = usuarioService;
+		this.objectMapper = objectMapper;
 	}
 	
 	@PutMapping("/{id}/atualiza-status") 
 	public ResponseEntity atualizarStatus( @PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto ) {
-		return service.obterPorId(id).map( entity -> {
-			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
-			if (statusSelecionado == null) {
-				ResponseEntity.badRequest().body("Não foi possível atualizar o status do lançamento, envie um status válido.");
-			}
-			entity.setStatus(statusSelecionado);
-			service.atualizar(entity);
-			return ResponseEntity.ok(entity);
-		}).orElseGet( () -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST) );
+		Optional<StatusLancamento> statusSelecionado = converterStatus(dto.getStatus());
+		if (!statusSelecionado.isPresent()) {
+			return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lançamento, envie um status válido.");
+		}
+		Optional<Lancamento> encontrado = service.obterPorId(id);
+		if (!encontrado.isPresent()) {
+			return new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST);
+		}
+		if (!doUsuarioAutenticado(encontrado.get().getUsuario().getId())) {
+			return new ResponseEntity(HttpStatus.FORBIDDEN);
+		}
+		try {
+			return service.atualizarStatus(id, dto.getVersao(), statusSelecionado.get())
+					.<ResponseEntity>map( lancamento -> ResponseEntity.ok(converter(lancamento)) )
+					.orElseGet( () -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST) );
+		} catch (OptimisticLockingFailureException e) {
+			return new ResponseEntity(e.getMessage(), HttpStatus.CONFLICT);
+		}
 	}
 	
 	@GetMapping("{id}")
 	public ResponseEntity obterLancamento ( @PathVariable("id") Long id ) {
-		return service.obterPorId(id)
-				.map( lancamento -> new ResponseEntity( converter(lancamento), HttpStatus.OK) )
+		// o lançamento de outro usuário responde como inexistente
+		return service.obterDTOPorId(id)
+				.filter( lancamento -> doUsuarioAutenticado(lancamento.getUsuario()) )
+				.map( lancamento -> new ResponseEntity( lancamento, HttpStatus.OK) )
 				.orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND) );
 	}
 	
@@ -68,43 +110,182 @@ public class LancamentoResource {
  			@RequestParam(value="ano",required=false) Integer ano,
  			@RequestParam("usuario") Long idUsuario
 			) {
-		Lancamento lancamentoFiltro = new Lancamento();
-		lancamentoFiltro.setDescricao(descricao);
-		lancamentoFiltro.setMes(mes);
-		lancamentoFiltro.setAno(ano);
-		lancamentoFiltro.setTipo( tipo == null || !tipo.isEmpty() ? null: TipoLancamento.valueOf(tipo) );
-		
-		Optional<Usuario> usuario = usuarioService.finById(idUsuario);
-		if (!usuario.isPresent()) {
+		Optional<Lancamento> lancamentoFiltro;
+		try {
+			lancamentoFiltro = criarFiltro(descricao, tipo, mes, ano, idUsuario);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+		if (!lancamentoFiltro.isPresent()) {
 			return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não encontrado para o id informado.");
-		} else {
-			lancamentoFiltro.setUsuario(usuario.get());
 		}
 		
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
+		List<LancamentoDTO> lancamentos = service.buscarDTO(lancamentoFiltro.get());
 		
 		return ResponseEntity.ok(lancamentos);
 	}
 	
+	// paginação por chave (ano, mes, id): o cliente envia o proximoCursor da página anterior
+	@GetMapping("/pagina")
+	public ResponseEntity buscarPagina(
+			@RequestParam(value="descricao", required=false) String descricao,
+			@RequestParam(value="tipo", required=false) String tipo,
+			@RequestParam(value="mes", required=false) Integer mes,
+			@RequestParam(value="ano",required=false) Integer ano,
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value="cursor", required=false) String cursor,
+			@RequestParam(value="tamanho", defaultValue="50") int tamanho
+			) {
+		try {
+			Optional<Lancamento> lancamentoFiltro = criarFiltro(descricao, tipo, mes, ano, idUsuario);
+			if (!lancamentoFiltro.isPresent()) {
+				return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não encontrado para o id informado.");
+			}
+			
+			List<Lancamento> lancamentos = service.buscar(lancamentoFiltro.get(), CursorLancamento.decodificar(cursor), tamanho);
+			String proximoCursor = lancamentos.size() < Math.min(tamanho, LancamentoService.TAMANHO_MAXIMO_PAGINA) ? null
+					: CursorLancamento.depoisDe(lancamentos.get(lancamentos.size() - 1)).codificar();
+			
+			return ResponseEntity.ok(PaginaLancamentoDTO.builder()
+					.lancamentos(lancamentos.stream().map(this::converter).collect(Collectors.toList()))
+					.proximoCursor(proximoCursor)
+					.build());
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	// um LancamentoDTO por linha, escrito à medida que as linhas são lidas do banco
+	@GetMapping(value = "/stream", produces = NDJSON)
+	public ResponseEntity<StreamingResponseBody> buscarStream(
+			@RequestParam(value="descricao", required=false) String descricao,
+			@RequestParam(value="tipo", required=false) String tipo,
+			@RequestParam(value="mes", required=false) Integer mes,
+			@RequestParam(value="ano",required=false) Integer ano,
+			@RequestParam("usuario") Long idUsuario
+			) {
+		Optional<Lancamento> lancamentoFiltro;
+		try {
+			lancamentoFiltro = criarFiltro(descricao, tipo, mes, ano, idUsuario);
+		} catch (RegraNegocioException e) {
+			return erroStream(e.getMessage());
+		}
+		if (!lancamentoFiltro.isPresent()) {
+			return erroStream("Não foi possível realizar a consulta. Usuário não encontrado para o id informado.");
+		}
+		
+		StreamingResponseBody corpo = saida -> service.percorrer(lancamentoFiltro.get(), lancamento -> escreverLinha(saida, lancamento));
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(corpo);
+	}
+	
+	// exporta em csv ou xlsx escrevendo cada linha assim que ela chega do cursor do banco
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportar(
+			@RequestParam(value="descricao", required=false) String descricao,
+			@RequestParam(value="tipo", required=false) String tipo,
+			@RequestParam(value="mes", required=false) Integer mes,
+			@RequestParam(value="ano",required=false) Integer ano,
+			@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value="formato", defaultValue="csv") String formato
+			) {
+		FormatoExportacao formatoExportacao;
+		Optional<Lancamento> lancamentoFiltro;
+		try {
+			formatoExportacao = FormatoExportacao.de(formato);
+			lancamentoFiltro = criarFiltro(descricao, tipo, mes, ano, idUsuario);
+		} catch (RegraNegocioException e) {
+			return erroStream(e.getMessage());
+		}
+		if (!lancamentoFiltro.isPresent()) {
+			return erroStream("Não foi possível realizar a consulta. Usuário não encontrado para o id informado.");
+		}
+		
+		StreamingResponseBody corpo = saida -> {
+			try (EscritorLancamentos escritor = formatoExportacao.abrir(saida)) {
+				service.percorrer(lancamentoFiltro.get(), escritor::escrever);
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(formatoExportacao.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"lancamentos." + formatoExportacao.getExtensao() + "\"")
+				.body(corpo);
+	}
+	
 	@PostMapping
 	public ResponseEntity salvar( @RequestBody LancamentoDTO dto ) {
 		try {
 			Lancamento lancamento = converter(dto);
 			lancamento = service.salvar(lancamento);
-			return new ResponseEntity(lancamento, HttpStatus.CREATED);
+			// o DTO leva só o id do usuário: a entidade serializada carregaria o proxy do usuário pelo OSIV
+			return new ResponseEntity(converter(lancamento), HttpStatus.CREATED);
 		} catch (RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 	}
 	
+	// aceita um array JSON ou um LancamentoDTO por linha (NDJSON) e devolve o resultado de cada linha.
+	// Os blocos já salvos não voltam atrás: se uma linha não puder ser lida, as anteriores são salvas, a leitura
+	// para ali e a resposta é 207 com o resultado de cada linha salva e o erro da linha ilegível
+	@PostMapping(value = "/lote", consumes = { MediaType.APPLICATION_JSON_VALUE, NDJSON })
+	public ResponseEntity salvarLote( HttpServletRequest request ) throws IOException {
+		List<ResultadoLoteDTO> resultados = new ArrayList<>();
+		Map<Long, Optional<Usuario>> usuarios = new HashMap<>();
+		List<Lancamento> bloco = new ArrayList<>(TAMANHO_BLOCO_LOTE);
+		List<Integer> linhasDoBloco = new ArrayList<>(TAMANHO_BLOCO_LOTE);
+		int linha = 0;
+		String erroLeitura = null;
+		
+		try (MappingIterator<LancamentoDTO> dtos = objectMapper.readerFor(LancamentoDTO.class).readValues(request.getInputStream())) {
+			while (dtos.hasNextValue()) {
+				LancamentoDTO dto = dtos.nextValue();
+				linha++;
+				try {
+					// cada usuário é buscado uma única vez por lote
+					Usuario usuario = usuarios.computeIfAbsent(dto.getUsuario(),
+									id -> id == null ? Optional.empty() : UsuarioDaRequisicao.obter(usuarioService, id))
+							.orElseThrow( () -> new RegraNegocioException("Usuário não encontra para o id informado."));
+					Lancamento lancamento = converter(dto, usuario);
+					lancamento.setId(null);
+					bloco.add(lancamento);
+					linhasDoBloco.add(linha);
+				} catch (RegraNegocioException | IllegalArgumentException e) {
+					resultados.add(ResultadoLoteDTO.builder().linha(linha).erro(e.getMessage()).build());
+				}
+				if (bloco.size() == TAMANHO_BLOCO_LOTE) {
+					salvarBloco(bloco, linhasDoBloco, resultados);
+				}
+			}
+		} catch (JsonProcessingException e) {
+			erroLeitura = "Não foi possível ler o lote: " + e.getOriginalMessage();
+		}
+		
+		if (erroLeitura != null && linha == 0) {
+			return ResponseEntity.badRequest().body(erroLeitura);
+		}
+		salvarBloco(bloco, linhasDoBloco, resultados);
+		if (erroLeitura != null) {
+			resultados.add(ResultadoLoteDTO.builder().linha(linha + 1).erro(erroLeitura).build());
+		}
+		resultados.sort( (a, b) -> a.getLinha().compareTo(b.getLinha()) );
+		return ResponseEntity.status(erroLeitura == null ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(resultados);
+	}
+	
 	@PutMapping("/atualizar/{id}")
 	public ResponseEntity atualizar( @PathVariable Long id, @RequestBody LancamentoDTO dto) {
 		return service.obterPorId(id).map( entity -> {
+			if (!doUsuarioAutenticado(entity.getUsuario().getId())) {
+				return new ResponseEntity(HttpStatus.FORBIDDEN);
+			}
 			try {
 				Lancamento lancamento = converter(dto);
 				lancamento.setId(entity.getId());
-				service.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
+				lancamento.setHashImportacao(entity.getHashImportacao());
+				lancamento.setIdRecorrencia(entity.getIdRecorrencia());
+				// sem a versão o cliente aceita sobrescrever o que foi gravado depois da sua leitura
+				lancamento.setVersao(dto.getVersao() != null ? dto.getVersao() : entity.getVersao());
+				return ResponseEntity.ok(converter(service.atualizar(lancamento)));
+			} catch (OptimisticLockingFailureException e) {
+				return new ResponseEntity("O lançamento foi alterado por outra operação, consulte-o novamente.", HttpStatus.CONFLICT);
 			} catch (Exception e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
 			}
@@ -114,6 +295,9 @@ public class LancamentoResource {
 	@DeleteMapping("/{id}")
 	public ResponseEntity deletar ( @PathVariable("id") Long id ) {
 		return service.obterPorId(id).map( entity -> {
+			if (!doUsuarioAutenticado(entity.getUsuario().getId())) {
+				return new ResponseEntity(HttpStatus.FORBIDDEN);
+			}
 			try {
 				service.deletar(entity);
 				return new ResponseEntity( HttpStatus.NO_CONTENT );
@@ -123,20 +307,83 @@ public class LancamentoResource {
 		}).orElseGet( () -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST) );
 	}
 	
-	private LancamentoDTO converter(Lancamento lancamento) {
+	private Optional<Lancamento> criarFiltro(String descricao, String tipo, Integer mes, Integer ano, Long idUsuario) {
+		return UsuarioDaRequisicao.obter(usuarioService, idUsuario).map( usuario -> {
+			Lancamento lancamentoFiltro = new Lancamento();
+			lancamentoFiltro.setDescricao(descricao);
+			lancamentoFiltro.setMes(mes);
+			lancamentoFiltro.setAno(ano);
+			lancamentoFiltro.setTipo( tipo == null || tipo.isEmpty() ? null : TipoLancamento.de(tipo) );
+			lancamentoFiltro.setUsuario(usuario);
+			return lancamentoFiltro;
+		});
+	}
+	
+	// o FiltroToken só confere o usuário da rota e do parâmetro; o dono de um lançamento lido pelo id é conferido aqui
+	private boolean doUsuarioAutenticado(Long idDono) {
+		Long autenticado = FiltroToken.usuarioAutenticado();
+		return autenticado == null || autenticado.equals(idDono);
+	}
+	
+	private Optional<StatusLancamento> converterStatus(String status) {
+		try {
+			return Optional.of(StatusLancamento.valueOf(status));
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return Optional.empty();
+		}
+	}
+	
+	// o Spring só trata a resposta como stream quando o tipo declarado é ResponseEntity<StreamingResponseBody>
+	private ResponseEntity<StreamingResponseBody> erroStream(String mensagem) {
+		return ResponseEntity.badRequest()
+				.contentType(MediaType.TEXT_PLAIN)
+				.body(saida -> saida.write(mensagem.getBytes(StandardCharsets.UTF_8)));
+	}
+	
+	private void escreverLinha(OutputStream saida, Lancamento lancamento) {
+		try {
+			saida.write(objectMapper.writeValueAsBytes(converter(lancamento)));
+			saida.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private void salvarBloco(List<Lancamento> bloco, List<Integer> linhasDoBloco, List<ResultadoLoteDTO> resultados) {
+		if (bloco.isEmpty()) {
+			return;
+		}
+		List<ResultadoLoteDTO> salvos = service.salvarLote(new ArrayList<>(bloco));
+		for (int i = 0; i < salvos.size(); i++) {
+			salvos.get(i).setLinha(linhasDoBloco.get(i));
+		}
+		resultados.addAll(salvos);
+		bloco.clear();
+		linhasDoBloco.clear();
+	}
+	
+	// visível no pacote para o benchmark de conversão (src/jmh/java)
+	LancamentoDTO converter(Lancamento lancamento) {
 		return LancamentoDTO.builder()
 				.id(lancamento.getId())
 				.descricao(lancamento.getDescricao())
 				.valor(lancamento.getValor())
 				.mes(lancamento.getMes())
 				.ano(lancamento.getAno())
-				.status(lancamento.getStatus().name())
+				.status(lancamento.getStatus() == null ? null : lancamento.getStatus().name())
 				.tipo(lancamento.getTipo().name())
 				.usuario(lancamento.getUsuario().getId())
+				.versao(lancamento.getVersao())
 				.build();
 	}
 	
 	private Lancamento converter(LancamentoDTO dto) {
+		Usuario usuario = UsuarioDaRequisicao.obter(usuarioService, dto.getUsuario())
+				.orElseThrow( () -> new RegraNegocioException("Usuário não encontra para o id informado."));
+		return converter(dto, usuario);
+	}
+	
+	private Lancamento converter(LancamentoDTO dto, Usuario usuario) {
 		
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
@@ -144,13 +391,9 @@ public class LancamentoResource {
 		lancamento.setAno(dto.getAno());
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
-		
-		Usuario usuario = usuarioService.finById(dto.getUsuario())
-				.orElseThrow( () -> new RegraNegocioException("Usuário não encontra para o id informado."));
-		
 		lancamento.setUsuario(usuario);
 		if (dto.getTipo() != null) {
-			lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+			lancamento.setTipo(TipoLancamento.de(dto.getTipo()));
 		}
 		if (dto.getStatus() != null) {
 			lancamento.setStatus(StatusLancamento.valueOf(dto.getStatus()));
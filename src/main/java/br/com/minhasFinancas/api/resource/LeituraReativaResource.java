@@ -0,0 +1,98 @@
+package br.com.minhasFinancas.api.resource;
+
+import java.math.BigDecimal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.minhasFinancas.api.dto.LancamentoDTO;
+import br.com.minhasFinancas.config.FiltroToken;
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.leitura.LancamentoLeitura;
+import br.com.minhasFinancas.service.LeituraReativaService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versões sem bloqueio de GET /api/lancamentos, GET /api/lancamentos/{id} e GET /api/usuarios/{id}/saldo.
+ * A thread do Tomcat é liberada enquanto o banco responde; com Accept application/x-ndjson cada
+ * lançamento é escrito assim que chega, e o próximo só é pedido ao banco depois disso.
+ */
+@RestController
+@RequestMapping("/api/reativo")
+public class LeituraReativaResource {
+
+	private static final String NDJSON = "application/x-ndjson";
+	
+	private LeituraReativaService service;
+	
+	public LeituraReativaResource(LeituraReativaService service) {
+		this.service = service;
+	}
+	
+	@GetMapping(value = "/lancamentos", produces = { MediaType.APPLICATION_JSON_VALUE, NDJSON })
+	public ResponseEntity<Flux<LancamentoDTO>> buscar(
+			@RequestParam(value="descricao", required=false) String descricao,
+			@RequestParam(value="tipo", required=false) String tipo,
+			@RequestParam(value="mes", required=false) Integer mes,
+			@RequestParam(value="ano",required=false) Integer ano,
+			@RequestParam("usuario") Long idUsuario
+			) {
+		Lancamento lancamentoFiltro = new Lancamento();
+		lancamentoFiltro.setDescricao(descricao);
+		lancamentoFiltro.setMes(mes);
+		lancamentoFiltro.setAno(ano);
+		try {
+			lancamentoFiltro.setTipo( tipo == null || tipo.isEmpty() ? null : TipoLancamento.de(tipo) );
+		} catch (RegraNegocioException e) {
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		}
+		lancamentoFiltro.setUsuario( Usuario.builder().id(idUsuario).build() );
+		
+		return ResponseEntity.ok(service.buscar(lancamentoFiltro).map(this::converter));
+	}
+	
+	@GetMapping("/lancamentos/{id}")
+	public Mono<ResponseEntity<LancamentoDTO>> obterLancamento( @PathVariable("id") Long id ) {
+		// lido ainda na thread da requisição: o Mono é resolvido na do R2DBC, fora do RequestContextHolder
+		Long autenticado = FiltroToken.usuarioAutenticado();
+		return service.obterLancamento(id)
+				.filter( lancamento -> autenticado == null || autenticado.equals(lancamento.getIdUsuario()) )
+				.map( lancamento -> ResponseEntity.ok(converter(lancamento)) )
+				.defaultIfEmpty( new ResponseEntity<>(HttpStatus.NOT_FOUND) );
+	}
+	
+	@GetMapping("/usuarios/{id}/saldo")
+	public Mono<ResponseEntity<BigDecimal>> obterSaldo( @PathVariable("id") Long id ) {
+		Long autenticado = FiltroToken.usuarioAutenticado();
+		if (autenticado != null && !autenticado.equals(id)) {
+			return Mono.just(new ResponseEntity<>(HttpStatus.FORBIDDEN));
+		}
+		return service.obterSaldoPorUsuario(id)
+				.map(ResponseEntity::ok)
+				.defaultIfEmpty( new ResponseEntity<>(HttpStatus.NOT_FOUND) );
+	}
+	
+	private LancamentoDTO converter(LancamentoLeitura lancamento) {
+		return LancamentoDTO.builder()
+				.id(lancamento.getId())
+				.descricao(lancamento.getDescricao())
+				.valor(lancamento.getValor())
+				.mes(lancamento.getMes())
+				.ano(lancamento.getAno())
+				.status(lancamento.getStatus() == null ? null : lancamento.getStatus().name())
+				.tipo(lancamento.getTipo() == null ? null : lancamento.getTipo().name())
+				.usuario(lancamento.getIdUsuario())
+				.versao(lancamento.getVersao())
+				.build();
+	}
+}
@@ -0,0 +1,112 @@
+package br.com.minhasFinancas.api.resource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.minhasFinancas.api.dto.RecorrenciaDTO;
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.model.entity.Recorrencia;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.RegraRecorrencia;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.service.RecorrenciaService;
+import br.com.minhasFinancas.service.UsuarioService;
+
+@RestController
+@RequestMapping("/api/recorrencias")
+public class RecorrenciaResource {
+
+	private RecorrenciaService service;
+	private UsuarioService usuarioService;
+	
+	public RecorrenciaResource(RecorrenciaService service, UsuarioService usuarioService) {
+		this.service = service;
+		this.usuarioService = usuarioService;
+	}
+	
+	@PostMapping
+	public ResponseEntity salvar( @RequestBody RecorrenciaDTO dto ) {
+		try {
+			Recorrencia recorrencia = service.salvar(converter(dto));
+			return new ResponseEntity(converter(recorrencia), HttpStatus.CREATED);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@GetMapping
+	public ResponseEntity buscar( @RequestParam("usuario") Long idUsuario ) {
+		if (!UsuarioDaRequisicao.obter(usuarioService, idUsuario).isPresent()) {
+			return ResponseEntity.badRequest().body("Usuário não encontra para o id informado.");
+		}
+		List<RecorrenciaDTO> recorrencias = service.buscarPorUsuario(idUsuario).stream()
+				.map(this::converter)
+				.collect(Collectors.toList());
+		return ResponseEntity.ok(recorrencias);
+	}
+	
+	@DeleteMapping("/{id}")
+	public ResponseEntity encerrar( @PathVariable("id") Long id ) {
+		return service.obterPorId(id).map( recorrencia -> {
+			if (!UsuarioDaRequisicao.obter(usuarioService, recorrencia.getUsuario().getId()).isPresent()) {
+				return new ResponseEntity(HttpStatus.FORBIDDEN);
+			}
+			service.encerrar(recorrencia);
+			return new ResponseEntity(HttpStatus.NO_CONTENT);
+		}).orElseGet( () -> new ResponseEntity("Recorrência não encontrada na base de dados.", HttpStatus.BAD_REQUEST) );
+	}
+	
+	private RecorrenciaDTO converter(Recorrencia recorrencia) {
+		Integer proxima = recorrencia.getProximaCompetencia();
+		return RecorrenciaDTO.builder()
+				.id(recorrencia.getId())
+				.descricao(recorrencia.getDescricao())
+				.valor(recorrencia.getValor())
+				.tipo(recorrencia.getTipo().name())
+				.regra(recorrencia.getRegra().name())
+				.parcelas(recorrencia.getParcelas())
+				.ano(Recorrencia.ano(recorrencia.getCompetenciaInicial()))
+				.mes(Recorrencia.mes(recorrencia.getCompetenciaInicial()))
+				.usuario(recorrencia.getUsuario().getId())
+				.proximoAno(proxima == null ? null : Recorrencia.ano(proxima))
+				.proximoMes(proxima == null ? null : Recorrencia.mes(proxima))
+				.geradas(recorrencia.getGeradas())
+				.build();
+	}
+	
+	private Recorrencia converter(RecorrenciaDTO dto) {
+		Usuario usuario = UsuarioDaRequisicao.obter(usuarioService, dto.getUsuario())
+				.orElseThrow( () -> new RegraNegocioException("Usuário não encontra para o id informado."));
+		Recorrencia recorrencia = new Recorrencia();
+		recorrencia.setDescricao(dto.getDescricao());
+		recorrencia.setValor(dto.getValor());
+		recorrencia.setUsuario(usuario);
+		recorrencia.setParcelas(dto.getParcelas());
+		try {
+			if (dto.getTipo() != null) {
+				recorrencia.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+			}
+			if (dto.getRegra() != null) {
+				recorrencia.setRegra(RegraRecorrencia.valueOf(dto.getRegra()));
+			}
+		} catch (IllegalArgumentException e) {
+			throw new RegraNegocioException("Informe um tipo e uma regra de recorrência válidos.");
+		}
+		if (dto.getMes() != null && dto.getMes() >= 1 && dto.getMes() <= 12
+				&& dto.getAno() != null && dto.getAno().toString().length() == 4) {
+			recorrencia.setCompetenciaInicial(Recorrencia.competencia(dto.getAno(), dto.getMes()));
+		}
+		return recorrencia;
+	}
+}
@@ -0,0 +1,23 @@
+package br.com.minhasFinancas.api.resource;
+
+import java.util.Optional;
+
+import br.com.minhasFinancas.config.FiltroToken;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.service.UsuarioService;
+
+// o usuário informado no parâmetro ou no corpo das requisições de lançamentos e recorrências
+final class UsuarioDaRequisicao {
+
+	private UsuarioDaRequisicao() {
+	}
+	
+	// com token o usuário já foi conferido pelo FiltroToken e não é lido de novo; sem ele (filtro não registrado) vem do banco
+	static Optional<Usuario> obter(UsuarioService usuarioService, Long idUsuario) {
+		Long autenticado = FiltroToken.usuarioAutenticado();
+		if (autenticado == null) {
+			return usuarioService.finById(idUsuario);
+		}
+		return autenticado.equals(idUsuario) ? Optional.of(usuarioService.obterReferencia(idUsuario)) : Optional.empty();
+	}
+}
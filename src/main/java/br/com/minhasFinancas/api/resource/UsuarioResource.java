@@ -1,22 +1,35 @@
 package br.com.minhasFinancas.api.resource;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.minhasFinancas.api.dto.AutenticacaoDTO;
+import br.com.minhasFinancas.api.dto.ResumoMensalDTO;
 import br.com.minhasFinancas.api.dto.UsuarioDTO;
+import br.com.minhasFinancas.config.FiltroToken;
 import br.com.minhasFinancas.exception.ErroAutenticacao;
 import br.com.minhasFinancas.exception.RegraNegocioException;
 import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
 import br.com.minhasFinancas.service.LancamentoService;
+import br.com.minhasFinancas.service.TokenAcesso;
+import br.com.minhasFinancas.service.TokenService;
 import br.com.minhasFinancas.service.UsuarioService;
 
 @RestController
@@ -30,22 +43,53 @@ public class UsuarioResource {
 	
 	private UsuarioService service;
 	private LancamentoService lancamentoService;
+	private TokenService tokenService;
 	
-	public UsuarioResource(UsuarioService service, LancamentoService lancamentoService) {
+	public UsuarioResource(UsuarioService service, LancamentoService lancamentoService, TokenService tokenService) {
 		this.service = service;
 		this.lancamentoService = lancamentoService;
+		this.tokenService = tokenService;
 	}
 	
 	@GetMapping("{id}/saldo")
 	public ResponseEntity obterSaldo( @PathVariable("id") Long id ) {
-		Optional<Usuario> usuario = service.finById(id);
-		if (!usuario.isPresent()) {
+		if (!existe(id)) {
 			return new ResponseEntity(HttpStatus.NOT_FOUND);
 		}
 		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
 		return ResponseEntity.ok(saldo);
 	}
 	
+	@GetMapping("{id}/resumo")
+	public ResponseEntity obterResumo( @PathVariable("id") Long id, @RequestParam("ano") Integer ano ) {
+		if (!existe(id)) {
+			return new ResponseEntity(HttpStatus.NOT_FOUND);
+		}
+		List<ResumoMensalDTO> resumo = lancamentoService.obterResumoPorUsuario(id, ano);
+		return ResponseEntity.ok(resumo);
+	}
+	
+	// fechamento do mês (a transição de status em massa da API): por padrão efetiva todos os pendentes com um
+	// select for update dos lançamentos do mês, um update para todos e os eventos de cada um inseridos em batch
+	@PostMapping("{id}/fechamento")
+	public ResponseEntity fecharMes(
+			@PathVariable("id") Long id,
+			@RequestParam("ano") Integer ano,
+			@RequestParam("mes") Integer mes,
+			@RequestParam(value = "de", defaultValue = "PENDENTE") StatusLancamento de,
+			@RequestParam(value = "para", defaultValue = "EFETIVADO") StatusLancamento para ) {
+		if (!existe(id)) {
+			return new ResponseEntity(HttpStatus.NOT_FOUND);
+		}
+		try {
+			return ResponseEntity.ok(lancamentoService.transicionarStatus(id, ano, mes, de, para));
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (OptimisticLockingFailureException e) {
+			return new ResponseEntity(e.getMessage(), HttpStatus.CONFLICT);
+		}
+	}
+	
 	@PostMapping
 	public ResponseEntity salvar( @RequestBody UsuarioDTO dto) {
 		Usuario usuario = Usuario.builder()
@@ -62,13 +106,47 @@ public class UsuarioResource {
 	}
 	
 	@PostMapping("/autenticar")
-	public ResponseEntity autenticar ( @RequestBody UsuarioDTO dto ) {
-		try {
-			Usuario usuarioAutenticado = service.autenticar(dto.getEmail(), dto.getSenha());
-			return ResponseEntity.ok(usuarioAutenticado);
-		} catch (ErroAutenticacao e) {
-			return ResponseEntity.badRequest().body(e.getMessage());
+	public CompletableFuture<ResponseEntity> autenticar ( @RequestBody UsuarioDTO dto ) {
+		// a conferência do hash roda no executor de senhas e libera a thread da requisição
+		return service.autenticar(dto.getEmail(), dto.getSenha())
+				.<ResponseEntity>thenApply( usuario -> ResponseEntity.ok(converter(usuario, tokenService.emitir(usuario))) )
+				.exceptionally( this::respostaFalhaAutenticacao );
+	}
+	
+	// o token segue aceito em outras instâncias até expirar; a lista de revogados é local
+	@PostMapping("/sair")
+	public ResponseEntity sair( @RequestAttribute(FiltroToken.TOKEN) TokenAcesso token ) {
+		tokenService.revogar(token);
+		return new ResponseEntity(HttpStatus.NO_CONTENT);
+	}
+	
+	// o FiltroToken só deixa passar o id do próprio usuário autenticado, que não precisa ser lido do banco
+	private boolean existe(Long id) {
+		return id.equals(FiltroToken.usuarioAutenticado()) || service.finById(id).isPresent();
+	}
+	
+	private AutenticacaoDTO converter(Usuario usuario, TokenAcesso token) {
+		return AutenticacaoDTO.builder()
+				.id(usuario.getId())
+				.nome(usuario.getNome())
+				.email(usuario.getEmail())
+				.token(token.getValor())
+				.tipo("Bearer")
+				.expiraEm(token.getExpiraEm())
+				.build();
+	}
+	
+	private ResponseEntity respostaFalhaAutenticacao(Throwable erro) {
+		Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+		if (causa instanceof ErroAutenticacao) {
+			return ResponseEntity.badRequest().body(causa.getMessage());
+		}
+		if (causa instanceof RejectedExecutionException) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "1")
+					.body("Muitas autenticações em andamento, tente novamente.");
 		}
+		throw erro instanceof CompletionException ? (CompletionException) erro : new CompletionException(causa);
 	}
 	
 }
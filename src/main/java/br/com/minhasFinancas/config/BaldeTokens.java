@@ -0,0 +1,39 @@
+package br.com.minhasFinancas.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de fichas sem lock: guarda só o instante teórico em que o balde estaria vazio (GCRA) em um
+ * AtomicLong. Cada requisição admitida avança esse instante em 1/porSegundo; a requisição é recusada
+ * quando ele passaria de agora + rajada/porSegundo.
+ */
+public class BaldeTokens {
+
+	private final long intervalo;
+	private final long tolerancia;
+	private final AtomicLong vazioEm;
+	
+	public BaldeTokens(int porSegundo, int rajada, long agora) {
+		this.intervalo = TimeUnit.SECONDS.toNanos(1) / porSegundo;
+		this.tolerancia = intervalo * rajada;
+		this.vazioEm = new AtomicLong(agora);
+	}
+	
+	/**
+	 * Consome uma ficha e devolve 0, ou devolve em quantos nanossegundos haverá uma ficha, sem consumir.
+	 */
+	public long consumir(long agora) {
+		while (true) {
+			long atual = vazioEm.get();
+			long novo = (atual - agora > 0 ? atual : agora) + intervalo;
+			long espera = novo - agora - tolerancia;
+			if (espera > 0) {
+				return espera;
+			}
+			if (vazioEm.compareAndSet(atual, novo)) {
+				return 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package br.com.minhasFinancas.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches locais (Caffeine) configurados em spring.cache.* no application.properties.
+ * As métricas de acerto, falha e remoção de cada cache ficam em /actuator/metrics/cache.*.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfiguration {
+
+	public static final String USUARIOS = "usuarios";
+	public static final String USUARIOS_POR_EMAIL = "usuariosPorEmail";
+}
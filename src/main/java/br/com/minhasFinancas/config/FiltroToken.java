@@ -0,0 +1,102 @@
+package br.com.minhasFinancas.config;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import br.com.minhasFinancas.service.TokenAcesso;
+import br.com.minhasFinancas.service.TokenService;
+
+/**
+ * Exige um token válido em Authorization: Bearer nas rotas /api, exceto no cadastro e na autenticação.
+ * O token só dá acesso aos dados do próprio usuário: o parâmetro usuario e o id em /usuarios/{id} e em
+ * /reativo/usuarios/{id} têm de ser os do token. A rota é conferida já decodificada e sem o conteúdo após ';',
+ * como o Spring MVC a mapeia, e o segmento após /usuarios/ tem de ser exatamente o id do token: /usuarios/2;x=1,
+ * /usuarios/%32 ou /usuarios/0x2 chegariam ao controller como o usuário 2. O id do usuário autenticado fica no atributo
+ * USUARIO_AUTENTICADO da requisição.
+ */
+public class FiltroToken extends OncePerRequestFilter {
+
+	public static final String USUARIO_AUTENTICADO = "br.com.minhasFinancas.usuarioAutenticado";
+	public static final String TOKEN = "br.com.minhasFinancas.tokenAcesso";
+	
+	private static final String BEARER = "Bearer ";
+	private static final Pattern USUARIO_NA_ROTA = Pattern.compile("^/api/(?:reativo/)?usuarios/([^/]+)");
+	
+	// rotas de /api/usuarios cujo segmento não é um id
+	private static final Set<String> ROTAS_SEM_ID = Set.of("autenticar", "sair");
+	
+	private final TokenService tokenService;
+	
+	public FiltroToken(TokenService tokenService) {
+		this.tokenService = tokenService;
+	}
+	
+	/**
+	 * Id do usuário autenticado na requisição atual, ou null fora de uma requisição que passou pelo filtro.
+	 */
+	public static Long usuarioAutenticado() {
+		RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+		return atributos == null ? null : (Long) atributos.getAttribute(USUARIO_AUTENTICADO, RequestAttributes.SCOPE_REQUEST);
+	}
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+		Optional<TokenAcesso> token = cabecalho != null && cabecalho.startsWith(BEARER)
+				? tokenService.verificar(cabecalho.substring(BEARER.length()))
+				: Optional.empty();
+		if (!token.isPresent()) {
+			response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+			response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+			return;
+		}
+		Long idUsuario = token.get().getIdUsuario();
+		if (!doProprioUsuario(request, idUsuario)) {
+			response.sendError(HttpServletResponse.SC_FORBIDDEN);
+			return;
+		}
+		request.setAttribute(USUARIO_AUTENTICADO, idUsuario);
+		request.setAttribute(TOKEN, token.get());
+		chain.doFilter(request, response);
+	}
+	
+	// cadastro, autenticação e o pré-voo do CORS
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String rota = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+		if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+			return true;
+		}
+		return HttpMethod.POST.matches(request.getMethod())
+				&& (rota.equals("/api/usuarios") || rota.equals("/api/usuarios/autenticar"));
+	}
+	
+	private boolean doProprioUsuario(HttpServletRequest request, Long idUsuario) {
+		String usuario = request.getParameter("usuario");
+		if (usuario != null && !usuario.equals(idUsuario.toString())) {
+			return false;
+		}
+		Matcher rota = USUARIO_NA_ROTA.matcher(UrlPathHelper.defaultInstance.getLookupPathForRequest(request));
+		if (!rota.find()) {
+			return true;
+		}
+		String segmento = rota.group(1);
+		return ROTAS_SEM_ID.contains(segmento) || segmento.equals(idUsuario.toString());
+	}
+}
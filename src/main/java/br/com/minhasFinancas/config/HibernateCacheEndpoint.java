@@ -0,0 +1,67 @@
+package br.com.minhasFinancas.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasFinancas.api.dto.EstatisticasCacheDTO;
+
+/**
+ * /actuator/hibernatecache: acertos e falhas do cache de segundo nível, no total e por região.
+ * POST {"ativo": false} desliga só a coleta das estatísticas (o cache continua ligado, ele é desligado com
+ * cache.hibernate.ativo=false) e DELETE zera os contadores. Fora da exposição padrão do actuator.
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+public class HibernateCacheEndpoint {
+
+	private final Statistics statistics;
+	
+	public HibernateCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+	
+	@ReadOperation
+	public Map<String, Object> estatisticas() {
+		Map<String, Object> estatisticas = new LinkedHashMap<>();
+		estatisticas.put("ativo", statistics.isStatisticsEnabled());
+		estatisticas.put("segundoNivel", EstatisticasCacheDTO.de("segundo-nivel", statistics.getSecondLevelCacheHitCount(),
+				statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+		estatisticas.put("regioes", regioes());
+		return estatisticas;
+	}
+	
+	@WriteOperation
+	public void coletarEstatisticas(boolean ativo) {
+		statistics.setStatisticsEnabled(ativo);
+	}
+	
+	@DeleteOperation
+	public void limpar() {
+		statistics.clear();
+	}
+	
+	private List<EstatisticasCacheDTO> regioes() {
+		return Stream.of(statistics.getSecondLevelCacheRegionNames())
+				.sorted()
+				.map(regiao -> {
+					CacheRegionStatistics regiaoStatistics = statistics.getCacheRegionStatistics(regiao);
+					return regiaoStatistics == null ? EstatisticasCacheDTO.builder().regiao(regiao).build()
+							: EstatisticasCacheDTO.de(regiao, regiaoStatistics.getHitCount(), regiaoStatistics.getMissCount(), regiaoStatistics.getPutCount());
+				})
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,128 @@
+package br.com.minhasFinancas.config;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Admissão das requisições de uma rota, na ordem: balde do usuário, balde da rota e requisições
+ * em andamento. A recusa é um 429 com Retry-After, antes de a requisição pedir uma conexão ao pool.
+ * Métricas: http.admissao (rota, resultado=admitida|recusada, motivo) e http.admissao.em-andamento.
+ */
+public class LimitadorRequisicoes implements AsyncHandlerInterceptor {
+
+	private static final String ADMITIDA = LimitadorRequisicoes.class.getName() + ".ADMITIDA";
+
+	private final LimiteRota limite;
+	private final Set<String> metodos;
+	private final BaldeTokens global;
+	private final Cache<Object, BaldeTokens> porUsuario;
+	private final AtomicInteger emAndamento = new AtomicInteger();
+
+	private final Counter admitidas;
+	private final Counter recusadasUsuario;
+	private final Counter recusadasGlobal;
+	private final Counter recusadasSimultaneas;
+
+	public LimitadorRequisicoes(LimiteRota limite, Set<String> metodos, MeterRegistry registry) {
+		this.limite = limite;
+		this.metodos = metodos;
+		this.global = new BaldeTokens(limite.getGlobal(), limite.getRajadaGlobal(), System.nanoTime());
+		// um balde que sai do cache volta cheio, o que só favorece o usuário que ficou parado
+		this.porUsuario = Caffeine.newBuilder()
+				.expireAfterAccess(Duration.ofMinutes(10))
+				.maximumSize(100_000)
+				.build();
+		this.admitidas = contador(registry, "admitida", "nenhum");
+		this.recusadasUsuario = contador(registry, "recusada", "usuario");
+		this.recusadasGlobal = contador(registry, "recusada", "global");
+		this.recusadasSimultaneas = contador(registry, "recusada", "simultaneas");
+		Gauge.builder("http.admissao.em-andamento", emAndamento, AtomicInteger::get)
+				.tag("rota", limite.getNome())
+				.register(registry);
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+		// o despacho que conclui uma resposta assíncrona já foi admitido
+		if (request.getDispatcherType() != DispatcherType.REQUEST || !metodos.contains(request.getMethod())) {
+			return true;
+		}
+		long agora = System.nanoTime();
+		long espera = porUsuario.get(chave(request), c -> new BaldeTokens(limite.getPorUsuario(), limite.getRajadaPorUsuario(), agora)).consumir(agora);
+		if (espera > 0) {
+			recusadasUsuario.increment();
+			return recusar(response, espera, "Muitas requisições deste usuário, tente novamente em instantes.");
+		}
+		espera = global.consumir(agora);
+		if (espera > 0) {
+			recusadasGlobal.increment();
+			return recusar(response, espera, "Serviço sobrecarregado, tente novamente em instantes.");
+		}
+		if (!entrar()) {
+			recusadasSimultaneas.increment();
+			return recusar(response, TimeUnit.SECONDS.toNanos(1), "Serviço sobrecarregado, tente novamente em instantes.");
+		}
+		request.setAttribute(ADMITIDA, Boolean.TRUE);
+		admitidas.increment();
+		return true;
+	}
+
+	// numa resposta assíncrona é chamado só ao fim do despacho que a conclui
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		if (request.getAttribute(ADMITIDA) != null) {
+			request.removeAttribute(ADMITIDA);
+			emAndamento.decrementAndGet();
+		}
+	}
+
+	private boolean entrar() {
+		while (true) {
+			int atual = emAndamento.get();
+			if (atual >= limite.getSimultaneas()) {
+				return false;
+			}
+			if (emAndamento.compareAndSet(atual, atual + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private Object chave(HttpServletRequest request) {
+		Object usuario = request.getAttribute(FiltroToken.USUARIO_AUTENTICADO);
+		return usuario != null ? usuario : request.getRemoteAddr();
+	}
+
+	private boolean recusar(HttpServletResponse response, long esperaNanos, String mensagem) throws Exception {
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (esperaNanos + 999_999_999) / 1_000_000_000)));
+		response.setContentType("text/plain;charset=UTF-8");
+		response.getWriter().write(mensagem);
+		return false;
+	}
+
+	private Counter contador(MeterRegistry registry, String resultado, String motivo) {
+		return Counter.builder("http.admissao")
+				.tag("rota", limite.getNome())
+				.tag("resultado", resultado)
+				.tag("motivo", motivo)
+				.register(registry);
+	}
+}
@@ -0,0 +1,20 @@
+package br.com.minhasFinancas.config;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Limites de uma rota: fichas por segundo e rajada por usuário (ou por IP, antes da autenticação)
+ * e para a rota inteira, e quantas requisições da rota podem estar em andamento ao mesmo tempo.
+ */
+@Value
+@Builder
+public class LimiteRota {
+
+	String nome;
+	int porUsuario;
+	int rajadaPorUsuario;
+	int global;
+	int rajadaGlobal;
+	int simultaneas;
+}
@@ -0,0 +1,23 @@
+package br.com.minhasFinancas.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Liga o @Timed dos serviços: um timer por método, com a contagem de chamadas e a tag exception
+ * separando as que falharam. As demais métricas vêm da auto-configuração do actuator:
+ * http.server.requests (por rota e status), spring.data.repository.invocations (por repositório e
+ * método), hikaricp.* do pool e hibernate.* das estatísticas; os percentis ficam em management.metrics.*
+ * no application.properties e tudo é exposto em /actuator/prometheus.
+ */
+@Configuration
+public class MetricasConfiguration {
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry registry) {
+		return new TimedAspect(registry);
+	}
+}
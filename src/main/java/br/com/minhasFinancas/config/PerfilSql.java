@@ -0,0 +1,177 @@
+package br.com.minhasFinancas.config;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import br.com.minhasFinancas.api.dto.ConsultaSqlDTO;
+import br.com.minhasFinancas.api.dto.PerfilRequisicaoDTO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recebe do datasource-proxy cada instrução executada. Dentro de uma requisição HTTP (entre iniciar e
+ * finalizar, na mesma thread) conta as instruções, soma o tempo, guarda as mais lentas e os selects
+ * repetidos, que indicam um N+1. Consultas acima de lentaMs são registradas também fora das requisições.
+ * O log vai para um appender assíncrono (logback-spring.xml) e os últimos registros ficam em /actuator/sqlperfil.
+ */
+@Slf4j
+public class PerfilSql implements QueryExecutionListener {
+
+	private static final Comparator<ConsultaSqlDTO> POR_TEMPO = Comparator.comparingLong(ConsultaSqlDTO::getTempoMs);
+	
+	private final long lentaMs;
+	private final int repeticoesNMais1;
+	private final int maisLentas;
+	private final int historico;
+	private final ThreadLocal<Requisicao> atual = new ThreadLocal<>();
+	private final Deque<ConsultaSqlDTO> consultasLentas = new ArrayDeque<>();
+	private final Deque<PerfilRequisicaoDTO> requisicoes = new ArrayDeque<>();
+	
+	public PerfilSql(long lentaMs, int repeticoesNMais1, int maisLentas, int historico) {
+		this.lentaMs = lentaMs;
+		this.repeticoesNMais1 = repeticoesNMais1;
+		this.maisLentas = maisLentas;
+		this.historico = historico;
+	}
+	
+	public void iniciar() {
+		atual.set(new Requisicao());
+	}
+	
+	/**
+	 * Fecha o perfil da requisição da thread atual; devolve null se ela não executou nenhuma instrução.
+	 */
+	public PerfilRequisicaoDTO finalizar(String metodo, String rota, int status) {
+		Requisicao requisicao = atual.get();
+		atual.remove();
+		if (requisicao == null || requisicao.instrucoes == 0) {
+			return null;
+		}
+		List<ConsultaSqlDTO> lentas = new ArrayList<>(requisicao.maisLentas);
+		lentas.sort(POR_TEMPO.reversed());
+		lentas.forEach(consulta -> consulta.setRota(metodo + " " + rota));
+		Map<String, Integer> repetidas = requisicao.repeticoes.entrySet().stream()
+				.filter(repeticao -> repeticao.getValue() >= repeticoesNMais1)
+				.sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+				.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+		PerfilRequisicaoDTO perfil = PerfilRequisicaoDTO.builder()
+				.metodo(metodo)
+				.rota(rota)
+				.status(status)
+				.finalizadaEm(LocalDateTime.now())
+				.instrucoes(requisicao.instrucoes)
+				.tempoMs(requisicao.tempoMs)
+				.maisLentas(lentas)
+				.repetidas(repetidas)
+				.lenta(!lentas.isEmpty() && lentas.get(0).getTempoMs() >= lentaMs)
+				.suspeitaNMais1(!repetidas.isEmpty())
+				.build();
+		guardar(requisicoes, perfil);
+		
+		if (perfil.isSuspeitaNMais1()) {
+			log.warn("sql.n_mais_1 metodo={} rota=\"{}\" status={} instrucoes={} tempo_ms={} repetidas={}",
+					metodo, rota, status, perfil.getInstrucoes(), perfil.getTempoMs(), repetidas.values());
+		} else if (perfil.isLenta()) {
+			log.warn("sql.requisicao_lenta metodo={} rota=\"{}\" status={} instrucoes={} tempo_ms={}",
+					metodo, rota, status, perfil.getInstrucoes(), perfil.getTempoMs());
+		} else {
+			log.debug("sql.requisicao metodo={} rota=\"{}\" status={} instrucoes={} tempo_ms={}",
+					metodo, rota, status, perfil.getInstrucoes(), perfil.getTempoMs());
+		}
+		return perfil;
+	}
+	
+	public List<ConsultaSqlDTO> getConsultasLentas() {
+		synchronized (consultasLentas) {
+			return new ArrayList<>(consultasLentas);
+		}
+	}
+	
+	public List<PerfilRequisicaoDTO> getRequisicoes() {
+		synchronized (requisicoes) {
+			return new ArrayList<>(requisicoes);
+		}
+	}
+	
+	public long getLentaMs() {
+		return lentaMs;
+	}
+	
+	public int getRepeticoesNMais1() {
+		return repeticoesNMais1;
+	}
+	
+	public void limpar() {
+		synchronized (consultasLentas) {
+			consultasLentas.clear();
+		}
+		synchronized (requisicoes) {
+			requisicoes.clear();
+		}
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		String sql = queryInfoList.size() == 1 ? queryInfoList.get(0).getQuery()
+				: queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+		long tempo = execInfo.getElapsedTime();
+		Requisicao requisicao = atual.get();
+		if (requisicao != null) {
+			requisicao.registrar(sql, tempo);
+		}
+		if (tempo >= lentaMs) {
+			guardar(consultasLentas, ConsultaSqlDTO.builder().sql(sql).tempoMs(tempo).executadaEm(LocalDateTime.now()).build());
+			log.warn("sql.lenta tempo_ms={} em_requisicao={} sql=\"{}\"", tempo, requisicao != null, sql);
+		}
+	}
+	
+	private <T> void guardar(Deque<T> registros, T registro) {
+		synchronized (registros) {
+			if (registros.size() == historico) {
+				registros.removeFirst();
+			}
+			registros.addLast(registro);
+		}
+	}
+	
+	private class Requisicao {
+		
+		long instrucoes;
+		long tempoMs;
+		// as mais lentas até agora, com a mais rápida delas no topo para ser trocada
+		PriorityQueue<ConsultaSqlDTO> maisLentas = new PriorityQueue<>(POR_TEMPO);
+		Map<String, Integer> repeticoes = new HashMap<>();
+		
+		void registrar(String sql, long tempo) {
+			instrucoes++;
+			tempoMs += tempo;
+			if (maisLentas.size() < PerfilSql.this.maisLentas || maisLentas.peek().getTempoMs() < tempo) {
+				if (maisLentas.size() == PerfilSql.this.maisLentas) {
+					maisLentas.poll();
+				}
+				maisLentas.add(ConsultaSqlDTO.builder().sql(sql).tempoMs(tempo).executadaEm(LocalDateTime.now()).build());
+			}
+			// o mesmo select com parâmetros diferentes, executado uma vez por linha de uma consulta anterior
+			if (sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+				repeticoes.merge(sql, 1, Integer::sum);
+			}
+		}
+	}
+}
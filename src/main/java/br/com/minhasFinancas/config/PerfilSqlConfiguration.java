@@ -0,0 +1,82 @@
+package br.com.minhasFinancas.config;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Perfil das instruções SQL no lugar do hibernate.show_sql: o DataSource é envolvido pelo
+ * datasource-proxy e cada requisição HTTP tem as suas instruções medidas pelo PerfilSql.
+ * Desligado com sql.perfil.ativo=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.perfil.ativo", havingValue = "true", matchIfMissing = true)
+public class PerfilSqlConfiguration {
+
+	@Bean
+	public PerfilSql perfilSql(
+			@Value("${sql.perfil.lenta-ms:200}") long lentaMs,
+			@Value("${sql.perfil.repeticoes-n-mais-1:10}") int repeticoesNMais1,
+			@Value("${sql.perfil.mais-lentas:5}") int maisLentas,
+			@Value("${sql.perfil.historico:100}") int historico) {
+		return new PerfilSql(lentaMs, repeticoesNMais1, maisLentas, historico);
+	}
+	
+	// static e com o PerfilSql obtido só no uso, para não antecipar a criação dos outros beans
+	@Bean
+	public static BeanPostProcessor perfilSqlDataSource(ObjectProvider<PerfilSql> perfilSql) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+					return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+							.listener(perfilSql.getObject())
+							.build();
+				}
+				return bean;
+			}
+		};
+	}
+	
+	@Bean
+	public FilterRegistrationBean<OncePerRequestFilter> perfilSqlFilter(PerfilSql perfilSql) {
+		FilterRegistrationBean<OncePerRequestFilter> registro = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+			@Override
+			protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+					throws ServletException, IOException {
+				perfilSql.iniciar();
+				try {
+					chain.doFilter(request, response);
+				} finally {
+					// a rota do mapeamento (/api/lancamentos/{id}) só é conhecida depois do controller
+					Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+					perfilSql.finalizar(request.getMethod(), rota == null ? request.getRequestURI() : rota.toString(), response.getStatus());
+				}
+			}
+		});
+		registro.addUrlPatterns("/api/*");
+		return registro;
+	}
+	
+	@Bean
+	public PerfilSqlEndpoint perfilSqlEndpoint(PerfilSql perfilSql) {
+		return new PerfilSqlEndpoint(perfilSql);
+	}
+}
@@ -0,0 +1,38 @@
+package br.com.minhasFinancas.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * /actuator/sqlperfil: as últimas consultas lentas e o perfil SQL das últimas requisições, com as
+ * instruções mais lentas e os selects repetidos de cada uma. DELETE limpa o histórico. Fora da exposição
+ * padrão do actuator.
+ */
+@Endpoint(id = "sqlperfil")
+public class PerfilSqlEndpoint {
+
+	private final PerfilSql perfilSql;
+	
+	public PerfilSqlEndpoint(PerfilSql perfilSql) {
+		this.perfilSql = perfilSql;
+	}
+	
+	@ReadOperation
+	public Map<String, Object> perfil() {
+		Map<String, Object> perfil = new LinkedHashMap<>();
+		perfil.put("lentaMs", perfilSql.getLentaMs());
+		perfil.put("repeticoesNMais1", perfilSql.getRepeticoesNMais1());
+		perfil.put("consultasLentas", perfilSql.getConsultasLentas());
+		perfil.put("requisicoes", perfilSql.getRequisicoes());
+		return perfil;
+	}
+	
+	@DeleteOperation
+	public void limpar() {
+		perfilSql.limpar();
+	}
+}
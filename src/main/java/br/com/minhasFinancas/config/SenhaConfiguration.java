@@ -0,0 +1,90 @@
+package br.com.minhasFinancas.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Hash das senhas com bcrypt (custo em usuario.senha.custo) e o executor onde ele é calculado.
+ * O hash é caro de propósito, então roda fora das threads das requisições: o executor tem
+ * usuario.senha.threads threads (por padrão uma por núcleo) e uma fila de usuario.senha.fila
+ * autenticações; com a fila cheia a autenticação é recusada em vez de acumular requisições esperando.
+ */
+@Configuration
+public class SenhaConfiguration {
+
+	public static final String EXECUTOR_SENHAS = "executorSenhas";
+	
+	private static final String BCRYPT = "bcrypt";
+	
+	/**
+	 * As senhas são gravadas como {bcrypt}hash. As gravadas antes do hash, sem o prefixo, são conferidas
+	 * em texto puro e o PasswordEncoder.upgradeEncoding indica que devem ser trocadas, o mesmo acontecendo
+	 * com hashes de custo menor que o configurado.
+	 */
+	@Bean
+	public PasswordEncoder passwordEncoder(@Value("${usuario.senha.custo:10}") int custo) {
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		encoders.put(BCRYPT, new BCryptPasswordEncoder(custo));
+		DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, encoders);
+		encoder.setDefaultPasswordEncoderForMatches(new SenhaSemHash(encoder));
+		return encoder;
+	}
+	
+	@Bean(name = EXECUTOR_SENHAS, destroyMethod = "shutdown")
+	public ThreadPoolExecutor executorSenhas(
+			@Value("${usuario.senha.threads:0}") int threads,
+			@Value("${usuario.senha.fila:100}") int fila,
+			ObjectProvider<MeterRegistry> registry) {
+		int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger contador = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(tamanho, tamanho, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(fila), tarefa -> {
+					Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		// executor.queued, executor.active e executor.completed com a tag name=senhas
+		registry.ifAvailable(meterRegistry -> new ExecutorServiceMetrics(executor, "senhas", Collections.emptyList()).bindTo(meterRegistry));
+		return executor;
+	}
+	
+	// senhas gravadas antes do hash; a comparação leva o mesmo tempo qualquer que seja o primeiro caractere diferente.
+	// Senha nova nunca é gravada sem hash: o encode fica com o encoder principal, que grava {bcrypt}hash
+	private static class SenhaSemHash implements PasswordEncoder {
+		
+		private final PasswordEncoder comHash;
+		
+		SenhaSemHash(PasswordEncoder comHash) {
+			this.comHash = comHash;
+		}
+		
+		@Override
+		public String encode(CharSequence senha) {
+			return comHash.encode(senha);
+		}
+		
+		@Override
+		public boolean matches(CharSequence senha, String gravada) {
+			return senha != null && gravada != null && MessageDigest.isEqual(
+					senha.toString().getBytes(StandardCharsets.UTF_8), gravada.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package br.com.minhasFinancas.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Modo opcional (servidor.threads-virtuais=true): cada requisição do Tomcat, e com ela as chamadas
+ * {@code @Transactional} dos services, roda em uma thread virtual, assim como as respostas em stream.
+ * O limite de concorrência passa a ser o pool do Hikari, não o número de threads do Tomcat.
+ */
+@Configuration
+@ConditionalOnProperty(name = "servidor.threads-virtuais", havingValue = "true")
+public class ThreadsVirtuaisConfiguration {
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> executorVirtualTomcat() {
+		return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+	}
+	
+	// substitui o pool padrão usado pelo StreamingResponseBody (ver WebConfiguration)
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+	}
+}
@@ -0,0 +1,24 @@
+package br.com.minhasFinancas.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import br.com.minhasFinancas.service.TokenService;
+
+/**
+ * Registra o FiltroToken nas rotas /api; a chave e a validade dos tokens ficam em token.*.
+ */
+@Configuration
+public class TokenConfiguration {
+
+	@Bean
+	public FilterRegistrationBean<FiltroToken> filtroToken(TokenService tokenService) {
+		FilterRegistrationBean<FiltroToken> registro = new FilterRegistrationBean<>(new FiltroToken(tokenService));
+		registro.addUrlPatterns("/api/*");
+		// antes dos demais filtros de /api, para que uma requisição sem token não chegue a eles
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registro;
+	}
+}
@@ -1,16 +1,72 @@
 package br.com.minhasFinancas.config;
 
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @EnableWebMvc
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
 
+	private static final Set<String> ESCRITA = Set.of("POST", "PUT", "DELETE");
+	
+	private ObjectProvider<AsyncTaskExecutor> applicationTaskExecutor;
+	private Environment environment;
+	private ObjectProvider<MeterRegistry> meterRegistry;
+	
+	public WebConfiguration(@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) ObjectProvider<AsyncTaskExecutor> applicationTaskExecutor,
+			Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+		this.applicationTaskExecutor = applicationTaskExecutor;
+		this.environment = environment;
+		this.meterRegistry = meterRegistry;
+	}
+	
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
 		registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
 	}
+	
+	// com o @EnableWebMvc o Spring Boot não liga o executor da aplicação às respostas assíncronas (stream e exportação)
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		applicationTaskExecutor.ifAvailable(configurer::setTaskExecutor);
+	}
+	
+	// limites de admissão das escritas, lidos só de limite.<rota>.* (application.properties)
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(limitador("lancamentos", ESCRITA))
+			.addPathPatterns("/api/lancamentos", "/api/lancamentos/**", "/api/usuarios/*/fechamento",
+					"/api/recorrencias", "/api/recorrencias/**");
+		// o hash da senha já tem fila própria; aqui o limite é por IP, já que ainda não há usuário autenticado
+		registry.addInterceptor(limitador("autenticacao", Set.of("POST")))
+			.addPathPatterns("/api/usuarios", "/api/usuarios/autenticar");
+	}
+	
+	// sem valor padrão no código: uma propriedade ausente impede o início em vez de valer outro limite
+	private LimitadorRequisicoes limitador(String rota, Set<String> metodos) {
+		String prefixo = "limite." + rota + ".";
+		LimiteRota limite = LimiteRota.builder()
+				.nome(rota)
+				.porUsuario(environment.getRequiredProperty(prefixo + "por-usuario", Integer.class))
+				.rajadaPorUsuario(environment.getRequiredProperty(prefixo + "rajada-por-usuario", Integer.class))
+				.global(environment.getRequiredProperty(prefixo + "global", Integer.class))
+				.rajadaGlobal(environment.getRequiredProperty(prefixo + "rajada-global", Integer.class))
+				.simultaneas(environment.getRequiredProperty(prefixo + "simultaneas", Integer.class))
+				.build();
+		return new LimitadorRequisicoes(limite, metodos, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+	}
 }
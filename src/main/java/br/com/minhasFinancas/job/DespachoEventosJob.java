@@ -0,0 +1,126 @@
+package br.com.minhasFinancas.job;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasFinancas.service.EventoLancamentoService;
+import br.com.minhasFinancas.service.eventos.ProjecaoLancamento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entrega às projeções os eventos pendentes dos lançamentos. A fila de cada projeção é dividida em
+ * eventos.despacho.paralelismo partições, drenadas em paralelo em lotes de eventos.despacho.lote;
+ * um lote que falha volta para a fila e é tentado de novo no próximo ciclo. Publica por projeção
+ * eventos.pendentes, eventos.atraso (idade do pendente mais antigo) e eventos.aplicados.
+ */
+@Slf4j
+@Component
+public class DespachoEventosJob {
+
+	private EventoLancamentoService service;
+	private List<ProjecaoLancamento> projecoes;
+	private int lote;
+	private int paralelismo;
+	private Duration retencao;
+	private ExecutorService executor;
+	private Map<String, AtomicLong> pendentes = new HashMap<>();
+	private Map<String, AtomicLong> atrasos = new HashMap<>();
+	private Map<String, Counter> aplicados = new HashMap<>();
+	
+	public DespachoEventosJob(EventoLancamentoService service, List<ProjecaoLancamento> projecoes, MeterRegistry registry,
+			@Value("${eventos.despacho.lote:200}") int lote,
+			@Value("${eventos.despacho.paralelismo:2}") int paralelismo,
+			@Value("${eventos.retencao-dias:7}") int retencaoDias) {
+		this.service = service;
+		this.projecoes = projecoes;
+		this.lote = lote;
+		this.paralelismo = paralelismo;
+		this.retencao = Duration.ofDays(retencaoDias);
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(paralelismo, tarefa -> {
+			Thread thread = new Thread(tarefa, "despacho-eventos-" + contador.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (ProjecaoLancamento projecao : projecoes) {
+			String nome = projecao.getNome();
+			pendentes.put(nome, new AtomicLong());
+			atrasos.put(nome, new AtomicLong());
+			Gauge.builder("eventos.pendentes", pendentes.get(nome), AtomicLong::get)
+					.tag("projecao", nome).register(registry);
+			Gauge.builder("eventos.atraso", atrasos.get(nome), AtomicLong::get)
+					.tag("projecao", nome).baseUnit("seconds").register(registry);
+			aplicados.put(nome, Counter.builder("eventos.aplicados").tag("projecao", nome).register(registry));
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${eventos.despacho.intervalo-ms:1000}", initialDelayString = "${eventos.despacho.intervalo-ms:1000}")
+	public void despachar() {
+		List<Future<?>> tarefas = new ArrayList<>(projecoes.size() * paralelismo);
+		for (ProjecaoLancamento projecao : projecoes) {
+			for (int particao = 0; particao < paralelismo; particao++) {
+				int particaoDaTarefa = particao;
+				tarefas.add(executor.submit(() -> drenar(projecao, particaoDaTarefa)));
+			}
+		}
+		for (Future<?> tarefa : tarefas) {
+			try {
+				tarefa.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException e) {
+				log.error("Falha no despacho dos eventos de lançamentos.", e.getCause());
+			}
+		}
+		for (ProjecaoLancamento projecao : projecoes) {
+			pendentes.get(projecao.getNome()).set(service.contarPendentes(projecao));
+			atrasos.get(projecao.getNome()).set(service.obterAtraso(projecao).getSeconds());
+		}
+	}
+	
+	@Scheduled(cron = "${eventos.limpeza.cron:0 30 3 * * *}")
+	public void limpar() {
+		int removidos = service.removerAplicados(retencao);
+		if (removidos > 0) {
+			log.info("{} evento(s) de lançamentos já aplicados removido(s) do jornal.", removidos);
+		}
+	}
+	
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+	
+	private void drenar(ProjecaoLancamento projecao, int particao) {
+		int processados;
+		do {
+			try {
+				processados = service.processar(projecao, paralelismo, particao, lote);
+			} catch (RuntimeException e) {
+				// os eventos do lote continuam pendentes e serão entregues de novo
+				log.warn("Lote de eventos da projeção {} (partição {}) não aplicado: {}", projecao.getNome(), particao, e.getMessage());
+				return;
+			}
+			aplicados.get(projecao.getNome()).increment(processados);
+		} while (processados == lote);
+	}
+}
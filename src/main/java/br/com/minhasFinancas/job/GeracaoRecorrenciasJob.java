@@ -0,0 +1,148 @@
+package br.com.minhasFinancas.job;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasFinancas.model.entity.Recorrencia;
+import br.com.minhasFinancas.service.RecorrenciaService;
+import br.com.minhasFinancas.service.ResultadoGeracao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gera os lançamentos das recorrências vencidas até o mês atual (mais recorrencia.geracao.meses-a-frente).
+ * As recorrências são divididas pelo id do usuário em recorrencia.geracao.paralelismo partições, geradas
+ * em paralelo em lotes de recorrencia.geracao.lote por transação; como cada lote avança as recorrências
+ * junto com os inserts, uma execução interrompida é retomada de onde parou sem gerar nada duas vezes.
+ * Publica recorrencia.geracao (duração), recorrencia.processadas, recorrencia.lancamentos.gerados,
+ * recorrencia.pendentes e recorrencia.atraso (meses da competência mais antiga por gerar).
+ */
+@Slf4j
+@Component
+public class GeracaoRecorrenciasJob {
+
+	private RecorrenciaService service;
+	private int lote;
+	private int paralelismo;
+	private int mesesAFrente;
+	private ExecutorService executor;
+	private Timer duracao;
+	private Counter processadas;
+	private Counter gerados;
+	private AtomicLong pendentes = new AtomicLong();
+	private AtomicLong atraso = new AtomicLong();
+	
+	public GeracaoRecorrenciasJob(RecorrenciaService service, MeterRegistry registry,
+			@Value("${recorrencia.geracao.lote:500}") int lote,
+			@Value("${recorrencia.geracao.paralelismo:4}") int paralelismo,
+			@Value("${recorrencia.geracao.meses-a-frente:0}") int mesesAFrente) {
+		this.service = service;
+		this.lote = lote;
+		this.paralelismo = paralelismo;
+		this.mesesAFrente = mesesAFrente;
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(paralelismo, tarefa -> {
+			Thread thread = new Thread(tarefa, "geracao-recorrencias-" + contador.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.duracao = Timer.builder("recorrencia.geracao").register(registry);
+		this.processadas = Counter.builder("recorrencia.processadas").register(registry);
+		this.gerados = Counter.builder("recorrencia.lancamentos.gerados").register(registry);
+		Gauge.builder("recorrencia.pendentes", pendentes, AtomicLong::get).register(registry);
+		Gauge.builder("recorrencia.atraso", atraso, AtomicLong::get).baseUnit("months").register(registry);
+	}
+	
+	// ocupa uma thread do agendador até todas as partições terminarem (spring.task.scheduling.pool.size)
+	@Scheduled(cron = "${recorrencia.geracao.cron:0 0 * * * *}")
+	public void gerar() {
+		YearMonth alvo = YearMonth.now().plusMonths(mesesAFrente);
+		gerar(Recorrencia.competencia(alvo.getYear(), alvo.getMonthValue()));
+	}
+	
+	public void gerar(int competencia) {
+		duracao.record(() -> {
+			List<Future<?>> tarefas = new ArrayList<>(paralelismo);
+			for (int particao = 0; particao < paralelismo; particao++) {
+				int particaoDaTarefa = particao;
+				tarefas.add(executor.submit(() -> drenar(competencia, particaoDaTarefa)));
+			}
+			for (Future<?> tarefa : tarefas) {
+				try {
+					tarefa.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (ExecutionException e) {
+					log.error("Falha na geração dos lançamentos recorrentes.", e.getCause());
+				}
+			}
+		});
+		pendentes.set(service.contarPendentes(competencia));
+		atraso.set(service.obterAtraso(competencia));
+	}
+	
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+	
+	// uma recorrência com mais competências atrasadas que RecorrenciaService.MESES_POR_LOTE continua vencida
+	// depois de uma passada pela partição; as passadas seguem enquanto alguma gerar lançamentos
+	private void drenar(int competencia, int particao) {
+		long lancamentos;
+		do {
+			lancamentos = passar(competencia, particao);
+		} while (lancamentos > 0);
+	}
+	
+	private long passar(int competencia, int particao) {
+		long aposId = 0;
+		long lancamentos = 0;
+		ResultadoGeracao resultado;
+		do {
+			try {
+				resultado = service.gerar(competencia, paralelismo, particao, aposId, lote);
+			} catch (RuntimeException e) {
+				// o lote volta atrás inteiro; refeito uma recorrência por vez, só a que falhar fica para a próxima execução
+				log.error("Lote de recorrências da partição {} após o id {} não gerado, gerando uma a uma.", particao, aposId, e);
+				resultado = gerarUmaAUma(competencia, particao, aposId);
+			}
+			processadas.increment(resultado.getRecorrencias());
+			gerados.increment(resultado.getLancamentos());
+			lancamentos += resultado.getLancamentos();
+			aposId = resultado.getUltimoId();
+		} while (resultado.getRecorrencias() == lote);
+		return lancamentos;
+	}
+	
+	private ResultadoGeracao gerarUmaAUma(int competencia, int particao, long aposId) {
+		List<Long> ids = service.buscarIdsAGerar(competencia, paralelismo, particao, aposId, lote);
+		int lancamentos = 0;
+		for (Long id : ids) {
+			try {
+				// a partir de id - 1 o lote de uma recorrência é ela mesma, que continua vencida
+				lancamentos += service.gerar(competencia, paralelismo, particao, id - 1, 1).getLancamentos();
+			} catch (RuntimeException e) {
+				log.error("Recorrência {} não gerada; continua vencida para a próxima execução.", id, e);
+			}
+		}
+		return new ResultadoGeracao(ids.size(), lancamentos, ids.isEmpty() ? aposId : ids.get(ids.size() - 1));
+	}
+}
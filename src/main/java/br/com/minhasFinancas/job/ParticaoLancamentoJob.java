@@ -0,0 +1,53 @@
+package br.com.minhasFinancas.job;
+
+import java.time.Year;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasFinancas.service.ParticaoLancamentoService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém as partições anuais de lancamento: cria a do ano atual e as dos próximos anos antes que
+ * sejam usadas, tira da partição padrão os anos que caíram nela e, com lancamento.particao.anos-ativos
+ * maior que zero, arquiva os anos mais antigos. Não faz nada se a tabela não for particionada.
+ */
+@Slf4j
+@Component
+public class ParticaoLancamentoJob {
+
+	private ParticaoLancamentoService service;
+	private int anosAFrente;
+	private int anosAtivos;
+	
+	public ParticaoLancamentoJob(ParticaoLancamentoService service,
+			@Value("${lancamento.particao.anos-a-frente:1}") int anosAFrente,
+			@Value("${lancamento.particao.anos-ativos:0}") int anosAtivos) {
+		this.service = service;
+		this.anosAFrente = anosAFrente;
+		this.anosAtivos = anosAtivos;
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${lancamento.particao.cron:0 0 2 * * *}")
+	public void manter() {
+		if (!service.estaParticionado()) {
+			return;
+		}
+		int anoAtual = Year.now().getValue();
+		int criadas = service.criarParticoes(anoAtual, anoAtual + anosAFrente);
+		if (criadas > 0) {
+			log.info("{} partição(ões) de lançamentos criada(s).", criadas);
+		}
+		if (anosAtivos > 0) {
+			int arquivados = service.arquivar(anoAtual - anosAtivos + 1);
+			if (arquivados > 0) {
+				log.info("{} lançamento(s) anteriores a {} arquivado(s).", arquivados, anoAtual - anosAtivos + 1);
+			}
+		}
+	}
+}
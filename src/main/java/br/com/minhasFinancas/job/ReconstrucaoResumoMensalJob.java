@@ -0,0 +1,28 @@
+package br.com.minhasFinancas.job;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasFinancas.service.ResumoMensalService;
+import lombok.extern.slf4j.Slf4j;
+
+// preenche resumo_mensal na subida quando a tabela ainda está vazia e já existem lançamentos
+@Slf4j
+@Component
+public class ReconstrucaoResumoMensalJob {
+
+	private ResumoMensalService service;
+	
+	public ReconstrucaoResumoMensalJob(ResumoMensalService service) {
+		this.service = service;
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruir() {
+		if (service.precisaReconstruir()) {
+			int linhas = service.reconstruir();
+			log.info("Resumo mensal reconstruído a partir dos lançamentos: {} linha(s).", linhas);
+		}
+	}
+}
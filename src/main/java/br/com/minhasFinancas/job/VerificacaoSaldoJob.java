@@ -0,0 +1,60 @@
+package br.com.minhasFinancas.job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasFinancas.api.dto.DivergenciaSaldoDTO;
+import br.com.minhasFinancas.service.SaldoUsuarioService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recalcula os saldos a partir da tabela de lançamentos e compara com saldo_usuario.
+ * As divergências são apenas reportadas, a menos que saldo.verificacao.corrigir esteja ligado;
+ * nesse caso cada saldo divergente é recalculado e gravado com a sua linha bloqueada, um usuário por transação.
+ */
+@Slf4j
+@Component
+public class VerificacaoSaldoJob {
+
+	private SaldoUsuarioService service;
+	private boolean corrigir;
+	
+	public VerificacaoSaldoJob(SaldoUsuarioService service, @Value("${saldo.verificacao.corrigir:false}") boolean corrigir) {
+		this.service = service;
+		this.corrigir = corrigir;
+	}
+	
+	@Scheduled(cron = "${saldo.verificacao.cron:0 0 3 * * *}")
+	public void verificar() {
+		List<DivergenciaSaldoDTO> divergencias = service.verificarSaldos();
+		if (!corrigir) {
+			reportar(divergencias, false);
+			return;
+		}
+		List<DivergenciaSaldoDTO> corrigidas = new ArrayList<>();
+		for (DivergenciaSaldoDTO divergencia : divergencias) {
+			try {
+				service.corrigirSaldo(divergencia.getUsuario()).ifPresent(corrigidas::add);
+			} catch (RuntimeException e) {
+				log.error("Falha ao corrigir o saldo do usuário {}.", divergencia.getUsuario(), e);
+			}
+		}
+		reportar(corrigidas, true);
+	}
+	
+	private void reportar(List<DivergenciaSaldoDTO> divergencias, boolean corrigidas) {
+		if (divergencias.isEmpty()) {
+			log.info("Saldos dos usuários conferidos, nenhuma divergência encontrada.");
+			return;
+		}
+		for (DivergenciaSaldoDTO divergencia : divergencias) {
+			log.warn("Saldo divergente para o usuário {}: gravado {}, calculado {}.",
+					divergencia.getUsuario(), divergencia.getSaldoGravado(), divergencia.getSaldoCalculado());
+		}
+		log.warn("{} saldo(s) divergente(s){}.", divergencias.size(), corrigidas ? " corrigido(s)" : "");
+	}
+}
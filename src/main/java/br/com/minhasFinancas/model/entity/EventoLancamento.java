@@ -0,0 +1,49 @@
+package br.com.minhasFinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alteração de um lançamento, gravada na mesma transação da escrita: o estado anterior e o
+ * atual (null na criação e na exclusão) em JSON. É aplicada depois, em segundo plano,
+ * pelas projeções que têm uma linha em evento_pendente para ela.
+ */
+@Entity
+@Table(name = "evento_lancamento", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoLancamento {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_lancamento_seq")
+	@SequenceGenerator(name = "evento_lancamento_seq", sequenceName = "evento_lancamento_seq", schema = "financas", allocationSize = 50)
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+	
+	@Column(name = "anterior")
+	private String anterior;
+	
+	@Column(name = "atual")
+	private String atual;
+	
+	@Column(name = "registrado_em")
+	private LocalDateTime registradoEm;
+	
+}
@@ -0,0 +1,40 @@
+package br.com.minhasFinancas.model.entity;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento que uma projeção ainda não aplicou. A linha só é inserida junto com o evento e
+ * removida em lote depois de aplicada, por isso é sempre nova para o save (sem o select do merge).
+ */
+@Entity
+@Table(name = "evento_pendente", schema = "financas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoPendente implements Persistable<EventoPendenteId> {
+
+	@EmbeddedId
+	private EventoPendenteId id;
+	
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+	
+	// usuário do lançamento, para dividir a fila entre os despachantes sem join
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+	
+}
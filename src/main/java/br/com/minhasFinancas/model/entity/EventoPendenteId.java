@@ -0,0 +1,26 @@
+package br.com.minhasFinancas.model.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoPendenteId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Column(name = "projecao")
+	private String projecao;
+	
+	@Column(name = "id_evento")
+	private Long idEvento;
+	
+}
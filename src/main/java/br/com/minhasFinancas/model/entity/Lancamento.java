@@ -8,32 +8,53 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import br.com.minhasFinancas.model.enums.StatusLancamento;
 import br.com.minhasFinancas.model.enums.TipoLancamento;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "lancamento", schema = "financas")
+@Table(name = "lancamento", schema = "financas",
+		indexes = {
+				@Index(name = "idx_lancamento_usuario_ano_mes", columnList = "id_usuario, ano, mes"),
+				@Index(name = "idx_lancamento_usuario_hash", columnList = "id_usuario, hash_importacao"),
+				@Index(name = "ux_lancamento_recorrencia", columnList = "id_recorrencia, ano, mes", unique = true) })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Lancamento {
 
+	// sequence com otimizador pooled: o Hibernate reserva 50 ids por ida ao banco e consegue agrupar os inserts em batch
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+	@SequenceGenerator(name = "lancamento_seq", sequenceName = "lancamento_seq", schema = "financas", allocationSize = 50)
 	@Column(name = "id")
 	private Long id;
 	
@@ -46,8 +67,10 @@ public class Lancamento {
 	@Column(name = "ano")
 	private Integer ano;
 	
-	@ManyToOne
+	// lazy: as consultas leem só o id_usuario; quem precisa do usuário completo busca pelo UsuarioService (em cache)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
 	private Usuario usuario;
 	
 	@Column(name = "valor")
@@ -65,4 +88,33 @@ public class Lancamento {
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;
 	
+	// hash do conteúdo da linha do extrato que originou o lançamento, evita importar a mesma linha duas vezes
+	@Column(name = "hash_importacao", length = 64)
+	@JsonIgnore
+	private String hashImportacao;
+	
+	// recorrência que gerou o lançamento, nula nos lançamentos feitos pelo usuário
+	@Column(name = "id_recorrencia")
+	@JsonIgnore
+	private Long idRecorrencia;
+	
+	// lock otimista: o update confere a versão lida, então escritas concorrentes não se sobrescrevem
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+	
+	// estado da última leitura ou escrita no banco, base para atualizar saldo e resumo mensal
+	@Transient
+	@JsonIgnore
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private LancamentoGravado gravado;
+	
+	@PostLoad
+	@PostPersist
+	@PostUpdate
+	void registrarGravado() {
+		this.gravado = LancamentoGravado.de(this);
+	}
+	
 }
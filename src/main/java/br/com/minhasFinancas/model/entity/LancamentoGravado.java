@@ -0,0 +1,53 @@
+package br.com.minhasFinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Cópia dos campos de um lançamento que alimentam o saldo e o resumo mensal,
+ * tirada quando o lançamento é lido ou gravado no banco. Vai em JSON no evento da alteração.
+ */
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor
+public class LancamentoGravado {
+
+	Long idUsuario;
+	Integer ano;
+	Integer mes;
+	TipoLancamento tipo;
+	StatusLancamento status;
+	BigDecimal valor;
+	
+	public static LancamentoGravado de(Lancamento lancamento) {
+		return new LancamentoGravado(
+				lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId(),
+				lancamento.getAno(),
+				lancamento.getMes(),
+				lancamento.getTipo(),
+				lancamento.getStatus(),
+				lancamento.getValor());
+	}
+	
+	/**
+	 * Valor com sinal que o lançamento representa no saldo do usuário.
+	 * Apenas lançamentos efetivados entram no saldo.
+	 */
+	public BigDecimal valorNoSaldo() {
+		if (status != StatusLancamento.EFETIVADO || valor == null || tipo == null) {
+			return BigDecimal.ZERO;
+		}
+		return tipo == TipoLancamento.RECEITA ? valor : valor.negate();
+	}
+	
+	public boolean entraNoResumo() {
+		return idUsuario != null && ano != null && mes != null && tipo != null && status != null && valor != null;
+	}
+}
@@ -0,0 +1,102 @@
+package br.com.minhasFinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import br.com.minhasFinancas.model.enums.RegraRecorrencia;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Modelo de um lançamento que se repete. A geração cria um Lancamento para cada competência
+ * (mês contado como ano * 12 + mes - 1) a partir de proximaCompetencia e avança a recorrência
+ * na mesma transação; proximaCompetencia nula é uma recorrência encerrada.
+ */
+@Entity
+@Table(name = "recorrencia", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recorrencia {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recorrencia_seq")
+	@SequenceGenerator(name = "recorrencia_seq", sequenceName = "recorrencia_seq", schema = "financas", allocationSize = 50)
+	@Column(name = "id")
+	private Long id;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
+	private Usuario usuario;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "valor")
+	private BigDecimal valor;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+	
+	@Column(name = "regra")
+	@Enumerated(value = EnumType.STRING)
+	private RegraRecorrencia regra;
+	
+	// total de parcelas, só na regra PARCELADA
+	@Column(name = "parcelas")
+	private Integer parcelas;
+	
+	@Column(name = "geradas")
+	private Integer geradas;
+	
+	@Column(name = "competencia_inicial")
+	private Integer competenciaInicial;
+	
+	@Column(name = "proxima_competencia")
+	private Integer proximaCompetencia;
+	
+	@Column(name = "data_cadastro")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataCadastro;
+	
+	// dois geradores com o mesmo lote: o segundo falha no update e o lote inteiro volta atrás
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+	
+	public static int competencia(int ano, int mes) {
+		return ano * 12 + mes - 1;
+	}
+	
+	public static int ano(int competencia) {
+		return competencia / 12;
+	}
+	
+	public static int mes(int competencia) {
+		return competencia % 12 + 1;
+	}
+}
@@ -0,0 +1,36 @@
+package br.com.minhasFinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Total dos lançamentos de um usuário por ano, mês, tipo e status.
+ * É mantido em segundo plano pela ResumoMensalProjecao, a partir dos eventos dos lançamentos.
+ */
+@Entity
+@Table(name = "resumo_mensal", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensal {
+
+	@EmbeddedId
+	private ResumoMensalId id;
+	
+	@Column(name = "valor")
+	private BigDecimal valor;
+	
+	@Column(name = "quantidade")
+	private Long quantidade;
+	
+}
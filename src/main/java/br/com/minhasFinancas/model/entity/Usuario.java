@@ -7,7 +7,11 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +20,9 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table( name="usuario", schema="financas" )
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// campos do proxy de getReferenceById, que também chega às respostas
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @Data
 @Builder
 @NoArgsConstructor // cria um construtor vazio
@@ -0,0 +1,19 @@
+package br.com.minhasFinancas.model.enums;
+
+public enum RegraRecorrencia {
+
+	MENSAL(1),
+	ANUAL(12),
+	// uma parcela por mês, até o número de parcelas da recorrência
+	PARCELADA(1);
+	
+	private final int intervaloMeses;
+	
+	RegraRecorrencia(int intervaloMeses) {
+		this.intervaloMeses = intervaloMeses;
+	}
+	
+	public int getIntervaloMeses() {
+		return intervaloMeses;
+	}
+}
@@ -1,7 +1,18 @@
 package br.com.minhasFinancas.model.enums;
 
+import br.com.minhasFinancas.exception.RegraNegocioException;
+
 public enum TipoLancamento {
 
 	RECEITA,
-	DESPESA
+	DESPESA;
+	
+	// o tipo vindo da requisição: um valor desconhecido é erro do cliente (400), não IllegalArgumentException (500)
+	public static TipoLancamento de(String tipo) {
+		try {
+			return valueOf(tipo);
+		} catch (IllegalArgumentException | NullPointerException e) {
+			throw new RegraNegocioException("Tipo de lançamento inválido, use RECEITA ou DESPESA.");
+		}
+	}
 }
@@ -0,0 +1,49 @@
+package br.com.minhasFinancas.model.leitura;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lançamento lido pelo R2DBC. Só para leitura: as gravações continuam pela entidade JPA Lancamento.
+ */
+@Table("financas.lancamento")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoLeitura {
+
+	@Id
+	private Long id;
+	
+	private String descricao;
+	
+	private Integer mes;
+	
+	private Integer ano;
+	
+	@Column("id_usuario")
+	private Long idUsuario;
+	
+	private BigDecimal valor;
+	
+	@Column("data_cadastro")
+	private LocalDate dataCadastro;
+	
+	private TipoLancamento tipo;
+	
+	private StatusLancamento status;
+	
+	private Long versao;
+}
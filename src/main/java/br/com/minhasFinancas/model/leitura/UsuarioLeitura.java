@@ -0,0 +1,27 @@
+package br.com.minhasFinancas.model.leitura;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Usuário lido pelo R2DBC, sem a senha.
+ */
+@Table("financas.usuario")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioLeitura {
+
+	@Id
+	private Long id;
+	
+	private String nome;
+	
+	private String email;
+}
@@ -0,0 +1,41 @@
+package br.com.minhasFinancas.model.repository;
+
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Posição da paginação por chave (ano, mes, id): a próxima página começa logo após
+ * o último lançamento devolvido, sem OFFSET.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorLancamento {
+
+	private Integer ano;
+	private Integer mes;
+	private Long id;
+	
+	public static CursorLancamento depoisDe(Lancamento lancamento) {
+		return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+	}
+	
+	public static CursorLancamento decodificar(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+		String[] partes = cursor.split("-");
+		try {
+			return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			throw new RegraNegocioException("Cursor de paginação inválido.");
+		}
+	}
+	
+	public String codificar() {
+		return ano + "-" + mes + "-" + id;
+	}
+}
@@ -0,0 +1,19 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.minhasFinancas.model.entity.EventoLancamento;
+
+public interface EventoLancamentoRepository extends JpaRepository<EventoLancamento, Long> {
+
+	// eventos já aplicados por todas as projeções e mais antigos que a retenção
+	@Modifying
+	@Query(value = " delete from EventoLancamento e where e.registradoEm < :limite "
+			+ "and not exists (select 1 from EventoPendente p where p.id.idEvento = e.id) ")
+	int removerAplicadosAntesDe(@Param(value = "limite") LocalDateTime limite);
+}
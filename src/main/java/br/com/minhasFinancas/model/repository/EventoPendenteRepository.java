@@ -0,0 +1,47 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.minhasFinancas.model.entity.EventoLancamento;
+import br.com.minhasFinancas.model.entity.EventoPendente;
+import br.com.minhasFinancas.model.entity.EventoPendenteId;
+
+public interface EventoPendenteRepository extends JpaRepository<EventoPendente, EventoPendenteId> {
+
+	// a fila de cada projeção é dividida pelo usuário do lançamento: os eventos de um mesmo usuário caem
+	// sempre na mesma partição, que é a única a gravar as linhas da projeção desse usuário, e são
+	// aplicados na ordem em que foram gravados
+	@Query(value = " select e from EventoPendente p, EventoLancamento e "
+			+ "where e.id = p.id.idEvento and p.id.projecao = :projecao "
+			+ "and mod(p.idUsuario, :particoes) = :particao "
+			+ "order by p.id.idEvento ")
+	List<EventoLancamento> buscarPendentes(
+			@Param(value = "projecao") String projecao,
+			@Param(value = "particoes") int particoes,
+			@Param(value = "particao") int particao,
+			Pageable pagina);
+	
+	@Modifying
+	@Query(value = " delete from EventoPendente p where p.id.projecao = :projecao and p.id.idEvento in :ids ")
+	int removerPendentes(
+			@Param(value = "projecao") String projecao,
+			@Param(value = "ids") Collection<Long> ids);
+	
+	@Modifying
+	@Query(value = " delete from EventoPendente p where p.id.projecao = :projecao ")
+	int removerPendentes(@Param(value = "projecao") String projecao);
+	
+	long countByIdProjecao(String projecao);
+	
+	@Query(value = " select min(e.registradoEm) from EventoPendente p, EventoLancamento e "
+			+ "where e.id = p.id.idEvento and p.id.projecao = :projecao ")
+	LocalDateTime obterRegistroMaisAntigo(@Param(value = "projecao") String projecao);
+}
@@ -1,16 +1,27 @@
 package br.com.minhasFinancas.model.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import br.com.minhasFinancas.api.dto.LancamentoDTO;
 import br.com.minhasFinancas.model.entity.Lancamento;
 import br.com.minhasFinancas.model.enums.StatusLancamento;
 import br.com.minhasFinancas.model.enums.TipoLancamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long>{
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, JpaSpecificationExecutor<Lancamento>, LancamentoRepositoryCustom {
 
 	// sql do tipo JPQL (a consulta deve seguir o padrão de nomes e atributos iguais das classes)
 	@Query(value = " select sum(l.valor) from Lancamento l "
@@ -21,5 +32,88 @@ public interface LancamentoRepository extends JpaRepository<Lancamento, Long>{
 			@Param(value = "idUsuario") Long idUsuario,
 			@Param(value = "tipo") TipoLancamento tipo,
 			@Param(value = "status") StatusLancamento status);
+	
+	// recalcula o saldo de todos os usuários, usado para reconstruir e conferir a tabela saldo_usuario
+	@Query(value = " select u.id as idUsuario, "
+			+ "sum(case when l.tipo = :receita then l.valor else -l.valor end) as valor "
+			+ "from Lancamento l "
+			+ "join l.usuario u "
+			+ "where l.status = :status "
+			+ "group by u.id")
+	List<SaldoCalculado> calcularSaldos(
+			@Param(value = "receita") TipoLancamento receita,
+			@Param(value = "status") StatusLancamento status);
+	
+	// o mesmo cálculo para um usuário, relido depois de bloquear a linha do saldo que vai ser corrigida
+	@Query(value = " select coalesce(sum(case when l.tipo = :receita then l.valor else -l.valor end), 0) "
+			+ "from Lancamento l "
+			+ "where l.usuario.id = :idUsuario and l.status = :status ")
+	BigDecimal calcularSaldo(
+			@Param(value = "idUsuario") Long idUsuario,
+			@Param(value = "receita") TipoLancamento receita,
+			@Param(value = "status") StatusLancamento status);
+	
+	@Query(value = " select l.hashImportacao from Lancamento l "
+			+ "where l.usuario.id = :idUsuario and l.hashImportacao in :hashes ")
+	List<String> buscarHashesImportados(
+			@Param(value = "idUsuario") Long idUsuario,
+			@Param(value = "hashes") Collection<String> hashes);
+	
+	// já no formato da resposta: não passa pelo contexto de persistência nem pelo converter do resource
+	@Query(value = " select new br.com.minhasFinancas.api.dto.LancamentoDTO("
+			+ "l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.versao) "
+			+ "from Lancamento l "
+			+ "where l.id = :id ")
+	Optional<LancamentoDTO> obterDTOPorId(@Param(value = "id") Long id);
+	
+	// só a coluna status, e só se ninguém gravou o lançamento desde a leitura da versão; devolve 0 no conflito
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = " update Lancamento l set l.status = :status, l.versao = l.versao + 1 "
+			+ "where l.id = :id and l.versao = :versao ")
+	int atualizarStatus(
+			@Param(value = "id") Long id,
+			@Param(value = "versao") Long versao,
+			@Param(value = "status") StatusLancamento status);
+	
+	// select ... for update: as linhas ficam bloqueadas até a transição terminar, então o estado lido é o alterado.
+	// Só leitura e fora do cache de segundo nível: com milhares de linhas no mês, sem snapshot para dirty checking
+	// e sem encher o cache com entidades que o update em seguida invalida
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints({
+		@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+		@QueryHint(name = org.hibernate.annotations.QueryHints.CACHE_MODE, value = "IGNORE") })
+	@Query(value = " select l from Lancamento l "
+			+ "where l.usuario.id = :idUsuario and l.ano = :ano and l.mes = :mes and l.status = :status "
+			+ "order by l.id ")
+	List<Lancamento> bloquearPorStatusNoMes(
+			@Param(value = "idUsuario") Long idUsuario,
+			@Param(value = "ano") Integer ano,
+			@Param(value = "mes") Integer mes,
+			@Param(value = "status") StatusLancamento status);
+	
+	// o mesmo filtro de bloquearPorStatusNoMes, sem uma lista de ids com milhares de parâmetros
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = " update Lancamento l set l.status = :para, l.versao = l.versao + 1 "
+			+ "where l.usuario.id = :idUsuario and l.ano = :ano and l.mes = :mes and l.status = :de ")
+	int transicionarStatus(
+			@Param(value = "idUsuario") Long idUsuario,
+			@Param(value = "ano") Integer ano,
+			@Param(value = "mes") Integer mes,
+			@Param(value = "de") StatusLancamento de,
+			@Param(value = "para") StatusLancamento para);
+	
+	// partições por ano, só no PostgreSQL (migração postgresql/V4)
+	@Query(value = " select count(*) > 0 from pg_partitioned_table "
+			+ "where partrelid = to_regclass('financas.lancamento') ", nativeQuery = true)
+	boolean estaParticionada();
+	
+	@Query(value = " select distinct ano from financas.lancamento_padrao ", nativeQuery = true)
+	List<Integer> buscarAnosSemParticao();
+	
+	@Query(value = " select financas.criar_particao_lancamento(:ano) ", nativeQuery = true)
+	boolean criarParticao(@Param(value = "ano") int ano);
+	
+	@Query(value = " select financas.arquivar_lancamentos(:anteriorA) ", nativeQuery = true)
+	int arquivarAnteriores(@Param(value = "anteriorA") int anteriorA);
 
 }
@@ -0,0 +1,22 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import br.com.minhasFinancas.api.dto.LancamentoDTO;
+import br.com.minhasFinancas.model.entity.Lancamento;
+
+// consultas montadas com a Criteria API, implementadas em LancamentoRepositoryImpl
+public interface LancamentoRepositoryCustom {
+
+	// projeção direto no LancamentoDTO: uma consulta, sem carregar entidades nem usuários
+	List<LancamentoDTO> buscarDTO(Lancamento filtro);
+	
+	List<Lancamento> buscarPagina(Lancamento filtro, CursorLancamento cursor, int limite);
+	
+	// deve ser consumido e fechado dentro de uma transação
+	Stream<Lancamento> buscarStream(Lancamento filtro);
+	
+	// insere em batches do JDBC, limpando o contexto a cada batch
+	void salvarEmLote(List<Lancamento> lancamentos);
+}
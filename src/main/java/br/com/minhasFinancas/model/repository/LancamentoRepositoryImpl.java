@@ -0,0 +1,110 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import br.com.minhasFinancas.api.dto.LancamentoDTO;
+import br.com.minhasFinancas.model.entity.Lancamento;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+	private static final int FETCH_SIZE = 500;
+	
+	// igual a spring.jpa.properties.hibernate.jdbc.batch_size
+	private static final int BATCH_SIZE = 50;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Override
+	public List<LancamentoDTO> buscarDTO(Lancamento filtro) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoDTO> query = cb.createQuery(LancamentoDTO.class);
+		Root<Lancamento> lancamento = query.from(Lancamento.class);
+		
+		// usuario.id é lido da própria coluna id_usuario, sem join com a tabela usuario
+		query.select(cb.construct(LancamentoDTO.class,
+				lancamento.get("id"),
+				lancamento.get("descricao"),
+				lancamento.get("mes"),
+				lancamento.get("ano"),
+				lancamento.get("valor"),
+				lancamento.get("usuario").get("id"),
+				lancamento.get("tipo"),
+				lancamento.get("status"),
+				lancamento.get("versao")));
+		query.where(LancamentoSpecifications.doFiltro(filtro).toPredicate(lancamento, query, cb));
+		query.orderBy(QueryUtils.toOrders(LancamentoSpecifications.ORDENACAO, lancamento, cb));
+		
+		return entityManager.createQuery(query).getResultList();
+	}
+	
+	@Override
+	public List<Lancamento> buscarPagina(Lancamento filtro, CursorLancamento cursor, int limite) {
+		Specification<Lancamento> specification = LancamentoSpecifications.doFiltro(filtro)
+				.and(LancamentoSpecifications.depoisDe(cursor));
+		
+		return entityManager.createQuery(criarConsulta(specification))
+				.setMaxResults(limite)
+				.getResultList();
+	}
+
+	@Override
+	public Stream<Lancamento> buscarStream(Lancamento filtro) {
+		// cursor do JDBC lendo de FETCH_SIZE em FETCH_SIZE; cada linha é desanexada para não acumular no contexto
+		return entityManager.createQuery(criarConsulta(LancamentoSpecifications.doFiltro(filtro)))
+				.setHint("org.hibernate.fetchSize", FETCH_SIZE)
+				.setHint("org.hibernate.readOnly", true)
+				// uma varredura completa não deve expulsar do cache de segundo nível as entradas usadas com frequência
+				.setHint("javax.persistence.cache.storeMode", CacheStoreMode.BYPASS)
+				.getResultStream()
+				.peek(entityManager::detach);
+	}
+	
+	@Override
+	public void salvarEmLote(List<Lancamento> lancamentos) {
+		// o lote não passa pelo cache de segundo nível, pelo mesmo motivo da varredura em buscarStream
+		Session session = entityManager.unwrap(Session.class);
+		CacheMode cacheMode = session.getCacheMode();
+		session.setCacheMode(CacheMode.IGNORE);
+		try {
+			persistirEmLote(lancamentos);
+		} finally {
+			session.setCacheMode(cacheMode);
+		}
+	}
+	
+	private void persistirEmLote(List<Lancamento> lancamentos) {
+		for (int i = 0; i < lancamentos.size(); i++) {
+			entityManager.persist(lancamentos.get(i));
+			if ((i + 1) % BATCH_SIZE == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+	
+	private CriteriaQuery<Lancamento> criarConsulta(Specification<Lancamento> specification) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Lancamento> query = cb.createQuery(Lancamento.class);
+		Root<Lancamento> lancamento = query.from(Lancamento.class);
+		
+		query.where(specification.toPredicate(lancamento, query, cb));
+		query.orderBy(QueryUtils.toOrders(LancamentoSpecifications.ORDENACAO, lancamento, cb));
+		return query;
+	}
+}
@@ -0,0 +1,91 @@
+package br.com.minhasFinancas.model.repository;
+
+import javax.persistence.criteria.Path;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+
+/**
+ * Predicados das consultas de lançamentos. Toda consulta começa pelo usuário e usa igualdade
+ * em ano, mes, tipo e status, para que o índice (id_usuario, ano, mes) possa ser usado.
+ */
+public final class LancamentoSpecifications {
+
+	public static final Sort ORDENACAO = Sort.by("ano", "mes", "id");
+	
+	private static final char ESCAPE = '\\';
+	
+	private LancamentoSpecifications() {
+	}
+	
+	public static Specification<Lancamento> doFiltro(Lancamento filtro) {
+		if (filtro.getUsuario() == null || filtro.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		return Specification.where(doUsuario(filtro.getUsuario().getId()))
+				.and(doAno(filtro.getAno()))
+				.and(doMes(filtro.getMes()))
+				.and(doTipo(filtro.getTipo()))
+				.and(doStatus(filtro.getStatus()))
+				.and(descricaoContem(filtro.getDescricao()));
+	}
+	
+	// compara direto a coluna id_usuario, sem join com usuario
+	public static Specification<Lancamento> doUsuario(Long idUsuario) {
+		return (root, query, cb) -> cb.equal(root.get("usuario").get("id"), idUsuario);
+	}
+	
+	public static Specification<Lancamento> doAno(Integer ano) {
+		return (root, query, cb) -> ano == null ? null : cb.equal(root.get("ano"), ano);
+	}
+	
+	public static Specification<Lancamento> doMes(Integer mes) {
+		return (root, query, cb) -> mes == null ? null : cb.equal(root.get("mes"), mes);
+	}
+	
+	public static Specification<Lancamento> doTipo(TipoLancamento tipo) {
+		return (root, query, cb) -> tipo == null ? null : cb.equal(root.get("tipo"), tipo);
+	}
+	
+	public static Specification<Lancamento> doStatus(StatusLancamento status) {
+		return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+	}
+	
+	/**
+	 * lower(descricao) like '%texto%': no PostgreSQL é atendido por um índice trigram (pg_trgm)
+	 * sobre lower(descricao); os curingas digitados pelo usuário são tratados como texto.
+	 */
+	public static Specification<Lancamento> descricaoContem(String descricao) {
+		return (root, query, cb) -> {
+			if (descricao == null || descricao.trim().isEmpty()) {
+				return null;
+			}
+			String texto = descricao.trim().toLowerCase()
+					.replace(String.valueOf(ESCAPE), "" + ESCAPE + ESCAPE)
+					.replace("%", ESCAPE + "%")
+					.replace("_", ESCAPE + "_");
+			return cb.like(cb.lower(root.get("descricao")), "%" + texto + "%", ESCAPE);
+		};
+	}
+	
+	// (ano, mes, id) > (cursor.ano, cursor.mes, cursor.id), na mesma ordem de ORDENACAO
+	public static Specification<Lancamento> depoisDe(CursorLancamento cursor) {
+		return (root, query, cb) -> {
+			if (cursor == null) {
+				return null;
+			}
+			Path<Integer> ano = root.get("ano");
+			Path<Integer> mes = root.get("mes");
+			Path<Long> id = root.get("id");
+			return cb.or(
+					cb.greaterThan(ano, cursor.getAno()),
+					cb.and(cb.equal(ano, cursor.getAno()), cb.greaterThan(mes, cursor.getMes())),
+					cb.and(cb.equal(ano, cursor.getAno()), cb.equal(mes, cursor.getMes()), cb.greaterThan(id, cursor.getId())));
+		};
+	}
+}
@@ -0,0 +1,45 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.minhasFinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+
+	List<Recorrencia> findByUsuarioIdOrderById(Long idUsuario);
+	
+	// cada gerador fica com as recorrências de parte dos usuários e anda por elas em ordem de id a
+	// partir do último lote (keyset), de modo que cada lote lê só as linhas novas pela chave primária
+	@Query(value = " select r from Recorrencia r "
+			+ "where r.id > :aposId and r.proximaCompetencia <= :competencia "
+			+ "and mod(r.usuario.id, :particoes) = :particao "
+			+ "order by r.id ")
+	List<Recorrencia> buscarAGerar(
+			@Param(value = "aposId") long aposId,
+			@Param(value = "competencia") int competencia,
+			@Param(value = "particoes") int particoes,
+			@Param(value = "particao") int particao,
+			Pageable pagina);
+	
+	// as mesmas linhas de buscarAGerar, só os ids: para refazer um lote que falhou uma recorrência por vez
+	@Query(value = " select r.id from Recorrencia r "
+			+ "where r.id > :aposId and r.proximaCompetencia <= :competencia "
+			+ "and mod(r.usuario.id, :particoes) = :particao "
+			+ "order by r.id ")
+	List<Long> buscarIdsAGerar(
+			@Param(value = "aposId") long aposId,
+			@Param(value = "competencia") int competencia,
+			@Param(value = "particoes") int particoes,
+			@Param(value = "particao") int particao,
+			Pageable pagina);
+	
+	long countByProximaCompetenciaLessThanEqual(Integer competencia);
+	
+	@Query(value = " select min(r.proximaCompetencia) from Recorrencia r ")
+	Integer obterProximaCompetenciaMaisAntiga();
+}
@@ -0,0 +1,44 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.minhasFinancas.model.entity.ResumoMensal;
+import br.com.minhasFinancas.model.entity.ResumoMensalId;
+
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, ResumoMensalId> {
+
+	@Modifying
+	@Query(value = " update ResumoMensal r set r.valor = r.valor + :valor, r.quantidade = r.quantidade + :quantidade "
+			+ "where r.id = :id ")
+	int somarAoResumo(
+			@Param(value = "id") ResumoMensalId id,
+			@Param(value = "valor") BigDecimal valor,
+			@Param(value = "quantidade") long quantidade);
+	
+	@Query(value = " select r from ResumoMensal r "
+			+ "where r.id.idUsuario = :idUsuario and r.id.ano = :ano "
+			+ "order by r.id.mes ")
+	List<ResumoMensal> findByUsuarioEAno(
+			@Param(value = "idUsuario") Long idUsuario,
+			@Param(value = "ano") Integer ano);
+	
+	// só no PostgreSQL: segura as escritas em lançamentos e o despacho para o resumo até o fim da transação
+	@Modifying
+	@Query(value = " lock table financas.lancamento, financas.resumo_mensal in exclusive mode ", nativeQuery = true)
+	void bloquearParaReconstrucao();
+	
+	// reconstrói o resumo inteiro a partir dos lançamentos
+	@Modifying
+	@Query(value = " insert into financas.resumo_mensal (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+			+ "select id_usuario, ano, mes, tipo, status, sum(valor), count(*) from financas.lancamento "
+			+ "where id_usuario is not null and ano is not null and mes is not null "
+			+ "and tipo is not null and status is not null and valor is not null "
+			+ "group by id_usuario, ano, mes, tipo, status", nativeQuery = true)
+	int reconstruir();
+}
@@ -0,0 +1,11 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+
+// projeção do saldo recalculado a partir da tabela de lançamentos
+public interface SaldoCalculado {
+
+	Long getIdUsuario();
+	
+	BigDecimal getValor();
+}
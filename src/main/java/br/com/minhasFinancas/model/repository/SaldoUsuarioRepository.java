@@ -0,0 +1,29 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.minhasFinancas.model.entity.SaldoUsuario;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long> {
+
+	// soma no próprio banco para que escritas concorrentes do mesmo usuário não se sobrescrevam
+	@Modifying
+	@Query(value = " update SaldoUsuario s set s.valor = s.valor + :valor where s.idUsuario = :idUsuario ")
+	int somarAoSaldo(
+			@Param(value = "idUsuario") Long idUsuario,
+			@Param(value = "valor") BigDecimal valor);
+	
+	// select ... for update: somarAoSaldo de outras transações espera a correção terminar
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = " select s from SaldoUsuario s where s.idUsuario = :idUsuario ")
+	Optional<SaldoUsuario> bloquear(@Param(value = "idUsuario") Long idUsuario);
+}
@@ -2,13 +2,39 @@ package br.com.minhasFinancas.model.repository;
 
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.minhasFinancas.config.CacheConfiguration;
 import br.com.minhasFinancas.model.entity.Usuario;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
 	boolean existsByEmail(String email);
 	
+	// só usuários encontrados vão para o cache, o Optional vazio sempre consulta o banco
+	@Cacheable( cacheNames = CacheConfiguration.USUARIOS_POR_EMAIL, key = "#p0", unless = "#result == null" )
 	Optional<Usuario> findByEmail(String email);
+	
+	@Override
+	@Cacheable( cacheNames = CacheConfiguration.USUARIOS, key = "#p0", unless = "#result == null" )
+	Optional<Usuario> findById(Long id);
+	
+	// troca o hash da senha sem carregar o usuário, tirando-o dos dois caches
+	@Transactional
+	@Modifying
+	@Query(value = " update Usuario u set u.senha = :senha where u.id = :id and u.email = :email ")
+	@Caching( evict = {
+			@CacheEvict( cacheNames = CacheConfiguration.USUARIOS, key = "#p0" ),
+			@CacheEvict( cacheNames = CacheConfiguration.USUARIOS_POR_EMAIL, key = "#p1" ) } )
+	int atualizarSenha(
+			@Param(value = "id") Long id,
+			@Param(value = "email") String email,
+			@Param(value = "senha") String senha);
 }
@@ -0,0 +1,9 @@
+package br.com.minhasFinancas.model.repository.reativo;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import br.com.minhasFinancas.model.leitura.LancamentoLeitura;
+
+public interface LancamentoLeituraRepository extends ReactiveCrudRepository<LancamentoLeitura, Long>, LancamentoLeituraRepositoryCustom {
+
+}
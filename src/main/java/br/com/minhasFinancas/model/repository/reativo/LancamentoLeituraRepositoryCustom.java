@@ -0,0 +1,13 @@
+package br.com.minhasFinancas.model.repository.reativo;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.leitura.LancamentoLeitura;
+import reactor.core.publisher.Flux;
+
+public interface LancamentoLeituraRepositoryCustom {
+
+	/**
+	 * Mesmos filtros e ordenação de LancamentoSpecifications, lidos do banco conforme o assinante pede.
+	 */
+	Flux<LancamentoLeitura> buscar(Lancamento filtro);
+}
@@ -0,0 +1,73 @@
+package br.com.minhasFinancas.model.repository.reativo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.leitura.LancamentoLeitura;
+import reactor.core.publisher.Flux;
+
+public class LancamentoLeituraRepositoryImpl implements LancamentoLeituraRepositoryCustom {
+
+	// linhas buscadas por vez no cursor do PostgreSQL; o driver só busca mais quando o assinante pede
+	private static final int FETCH_SIZE = 500;
+	
+	private static final char ESCAPE = '\\';
+	
+	private final R2dbcEntityTemplate template;
+	
+	public LancamentoLeituraRepositoryImpl(R2dbcEntityTemplate template) {
+		this.template = template;
+	}
+	
+	@Override
+	public Flux<LancamentoLeitura> buscar(Lancamento filtro) {
+		if (filtro.getUsuario() == null || filtro.getUsuario().getId() == null) {
+			return Flux.error(new RegraNegocioException("Informe um usuário."));
+		}
+		Map<String, Object> parametros = new LinkedHashMap<>();
+		StringBuilder sql = new StringBuilder("select id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status, versao "
+				+ "from financas.lancamento where id_usuario = :idUsuario");
+		parametros.put("idUsuario", filtro.getUsuario().getId());
+		if (filtro.getAno() != null) {
+			sql.append(" and ano = :ano");
+			parametros.put("ano", filtro.getAno());
+		}
+		if (filtro.getMes() != null) {
+			sql.append(" and mes = :mes");
+			parametros.put("mes", filtro.getMes());
+		}
+		if (filtro.getTipo() != null) {
+			sql.append(" and tipo = :tipo");
+			parametros.put("tipo", filtro.getTipo().name());
+		}
+		if (filtro.getStatus() != null) {
+			sql.append(" and status = :status");
+			parametros.put("status", filtro.getStatus().name());
+		}
+		if (filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+			sql.append(" and lower(descricao) like :descricao escape '").append(ESCAPE).append("'");
+			parametros.put("descricao", "%" + escapar(filtro.getDescricao()) + "%");
+		}
+		sql.append(" order by ano, mes, id");
+		
+		GenericExecuteSpec consulta = template.getDatabaseClient().sql(sql.toString())
+				.filter(statement -> statement.fetchSize(FETCH_SIZE));
+		for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+			consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+		}
+		return consulta.map((row, metadata) -> template.getConverter().read(LancamentoLeitura.class, row, metadata)).all();
+	}
+	
+	// os curingas digitados pelo usuário são tratados como texto
+	private String escapar(String descricao) {
+		return descricao.trim().toLowerCase()
+				.replace(String.valueOf(ESCAPE), "" + ESCAPE + ESCAPE)
+				.replace("%", ESCAPE + "%")
+				.replace("_", ESCAPE + "_");
+	}
+}
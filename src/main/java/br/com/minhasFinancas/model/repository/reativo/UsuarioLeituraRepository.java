@@ -0,0 +1,16 @@
+package br.com.minhasFinancas.model.repository.reativo;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import br.com.minhasFinancas.model.leitura.UsuarioLeitura;
+import reactor.core.publisher.Mono;
+
+public interface UsuarioLeituraRepository extends ReactiveCrudRepository<UsuarioLeitura, Long> {
+
+	// saldo mantido pelo LancamentoServiceImpl a cada gravação, vazio se o usuário ainda não tem lançamentos efetivados
+	@Query("select valor from financas.saldo_usuario where id_usuario = :idUsuario")
+	Mono<BigDecimal> obterSaldo(Long idUsuario);
+}
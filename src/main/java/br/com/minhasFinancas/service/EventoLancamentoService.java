@@ -0,0 +1,27 @@
+package br.com.minhasFinancas.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import br.com.minhasFinancas.service.eventos.AlteracaoLancamento;
+import br.com.minhasFinancas.service.eventos.ProjecaoLancamento;
+
+/**
+ * Jornal das alterações de lançamentos (outbox): registrar grava os eventos na transação de quem
+ * alterou o lançamento e processar entrega os pendentes às projeções em segundo plano.
+ */
+public interface EventoLancamentoService {
+
+	void registrar(List<AlteracaoLancamento> alteracoes);
+	
+	// aplica até lote eventos da partição da fila da projeção, devolve quantos foram aplicados
+	int processar(ProjecaoLancamento projecao, int particoes, int particao, int lote);
+	
+	long contarPendentes(ProjecaoLancamento projecao);
+	
+	// idade do evento pendente mais antigo da projeção, zero quando a fila está vazia
+	Duration obterAtraso(ProjecaoLancamento projecao);
+	
+	// apaga os eventos já aplicados por todas as projeções registrados antes de retencao
+	int removerAplicados(Duration retencao);
+}
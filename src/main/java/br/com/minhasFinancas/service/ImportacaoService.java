@@ -0,0 +1,11 @@
+package br.com.minhasFinancas.service;
+
+import java.io.Reader;
+
+import br.com.minhasFinancas.api.dto.ResultadoImportacaoDTO;
+import br.com.minhasFinancas.service.importacao.FormatoExtrato;
+
+public interface ImportacaoService {
+
+	ResultadoImportacaoDTO importar(Long idUsuario, FormatoExtrato formato, Reader extrato);
+}
@@ -3,25 +3,58 @@ package br.com.minhasFinancas.service;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import br.com.minhasFinancas.api.dto.FechamentoDTO;
+import br.com.minhasFinancas.api.dto.LancamentoDTO;
+import br.com.minhasFinancas.api.dto.ResultadoLoteDTO;
+import br.com.minhasFinancas.api.dto.ResumoMensalDTO;
 import br.com.minhasFinancas.model.entity.Lancamento;
 import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.repository.CursorLancamento;
 
 public interface LancamentoService {
 
+	int TAMANHO_MAXIMO_PAGINA = 500;
+
 	Lancamento salvar(Lancamento lancamento);
 	
+	List<ResultadoLoteDTO> salvarLote(List<Lancamento> lancamentos);
+	
 	Lancamento atualizar(Lancamento lancamento);
 	
 	void deletar(Lancamento lancamento);
 	
 	List<Lancamento> buscar(Lancamento lancamentoFiltro);
 	
-	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
+	List<LancamentoDTO> buscarDTO(Lancamento lancamentoFiltro);
+	
+	List<Lancamento> buscar(Lancamento lancamentoFiltro, CursorLancamento cursor, int tamanho);
+	
+	void percorrer(Lancamento lancamentoFiltro, Consumer<Lancamento> consumidor);
+	
+	/**
+	 * Grava só o status, se o lançamento ainda estiver na versão informada (ou na lida, sem versão).
+	 * Vazio quando o lançamento não existe; OptimisticLockingFailureException quando ele foi alterado
+	 * por outra escrita.
+	 */
+	Optional<Lancamento> atualizarStatus(Long id, Long versao, StatusLancamento status);
+	
+	/**
+	 * Passa todos os lançamentos do usuário no mês com o status 'de' para o status 'para' (o fechamento
+	 * do mês): bloqueia as linhas com select for update, altera todas em um update e registra um evento
+	 * por lançamento, em batch, ajustando o saldo de uma vez na mesma transação. Devolve as contagens e
+	 * o valor movimentado no saldo.
+	 */
+	FechamentoDTO transicionarStatus(Long idUsuario, Integer ano, Integer mes, StatusLancamento de, StatusLancamento para);
 	
 	void validar(Lancamento lancamento);
 	
 	Optional<Lancamento> obterPorId(Long id);
 	
+	Optional<LancamentoDTO> obterDTOPorId(Long id);
+	
 	BigDecimal obterSaldoPorUsuario(Long id);
+	
+	List<ResumoMensalDTO> obterResumoPorUsuario(Long id, Integer ano);
 }
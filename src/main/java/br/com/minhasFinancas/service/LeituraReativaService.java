@@ -0,0 +1,21 @@
+package br.com.minhasFinancas.service;
+
+import java.math.BigDecimal;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.leitura.LancamentoLeitura;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas sem bloqueio (R2DBC) para os painéis; as gravações continuam no LancamentoService.
+ */
+public interface LeituraReativaService {
+
+	Flux<LancamentoLeitura> buscar(Lancamento lancamentoFiltro);
+	
+	Mono<LancamentoLeitura> obterLancamento(Long id);
+	
+	// vazio quando o usuário não existe
+	Mono<BigDecimal> obterSaldoPorUsuario(Long idUsuario);
+}
@@ -0,0 +1,16 @@
+package br.com.minhasFinancas.service;
+
+/**
+ * Partições por ano de financas.lancamento. Só existem no PostgreSQL; nos outros bancos
+ * estaParticionado devolve false e nada mais deve ser chamado.
+ */
+public interface ParticaoLancamentoService {
+
+	boolean estaParticionado();
+	
+	// cria as partições de anoInicial a anoFinal e as dos anos que caíram na partição padrão, devolve quantas foram criadas
+	int criarParticoes(int anoInicial, int anoFinal);
+	
+	// move para a partição de arquivo os anos anteriores a anteriorA, devolve quantos lançamentos foram arquivados
+	int arquivar(int anteriorA);
+}
@@ -0,0 +1,46 @@
+package br.com.minhasFinancas.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import br.com.minhasFinancas.model.entity.Recorrencia;
+
+/**
+ * Lançamentos recorrentes: o cadastro dos modelos e a geração em lotes dos lançamentos das
+ * competências que já venceram, feita pelo GeracaoRecorrenciasJob.
+ */
+public interface RecorrenciaService {
+
+	// competências atrasadas geradas por recorrência em cada lote; as demais ficam vencidas para o lote seguinte
+	int MESES_POR_LOTE = 12;
+	
+	// o primeiro lançamento de uma recorrência pode ser de até dez anos atrás
+	int MESES_RETROATIVOS = 120;
+	
+	Recorrencia salvar(Recorrencia recorrencia);
+	
+	List<Recorrencia> buscarPorUsuario(Long idUsuario);
+	
+	Optional<Recorrencia> obterPorId(Long id);
+	
+	// os lançamentos já gerados continuam; só deixam de ser gerados os próximos
+	Recorrencia encerrar(Recorrencia recorrencia);
+	
+	void validar(Recorrencia recorrencia);
+	
+	/**
+	 * Gera, em uma transação, os lançamentos até a competência de até lote recorrências da partição
+	 * com id maior que aposId, no máximo MESES_POR_LOTE por recorrência, e avança essas recorrências.
+	 * Se algum lançamento for recusado o lote inteiro volta atrás com RegraNegocioException.
+	 */
+	ResultadoGeracao gerar(int competencia, int particoes, int particao, long aposId, int lote);
+	
+	// ids das recorrências que gerar leria com os mesmos argumentos
+	List<Long> buscarIdsAGerar(int competencia, int particoes, int particao, long aposId, int lote);
+	
+	// recorrências com alguma competência até a informada ainda por gerar
+	long contarPendentes(int competencia);
+	
+	// meses entre a competência e a mais antiga ainda por gerar, zero quando não há nenhuma
+	int obterAtraso(int competencia);
+}
@@ -0,0 +1,15 @@
+package br.com.minhasFinancas.service;
+
+import lombok.Value;
+
+/**
+ * Lote da geração de lançamentos recorrentes: quantas recorrências foram lidas, quantos lançamentos
+ * foram criados e o id da última recorrência, de onde parte o próximo lote.
+ */
+@Value
+public class ResultadoGeracao {
+
+	int recorrencias;
+	int lancamentos;
+	long ultimoId;
+}
@@ -0,0 +1,18 @@
+package br.com.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import br.com.minhasFinancas.api.dto.ResumoMensalDTO;
+import br.com.minhasFinancas.model.entity.ResumoMensalId;
+
+public interface ResumoMensalService {
+
+	void movimentar(ResumoMensalId id, BigDecimal valor, long quantidade);
+	
+	List<ResumoMensalDTO> obterResumo(Long idUsuario, Integer ano);
+	
+	int reconstruir();
+	
+	boolean precisaReconstruir();
+}
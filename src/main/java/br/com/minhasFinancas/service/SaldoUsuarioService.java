@@ -0,0 +1,21 @@
+package br.com.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import br.com.minhasFinancas.api.dto.DivergenciaSaldoDTO;
+
+public interface SaldoUsuarioService {
+
+	// linha zerada gravada no cadastro do usuário; movimentar só soma a ela
+	void criar(Long idUsuario);
+	
+	void movimentar(Long idUsuario, BigDecimal valor);
+	
+	BigDecimal obterSaldo(Long idUsuario);
+	
+	List<DivergenciaSaldoDTO> verificarSaldos();
+	
+	Optional<DivergenciaSaldoDTO> corrigirSaldo(Long idUsuario);
+}
@@ -0,0 +1,18 @@
+package br.com.minhasFinancas.service;
+
+import java.time.Instant;
+
+import lombok.Value;
+
+/**
+ * Token de acesso emitido na autenticação: o valor assinado enviado pelo cliente no
+ * cabeçalho Authorization e o que foi lido dele.
+ */
+@Value
+public class TokenAcesso {
+
+	String valor;
+	long id;
+	Long idUsuario;
+	Instant expiraEm;
+}
@@ -0,0 +1,21 @@
+package br.com.minhasFinancas.service;
+
+import java.util.Optional;
+
+import br.com.minhasFinancas.model.entity.Usuario;
+
+public interface TokenService {
+
+	TokenAcesso emitir(Usuario usuario);
+	
+	/**
+	 * Confere assinatura, validade e a lista de revogados sem consultar o banco;
+	 * vazio quando o token não deve ser aceito.
+	 */
+	Optional<TokenAcesso> verificar(String valor);
+	
+	/**
+	 * O token deixa de ser aceito até expirar; depois disso sai da lista de revogados.
+	 */
+	void revogar(TokenAcesso token);
+}
@@ -1,16 +1,28 @@
 package br.com.minhasFinancas.service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import br.com.minhasFinancas.model.entity.Usuario;
 
 public interface UsuarioService {
 
-	Usuario autenticar(String email, String senha);
+	/**
+	 * Confere a senha no executor de senhas e, se ela ainda estiver sem hash ou com um custo menor
+	 * que o configurado, grava o hash novo. Falha com ErroAutenticacao, ou com RejectedExecutionException
+	 * quando a fila do executor está cheia.
+	 */
+	CompletableFuture<Usuario> autenticar(String email, String senha);
 	
 	Usuario salvarUsuario(Usuario usuario);
 	
 	void validarEmail(String email);
 	
 	Optional<Usuario> finById(Long id);
+	
+	/**
+	 * Referência ao usuário sem consultar o banco, para quando só o id é necessário
+	 * (ex.: a chave estrangeira de um lançamento) e a existência já foi verificada.
+	 */
+	Usuario obterReferencia(Long id);
 }
@@ -0,0 +1,23 @@
+package br.com.minhasFinancas.service.eventos;
+
+import br.com.minhasFinancas.model.entity.LancamentoGravado;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Estado de um lançamento antes e depois de uma escrita: anterior é null na criação e atual
+ * é null na exclusão. O idEvento só existe depois que a alteração foi gravada no jornal.
+ */
+@Value
+@AllArgsConstructor
+public class AlteracaoLancamento {
+
+	Long idEvento;
+	Long idLancamento;
+	LancamentoGravado anterior;
+	LancamentoGravado atual;
+	
+	public AlteracaoLancamento(Long idLancamento, LancamentoGravado anterior, LancamentoGravado atual) {
+		this(null, idLancamento, anterior, atual);
+	}
+}
@@ -0,0 +1,19 @@
+package br.com.minhasFinancas.service.eventos;
+
+import java.util.List;
+
+/**
+ * Tabela derivada dos lançamentos, mantida em segundo plano a partir do jornal de alterações.
+ * Cada lote é aplicado na mesma transação que o tira da fila da projeção: se aplicar falhar,
+ * o lote inteiro volta para a fila e é entregue de novo no próximo ciclo do despachante.
+ * Os eventos de um mesmo lançamento chegam na ordem em que foram gravados.
+ */
+public interface ProjecaoLancamento {
+
+	/**
+	 * Nome da fila da projeção em evento_pendente; não deve mudar depois que houver eventos gravados.
+	 */
+	String getNome();
+	
+	void aplicar(List<AlteracaoLancamento> alteracoes);
+}
@@ -0,0 +1,56 @@
+package br.com.minhasFinancas.service.eventos;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import br.com.minhasFinancas.model.entity.LancamentoGravado;
+import br.com.minhasFinancas.model.entity.ResumoMensalId;
+import br.com.minhasFinancas.service.ResumoMensalService;
+
+/**
+ * Mantém resumo_mensal a partir das alterações dos lançamentos, com um único update por chave
+ * do resumo em cada lote, tratando mudanças de status, tipo, valor, mês e usuário.
+ */
+@Component
+public class ResumoMensalProjecao implements ProjecaoLancamento {
+
+	public static final String NOME = "resumo_mensal";
+	
+	private ResumoMensalService service;
+	
+	public ResumoMensalProjecao(ResumoMensalService service) {
+		this.service = service;
+	}
+	
+	@Override
+	public String getNome() {
+		return NOME;
+	}
+
+	@Override
+	public void aplicar(List<AlteracaoLancamento> alteracoes) {
+		Map<ResumoMensalId, BigDecimal> valores = new LinkedHashMap<>();
+		Map<ResumoMensalId, Long> quantidades = new LinkedHashMap<>();
+		for (AlteracaoLancamento alteracao : alteracoes) {
+			LancamentoGravado anterior = alteracao.getAnterior();
+			LancamentoGravado atual = alteracao.getAtual();
+			if (anterior != null && anterior.entraNoResumo()) {
+				somar(valores, quantidades, ResumoMensalId.de(anterior), anterior.getValor().negate(), -1);
+			}
+			if (atual != null && atual.entraNoResumo()) {
+				somar(valores, quantidades, ResumoMensalId.de(atual), atual.getValor(), 1);
+			}
+		}
+		valores.forEach( (id, valor) -> service.movimentar(id, valor, quantidades.get(id)) );
+	}
+	
+	private void somar(Map<ResumoMensalId, BigDecimal> valores, Map<ResumoMensalId, Long> quantidades,
+			ResumoMensalId id, BigDecimal valor, long quantidade) {
+		valores.merge(id, valor, BigDecimal::add);
+		quantidades.merge(id, quantidade, Long::sum);
+	}
+}
@@ -0,0 +1,69 @@
+package br.com.minhasFinancas.service.exportacao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+
+/**
+ * CSV separado por ';' com BOM para que o Excel reconheça o UTF-8.
+ */
+class EscritorCsv implements EscritorLancamentos {
+
+	private static final char SEPARADOR = ';';
+	
+	private final Writer writer;
+	
+	EscritorCsv(OutputStream saida) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+		try {
+			writer.write('\uFEFF');
+			writer.write(String.join(String.valueOf(SEPARADOR), CABECALHO));
+			writer.write("\r\n");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@Override
+	public void escrever(Lancamento lancamento) {
+		try {
+			writer.write(String.valueOf(lancamento.getId()));
+			writer.write(SEPARADOR);
+			writer.write(escapar(lancamento.getDescricao()));
+			writer.write(SEPARADOR);
+			writer.write(String.valueOf(lancamento.getMes()));
+			writer.write(SEPARADOR);
+			writer.write(String.valueOf(lancamento.getAno()));
+			writer.write(SEPARADOR);
+			writer.write(lancamento.getValor() == null ? "" : lancamento.getValor().toPlainString());
+			writer.write(SEPARADOR);
+			writer.write(lancamento.getTipo() == null ? "" : lancamento.getTipo().name());
+			writer.write(SEPARADOR);
+			writer.write(lancamento.getStatus() == null ? "" : lancamento.getStatus().name());
+			writer.write("\r\n");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		writer.flush();
+	}
+	
+	private String escapar(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		if (texto.indexOf(SEPARADOR) < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+			return texto;
+		}
+		return '"' + texto.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,16 @@
+package br.com.minhasFinancas.service.exportacao;
+
+import java.io.Closeable;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+
+/**
+ * Escreve os lançamentos um a um na saída, sem acumulá-los em memória.
+ * O close finaliza o arquivo mas não fecha a saída recebida.
+ */
+public interface EscritorLancamentos extends Closeable {
+
+	String[] CABECALHO = { "id", "descricao", "mes", "ano", "valor", "tipo", "status" };
+	
+	void escrever(Lancamento lancamento);
+}
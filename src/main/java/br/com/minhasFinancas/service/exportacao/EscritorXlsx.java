@@ -0,0 +1,75 @@
+package br.com.minhasFinancas.service.exportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+
+/**
+ * Planilha gravada com SXSSF: só as últimas linhas ficam em memória, as demais
+ * vão para um arquivo temporário compactado até o close montar o XLSX na saída.
+ * Ao atingir o limite de linhas de uma aba, continua em uma nova aba.
+ */
+class EscritorXlsx implements EscritorLancamentos {
+
+	private static final int LINHAS_EM_MEMORIA = 100;
+	private static final int LINHAS_POR_ABA = SpreadsheetVersion.EXCEL2007.getMaxRows();
+	
+	private final OutputStream saida;
+	private final SXSSFWorkbook workbook;
+	private Sheet aba;
+	private int linha;
+	
+	EscritorXlsx(OutputStream saida) {
+		this.saida = saida;
+		this.workbook = new SXSSFWorkbook(LINHAS_EM_MEMORIA);
+		this.workbook.setCompressTempFiles(true);
+		novaAba();
+	}
+	
+	@Override
+	public void escrever(Lancamento lancamento) {
+		if (linha == LINHAS_POR_ABA) {
+			novaAba();
+		}
+		Row row = aba.createRow(linha++);
+		row.createCell(0).setCellValue(lancamento.getId());
+		row.createCell(1).setCellValue(lancamento.getDescricao());
+		row.createCell(2).setCellValue(lancamento.getMes());
+		row.createCell(3).setCellValue(lancamento.getAno());
+		if (lancamento.getValor() != null) {
+			row.createCell(4).setCellValue(lancamento.getValor().doubleValue());
+		}
+		if (lancamento.getTipo() != null) {
+			row.createCell(5).setCellValue(lancamento.getTipo().name());
+		}
+		if (lancamento.getStatus() != null) {
+			row.createCell(6).setCellValue(lancamento.getStatus().name());
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			workbook.write(saida);
+			saida.flush();
+		} finally {
+			workbook.dispose();
+			workbook.close();
+		}
+	}
+	
+	private void novaAba() {
+		aba = workbook.createSheet("lancamentos" + (workbook.getNumberOfSheets() == 0 ? "" : "-" + (workbook.getNumberOfSheets() + 1)));
+		Row cabecalho = aba.createRow(0);
+		for (int i = 0; i < CABECALHO.length; i++) {
+			cabecalho.createCell(i).setCellValue(CABECALHO[i]);
+		}
+		linha = 1;
+	}
+}
@@ -0,0 +1,39 @@
+package br.com.minhasFinancas.service.exportacao;
+
+import java.io.OutputStream;
+
+import br.com.minhasFinancas.exception.RegraNegocioException;
+
+public enum FormatoExportacao {
+
+	CSV("text/csv;charset=UTF-8", "csv"),
+	XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+	
+	private final String contentType;
+	private final String extensao;
+	
+	FormatoExportacao(String contentType, String extensao) {
+		this.contentType = contentType;
+		this.extensao = extensao;
+	}
+	
+	public String getContentType() {
+		return contentType;
+	}
+	
+	public String getExtensao() {
+		return extensao;
+	}
+	
+	public EscritorLancamentos abrir(OutputStream saida) {
+		return this == CSV ? new EscritorCsv(saida) : new EscritorXlsx(saida);
+	}
+	
+	public static FormatoExportacao de(String formato) {
+		try {
+			return valueOf(formato.toUpperCase());
+		} catch (IllegalArgumentException | NullPointerException e) {
+			throw new RegraNegocioException("Formato de exportação inválido, use csv ou xlsx.");
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package br.com.minhasFinancas.service.impl;
+
+import java.sql.DatabaseMetaData;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+// SQL que só o PostgreSQL entende (partições, lock table) não roda no H2 dos testes
+final class BancoDeDados {
+
+	private BancoDeDados() {
+	}
+	
+	static boolean postgreSql(DataSource dataSource) {
+		try {
+			String banco = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+			return "PostgreSQL".equals(banco);
+		} catch (MetaDataAccessException e) {
+			return false;
+		}
+	}
+}
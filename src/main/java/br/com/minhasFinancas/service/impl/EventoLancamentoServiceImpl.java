@@ -0,0 +1,136 @@
+package br.com.minhasFinancas.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.minhasFinancas.model.entity.EventoLancamento;
+import br.com.minhasFinancas.model.entity.EventoPendente;
+import br.com.minhasFinancas.model.entity.EventoPendenteId;
+import br.com.minhasFinancas.model.entity.LancamentoGravado;
+import br.com.minhasFinancas.model.repository.EventoLancamentoRepository;
+import br.com.minhasFinancas.model.repository.EventoPendenteRepository;
+import br.com.minhasFinancas.service.EventoLancamentoService;
+import br.com.minhasFinancas.service.eventos.AlteracaoLancamento;
+import br.com.minhasFinancas.service.eventos.ProjecaoLancamento;
+
+@Service
+public class EventoLancamentoServiceImpl implements EventoLancamentoService {
+
+	// formato do jornal independente da configuração do Jackson usada pela API
+	private static final ObjectMapper JSON = new ObjectMapper();
+	
+	private EventoLancamentoRepository repository;
+	private EventoPendenteRepository pendenteRepository;
+	private List<ProjecaoLancamento> projecoes;
+	
+	public EventoLancamentoServiceImpl(EventoLancamentoRepository repository, EventoPendenteRepository pendenteRepository,
+			List<ProjecaoLancamento> projecoes) {
+		this.repository = repository;
+		this.pendenteRepository = pendenteRepository;
+		this.projecoes = projecoes;
+	}
+	
+	@Override
+	@Transactional // participa da transação de quem alterou o lançamento
+	public void registrar(List<AlteracaoLancamento> alteracoes) {
+		if (alteracoes.isEmpty() || projecoes.isEmpty()) {
+			return;
+		}
+		LocalDateTime agora = LocalDateTime.now();
+		List<EventoLancamento> eventos = new ArrayList<>(alteracoes.size());
+		for (AlteracaoLancamento alteracao : alteracoes) {
+			eventos.add(EventoLancamento.builder()
+					.idLancamento(alteracao.getIdLancamento())
+					.anterior(escrever(alteracao.getAnterior()))
+					.atual(escrever(alteracao.getAtual()))
+					.registradoEm(agora)
+					.build());
+		}
+		repository.saveAll(eventos);
+		
+		List<EventoPendente> pendentes = new ArrayList<>(eventos.size() * projecoes.size());
+		for (ProjecaoLancamento projecao : projecoes) {
+			for (int i = 0; i < eventos.size(); i++) {
+				EventoLancamento evento = eventos.get(i);
+				pendentes.add(new EventoPendente(new EventoPendenteId(projecao.getNome(), evento.getId()),
+						evento.getIdLancamento(), usuario(alteracoes.get(i))));
+			}
+		}
+		pendenteRepository.saveAll(pendentes);
+	}
+
+	@Override
+	@Transactional
+	public int processar(ProjecaoLancamento projecao, int particoes, int particao, int lote) {
+		List<EventoLancamento> eventos = pendenteRepository.buscarPendentes(projecao.getNome(), particoes, particao, PageRequest.of(0, lote));
+		if (eventos.isEmpty()) {
+			return 0;
+		}
+		projecao.aplicar(eventos.stream().map(this::converter).collect(Collectors.toList()));
+		
+		// se outro despachante (outra instância da aplicação) já tirou algum destes eventos da fila,
+		// o rollback desfaz o que foi aplicado e o lote é lido de novo no próximo ciclo
+		List<Long> ids = eventos.stream().map(EventoLancamento::getId).collect(Collectors.toList());
+		int removidos = pendenteRepository.removerPendentes(projecao.getNome(), ids);
+		if (removidos != ids.size()) {
+			throw new IllegalStateException("Eventos da projeção " + projecao.getNome() + " aplicados em paralelo por outro despachante.");
+		}
+		return eventos.size();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long contarPendentes(ProjecaoLancamento projecao) {
+		return pendenteRepository.countByIdProjecao(projecao.getNome());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Duration obterAtraso(ProjecaoLancamento projecao) {
+		LocalDateTime maisAntigo = pendenteRepository.obterRegistroMaisAntigo(projecao.getNome());
+		return maisAntigo == null ? Duration.ZERO : Duration.between(maisAntigo, LocalDateTime.now());
+	}
+
+	@Override
+	@Transactional
+	public int removerAplicados(Duration retencao) {
+		return repository.removerAplicadosAntesDe(LocalDateTime.now().minus(retencao));
+	}
+	
+	// chave da partição do pendente; na exclusão só há o estado anterior, e sem usuário vale o id do lançamento
+	private Long usuario(AlteracaoLancamento alteracao) {
+		LancamentoGravado gravado = alteracao.getAtual() != null ? alteracao.getAtual() : alteracao.getAnterior();
+		return gravado != null && gravado.getIdUsuario() != null ? gravado.getIdUsuario() : alteracao.getIdLancamento();
+	}
+	
+	private AlteracaoLancamento converter(EventoLancamento evento) {
+		return new AlteracaoLancamento(evento.getId(), evento.getIdLancamento(),
+				ler(evento.getAnterior()), ler(evento.getAtual()));
+	}
+	
+	private String escrever(LancamentoGravado gravado) {
+		try {
+			return gravado == null ? null : JSON.writeValueAsString(gravado);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Não foi possível gravar o evento do lançamento.", e);
+		}
+	}
+	
+	private LancamentoGravado ler(String json) {
+		try {
+			return json == null ? null : JSON.readValue(json, LancamentoGravado.class);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Evento de lançamento inválido: " + json, e);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package br.com.minhasFinancas.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import br.com.minhasFinancas.api.dto.ResultadoImportacaoDTO;
+import br.com.minhasFinancas.api.dto.ResultadoLoteDTO;
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.service.ImportacaoService;
+import br.com.minhasFinancas.service.LancamentoService;
+import br.com.minhasFinancas.service.UsuarioService;
+import br.com.minhasFinancas.service.importacao.FormatoExtrato;
+import br.com.minhasFinancas.service.importacao.LeitorExtrato;
+import br.com.minhasFinancas.service.importacao.LinhaExtrato;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importa o extrato em blocos de tamanho fixo: cada bloco é conferido contra os hashes já gravados
+ * e salvo na sua própria transação, então a memória usada não depende do tamanho do arquivo.
+ */
+@Slf4j
+@Service
+public class ImportacaoServiceImpl implements ImportacaoService {
+
+	static final int TAMANHO_BLOCO = 500;
+	
+	// só as primeiras mensagens de erro voltam na resposta
+	static final int MAXIMO_ERROS = 100;
+	
+	private LancamentoService lancamentoService;
+	private UsuarioService usuarioService;
+	private LancamentoRepository lancamentoRepository;
+	
+	public ImportacaoServiceImpl(LancamentoService lancamentoService, UsuarioService usuarioService,
+			LancamentoRepository lancamentoRepository) {
+		this.lancamentoService = lancamentoService;
+		this.usuarioService = usuarioService;
+		this.lancamentoRepository = lancamentoRepository;
+	}
+	
+	@Override
+	public ResultadoImportacaoDTO importar(Long idUsuario, FormatoExtrato formato, Reader extrato) {
+		if (!usuarioService.finById(idUsuario).isPresent()) {
+			throw new RegraNegocioException("Usuário não encontrado para o id informado.");
+		}
+		// os lançamentos só precisam da chave estrangeira
+		Usuario usuario = usuarioService.obterReferencia(idUsuario);
+		
+		long inicio = System.nanoTime();
+		ResultadoImportacaoDTO resultado = ResultadoImportacaoDTO.builder().erros(new ArrayList<>()).build();
+		// hash -> lançamento, na ordem do arquivo; linhas repetidas dentro do bloco ficam de fora
+		Map<String, Lancamento> bloco = new LinkedHashMap<>();
+		Map<String, Long> linhasDoBloco = new LinkedHashMap<>();
+		
+		try (LeitorExtrato leitor = formato.abrir(extrato)) {
+			while (leitor.hasNext()) {
+				LinhaExtrato linha = leitor.next();
+				resultado.setLidas(resultado.getLidas() + 1);
+				if (linha.getErro() != null) {
+					rejeitar(resultado, linha.getNumero(), linha.getErro());
+					continue;
+				}
+				String hash = calcularHash(usuario.getId(), linha);
+				if (bloco.containsKey(hash)) {
+					resultado.setDuplicadas(resultado.getDuplicadas() + 1);
+					continue;
+				}
+				bloco.put(hash, converter(linha, usuario, hash));
+				linhasDoBloco.put(hash, linha.getNumero());
+				if (bloco.size() == TAMANHO_BLOCO) {
+					salvarBloco(usuario, bloco, linhasDoBloco, resultado);
+				}
+			}
+			salvarBloco(usuario, bloco, linhasDoBloco, resultado);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		long duracaoMs = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+		resultado.setDuracaoMs(duracaoMs);
+		resultado.setLinhasPorSegundo(resultado.getLidas() * 1000d / duracaoMs);
+		log.info("Extrato {} importado para o usuário {}: {} linhas lidas, {} importadas, {} duplicadas, {} rejeitadas em {} ms ({} linhas/s).",
+				formato, idUsuario, resultado.getLidas(), resultado.getImportadas(), resultado.getDuplicadas(),
+				resultado.getRejeitadas(), duracaoMs, String.format("%.0f", resultado.getLinhasPorSegundo()));
+		return resultado;
+	}
+	
+	private void salvarBloco(Usuario usuario, Map<String, Lancamento> bloco, Map<String, Long> linhasDoBloco,
+			ResultadoImportacaoDTO resultado) {
+		if (bloco.isEmpty()) {
+			return;
+		}
+		Set<String> importados = new HashSet<>(lancamentoRepository.buscarHashesImportados(usuario.getId(), bloco.keySet()));
+		resultado.setDuplicadas(resultado.getDuplicadas() + importados.size());
+		bloco.keySet().removeAll(importados);
+		
+		List<String> hashes = new ArrayList<>(bloco.keySet());
+		List<ResultadoLoteDTO> salvos = lancamentoService.salvarLote(new ArrayList<>(bloco.values()));
+		for (int i = 0; i < salvos.size(); i++) {
+			if (salvos.get(i).getErro() == null) {
+				resultado.setImportadas(resultado.getImportadas() + 1);
+			} else {
+				rejeitar(resultado, linhasDoBloco.get(hashes.get(i)), salvos.get(i).getErro());
+			}
+		}
+		bloco.clear();
+		linhasDoBloco.clear();
+	}
+	
+	private void rejeitar(ResultadoImportacaoDTO resultado, long linha, String erro) {
+		resultado.setRejeitadas(resultado.getRejeitadas() + 1);
+		if (resultado.getErros().size() < MAXIMO_ERROS) {
+			resultado.getErros().add("Linha " + linha + ": " + erro);
+		}
+	}
+	
+	private Lancamento converter(LinhaExtrato linha, Usuario usuario, String hash) {
+		BigDecimal valor = linha.getValor();
+		return Lancamento.builder()
+				.descricao(linha.getDescricao())
+				.valor(valor.abs())
+				.tipo(valor.signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+				.mes(linha.getData().getMonthValue())
+				.ano(linha.getData().getYear())
+				.usuario(usuario)
+				.hashImportacao(hash)
+				.build();
+	}
+	
+	// SHA-256 do usuário, data, valor, descrição e identificador da transação no banco (FITID do OFX)
+	static String calcularHash(Long idUsuario, LinhaExtrato linha) {
+		String conteudo = idUsuario + "|" + linha.getData() + "|" + linha.getValor().stripTrailingZeros().toPlainString()
+				+ "|" + (linha.getDescricao() == null ? "" : linha.getDescricao().trim().toLowerCase())
+				+ "|" + (linha.getIdentificador() == null ? "" : linha.getIdentificador());
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(conteudo.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(64);
+			for (byte b : hash) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -1,30 +1,53 @@
 package br.com.minhasFinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+
+import br.com.minhasFinancas.api.dto.FechamentoDTO;
+import br.com.minhasFinancas.api.dto.LancamentoDTO;
+import br.com.minhasFinancas.api.dto.ResultadoLoteDTO;
+import br.com.minhasFinancas.api.dto.ResumoMensalDTO;
 import br.com.minhasFinancas.exception.RegraNegocioException;
 import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.LancamentoGravado;
 import br.com.minhasFinancas.model.enums.StatusLancamento;
 import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.CursorLancamento;
 import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.LancamentoSpecifications;
+import br.com.minhasFinancas.service.EventoLancamentoService;
 import br.com.minhasFinancas.service.LancamentoService;
+import br.com.minhasFinancas.service.ResumoMensalService;
+import br.com.minhasFinancas.service.SaldoUsuarioService;
+import br.com.minhasFinancas.service.eventos.AlteracaoLancamento;
 
 @Service
+@Timed("lancamento.service")
 public class LancamentoServiceImpl implements LancamentoService {
 
 	private LancamentoRepository repository;
+	private SaldoUsuarioService saldoUsuarioService;
+	private ResumoMensalService resumoMensalService;
+	private EventoLancamentoService eventoLancamentoService;
 	
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	public LancamentoServiceImpl(LancamentoRepository repository, SaldoUsuarioService saldoUsuarioService,
+			ResumoMensalService resumoMensalService, EventoLancamentoService eventoLancamentoService) {
 		this.repository = repository;
+		this.saldoUsuarioService = saldoUsuarioService;
+		this.resumoMensalService = resumoMensalService;
+		this.eventoLancamentoService = eventoLancamentoService;
 	}
 	
 	@Override
@@ -32,7 +55,43 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+		Lancamento lancamentoSalvo = repository.save(lancamento);
+		registrarAlteracao(lancamentoSalvo.getId(), null, LancamentoGravado.de(lancamentoSalvo));
+		return lancamentoSalvo;
+	}
+	
+	@Override
+	@Transactional
+	public List<ResultadoLoteDTO> salvarLote(List<Lancamento> lancamentos) {
+		List<ResultadoLoteDTO> resultados = new ArrayList<>(lancamentos.size());
+		List<Lancamento> validos = new ArrayList<>(lancamentos.size());
+		for (Lancamento lancamento : lancamentos) {
+			ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+			try {
+				validar(lancamento);
+				lancamento.setStatus(StatusLancamento.PENDENTE);
+				validos.add(lancamento);
+			} catch (RegraNegocioException e) {
+				resultado.setErro(e.getMessage());
+			}
+			resultados.add(resultado);
+		}
+		
+		repository.salvarEmLote(validos);
+		
+		// lançamentos pendentes não mexem no saldo; o resumo é atualizado a partir dos eventos
+		List<AlteracaoLancamento> alteracoes = new ArrayList<>(validos.size());
+		for (int i = 0, j = 0; i < lancamentos.size(); i++) {
+			if (resultados.get(i).getErro() != null) {
+				continue;
+			}
+			Lancamento lancamento = validos.get(j++);
+			resultados.get(i).setId(lancamento.getId());
+			alteracoes.add(new AlteracaoLancamento(lancamento.getId(), null, LancamentoGravado.de(lancamento)));
+		}
+		eventoLancamentoService.registrar(alteracoes);
+		
+		return resultados;
 	}
 
 	@Override
@@ -40,31 +99,121 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return repository.save(lancamento);
+		LancamentoGravado anterior = obterGravado(lancamento.getId());
+		
+		Lancamento lancamentoAtualizado = repository.save(lancamento);
+		registrarAlteracao(lancamentoAtualizado.getId(), anterior, LancamentoGravado.de(lancamentoAtualizado));
+		return lancamentoAtualizado;
 	}
 
 	@Override
 	@Transactional
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		LancamentoGravado anterior = obterGravado(lancamento.getId());
+		
 		repository.delete(lancamento);
+		registrarAlteracao(lancamento.getId(), anterior, null);
 	}
 
 	@Override
 	@Transactional( readOnly = true )
 	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
-		
-		Example example = Example.of( lancamentoFiltro,
-				ExampleMatcher.matching().
-				withIgnoreCase().withStringMatcher( StringMatcher.CONTAINING ) );
-		
-		return repository.findAll(example);
+		return repository.findAll(LancamentoSpecifications.doFiltro(lancamentoFiltro), LancamentoSpecifications.ORDENACAO);
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public List<LancamentoDTO> buscarDTO(Lancamento lancamentoFiltro) {
+		return repository.buscarDTO(lancamentoFiltro);
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public List<Lancamento> buscar(Lancamento lancamentoFiltro, CursorLancamento cursor, int tamanho) {
+		if (tamanho < 1) {
+			throw new RegraNegocioException("Informe um tamanho de página válido.");
+		}
+		return repository.buscarPagina(lancamentoFiltro, cursor, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA));
+	}
+	
+	@Override
+	@Transactional( readOnly = true ) // mantém a conexão aberta enquanto o stream é consumido
+	public void percorrer(Lancamento lancamentoFiltro, Consumer<Lancamento> consumidor) {
+		try (Stream<Lancamento> lancamentos = repository.buscarStream(lancamentoFiltro)) {
+			lancamentos.forEach(consumidor);
+		}
 	}
 
 	@Override
-	public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
+	@Transactional
+	public Optional<Lancamento> atualizarStatus(Long id, Long versao, StatusLancamento status) {
+		Optional<Lancamento> encontrado = repository.findById(id);
+		if (!encontrado.isPresent()) {
+			return encontrado;
+		}
+		Lancamento lancamento = encontrado.get();
+		// o update confere a versão lida, de modo que o estado anterior usado no saldo é o que foi substituído
+		if (versao != null && !versao.equals(lancamento.getVersao())
+				|| repository.atualizarStatus(id, lancamento.getVersao(), status) == 0) {
+			throw new OptimisticLockingFailureException("O lançamento foi alterado por outra operação, consulte-o novamente.");
+		}
+		LancamentoGravado anterior = lancamento.getGravado();
 		lancamento.setStatus(status);
-		atualizar(lancamento);
+		lancamento.setVersao(lancamento.getVersao() + 1);
+		registrarAlteracao(id, anterior, LancamentoGravado.de(lancamento));
+		return Optional.of(lancamento);
+	}
+	
+	@Override
+	@Transactional
+	public FechamentoDTO transicionarStatus(Long idUsuario, Integer ano, Integer mes, StatusLancamento de, StatusLancamento para) {
+		if (ano == null || mes == null || mes < 1 || mes > 12) {
+			throw new RegraNegocioException("Informe um mês e um ano válidos.");
+		}
+		if (de == null || para == null || de == para) {
+			throw new RegraNegocioException("Informe status de origem e de destino diferentes.");
+		}
+		FechamentoDTO fechamento = FechamentoDTO.builder()
+				.usuario(idUsuario)
+				.ano(ano)
+				.mes(mes)
+				.de(de.name())
+				.para(para.name())
+				.valorMovimentado(BigDecimal.ZERO)
+				.build();
+		List<Lancamento> lancamentos = repository.bloquearPorStatusNoMes(idUsuario, ano, mes, de);
+		if (lancamentos.isEmpty()) {
+			return fechamento;
+		}
+		// um lançamento incluído no mês depois do select entraria no update sem evento nem saldo
+		int alterados = repository.transicionarStatus(idUsuario, ano, mes, de, para);
+		if (alterados != lancamentos.size()) {
+			throw new OptimisticLockingFailureException("Os lançamentos do mês foram alterados por outra operação, tente novamente.");
+		}
+		
+		// uma movimentação no saldo com a soma das diferenças e um evento por lançamento para as projeções
+		BigDecimal diferenca = BigDecimal.ZERO;
+		int receitas = 0;
+		List<AlteracaoLancamento> alteracoes = new ArrayList<>(lancamentos.size());
+		for (Lancamento lancamento : lancamentos) {
+			LancamentoGravado anterior = lancamento.getGravado();
+			LancamentoGravado atual = new LancamentoGravado(anterior.getIdUsuario(), anterior.getAno(), anterior.getMes(),
+					anterior.getTipo(), para, anterior.getValor());
+			diferenca = diferenca.add(atual.valorNoSaldo()).subtract(anterior.valorNoSaldo());
+			receitas += anterior.getTipo() == TipoLancamento.RECEITA ? 1 : 0;
+			alteracoes.add(new AlteracaoLancamento(lancamento.getId(), anterior, atual));
+		}
+		if (diferenca.signum() != 0) {
+			saldoUsuarioService.movimentar(idUsuario, diferenca);
+		}
+		eventoLancamentoService.registrar(alteracoes);
+		
+		fechamento.setAlterados(alterados);
+		fechamento.setReceitas(receitas);
+		fechamento.setDespesas(alterados - receitas);
+		fechamento.setValorMovimentado(diferenca);
+		return fechamento;
 	}
 
 	@Override
@@ -93,23 +242,55 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Optional<Lancamento> obterPorId(Long id) {
 		return repository.findById(id);
 	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<LancamentoDTO> obterDTOPorId(Long id) {
+		return repository.obterDTOPorId(id);
+	}
 
 	@Override
 	@Transactional(readOnly = true) // será aberto uma transação apenas para leitura
 	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
-		
-		if (receitas == null) {
-			receitas = BigDecimal.ZERO;
+		// leitura por chave primária em saldo_usuario, sem agregar os lançamentos
+		return saldoUsuarioService.obterSaldo(id);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<ResumoMensalDTO> obterResumoPorUsuario(Long id, Integer ano) {
+		// no máximo 12 meses x 3 status, lidos de resumo_mensal
+		return resumoMensalService.obterResumo(id, ano);
+	}
+	
+	// estado que o lançamento tinha no banco antes desta escrita
+	private LancamentoGravado obterGravado(Long id) {
+		return repository.findById(id).map(Lancamento::getGravado).orElse(null);
+	}
+	
+	/**
+	 * Aplica em saldo_usuario a diferença entre o estado gravado antes da escrita e o novo estado
+	 * (null quando o lançamento foi deletado), tratando mudanças de status, valor e usuário, e grava
+	 * o evento da alteração, de onde as projeções como resumo_mensal são atualizadas em segundo plano.
+	 */
+	private void registrarAlteracao(Long id, LancamentoGravado anterior, LancamentoGravado atual) {
+		if (anterior != null && anterior.equals(atual)) {
+			return;
 		}
-		if (despesas == null) {
-			despesas = BigDecimal.ZERO;
+		Long idUsuarioAnterior = anterior == null ? null : anterior.getIdUsuario();
+		BigDecimal saldoAnterior = anterior == null ? BigDecimal.ZERO : anterior.valorNoSaldo();
+		Long idUsuario = atual == null ? null : atual.getIdUsuario();
+		BigDecimal saldoAtual = atual == null ? BigDecimal.ZERO : atual.valorNoSaldo();
+		
+		if (idUsuarioAnterior == null || idUsuarioAnterior.equals(idUsuario)) {
+			saldoUsuarioService.movimentar(idUsuario, saldoAtual.subtract(saldoAnterior));
+		} else {
+			saldoUsuarioService.movimentar(idUsuarioAnterior, saldoAnterior.negate());
+			saldoUsuarioService.movimentar(idUsuario, saldoAtual);
 		}
 		
-		return receitas.subtract(despesas);
+		eventoLancamentoService.registrar(Collections.singletonList(new AlteracaoLancamento(id, anterior, atual)));
 	}
-
 }
 
 
@@ -0,0 +1,42 @@
+package br.com.minhasFinancas.service.impl;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Service;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.leitura.LancamentoLeitura;
+import br.com.minhasFinancas.model.repository.reativo.LancamentoLeituraRepository;
+import br.com.minhasFinancas.model.repository.reativo.UsuarioLeituraRepository;
+import br.com.minhasFinancas.service.LeituraReativaService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class LeituraReativaServiceImpl implements LeituraReativaService {
+
+	private LancamentoLeituraRepository lancamentoRepository;
+	private UsuarioLeituraRepository usuarioRepository;
+	
+	public LeituraReativaServiceImpl(LancamentoLeituraRepository lancamentoRepository, UsuarioLeituraRepository usuarioRepository) {
+		this.lancamentoRepository = lancamentoRepository;
+		this.usuarioRepository = usuarioRepository;
+	}
+	
+	@Override
+	public Flux<LancamentoLeitura> buscar(Lancamento lancamentoFiltro) {
+		return lancamentoRepository.buscar(lancamentoFiltro);
+	}
+
+	@Override
+	public Mono<LancamentoLeitura> obterLancamento(Long id) {
+		return lancamentoRepository.findById(id);
+	}
+
+	@Override
+	public Mono<BigDecimal> obterSaldoPorUsuario(Long idUsuario) {
+		return usuarioRepository.existsById(idUsuario)
+				.filter(Boolean::booleanValue)
+				.flatMap(existe -> usuarioRepository.obterSaldo(idUsuario).defaultIfEmpty(BigDecimal.ZERO));
+	}
+}
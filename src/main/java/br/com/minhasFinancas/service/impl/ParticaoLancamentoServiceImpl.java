@@ -0,0 +1,52 @@
+package br.com.minhasFinancas.service.impl;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.service.ParticaoLancamentoService;
+
+@Service
+public class ParticaoLancamentoServiceImpl implements ParticaoLancamentoService {
+
+	private LancamentoRepository repository;
+	private DataSource dataSource;
+	
+	public ParticaoLancamentoServiceImpl(LancamentoRepository repository, DataSource dataSource) {
+		this.repository = repository;
+		this.dataSource = dataSource;
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public boolean estaParticionado() {
+		return BancoDeDados.postgreSql(dataSource) && repository.estaParticionada();
+	}
+
+	@Override
+	@Transactional
+	public int criarParticoes(int anoInicial, int anoFinal) {
+		SortedSet<Integer> anos = new TreeSet<>(repository.buscarAnosSemParticao());
+		for (int ano = anoInicial; ano <= anoFinal; ano++) {
+			anos.add(ano);
+		}
+		int criadas = 0;
+		for (Integer ano : anos) {
+			if (repository.criarParticao(ano)) {
+				criadas++;
+			}
+		}
+		return criadas;
+	}
+
+	@Override
+	@Transactional
+	public int arquivar(int anteriorA) {
+		return repository.arquivarAnteriores(anteriorA);
+	}
+}
@@ -0,0 +1,169 @@
+package br.com.minhasFinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasFinancas.api.dto.ResultadoLoteDTO;
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Recorrencia;
+import br.com.minhasFinancas.model.enums.RegraRecorrencia;
+import br.com.minhasFinancas.model.repository.RecorrenciaRepository;
+import br.com.minhasFinancas.service.LancamentoService;
+import br.com.minhasFinancas.service.RecorrenciaService;
+import br.com.minhasFinancas.service.ResultadoGeracao;
+
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+
+	private RecorrenciaRepository repository;
+	private LancamentoService lancamentoService;
+	
+	public RecorrenciaServiceImpl(RecorrenciaRepository repository, LancamentoService lancamentoService) {
+		this.repository = repository;
+		this.lancamentoService = lancamentoService;
+	}
+
+	@Override
+	@Transactional
+	public Recorrencia salvar(Recorrencia recorrencia) {
+		validar(recorrencia);
+		recorrencia.setGeradas(0);
+		recorrencia.setProximaCompetencia(recorrencia.getCompetenciaInicial());
+		recorrencia.setDataCadastro(LocalDate.now());
+		return repository.save(recorrencia);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Recorrencia> buscarPorUsuario(Long idUsuario) {
+		return repository.findByUsuarioIdOrderById(idUsuario);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Recorrencia> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	@Transactional
+	public Recorrencia encerrar(Recorrencia recorrencia) {
+		recorrencia.setProximaCompetencia(null);
+		return repository.save(recorrencia);
+	}
+
+	@Override
+	public void validar(Recorrencia recorrencia) {
+		if (recorrencia.getDescricao() == null || recorrencia.getDescricao().trim().equals("")) {
+			throw new RegraNegocioException("Informe uma descrição válida.");
+		}
+		if (recorrencia.getUsuario() == null || recorrencia.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		if (recorrencia.getValor() == null || recorrencia.getValor().compareTo(BigDecimal.ZERO) < 1) {
+			throw new RegraNegocioException("Informe um valor válido.");
+		}
+		if (recorrencia.getTipo() == null) {
+			throw new RegraNegocioException("Informe um tipo de lançamento.");
+		}
+		if (recorrencia.getRegra() == null) {
+			throw new RegraNegocioException("Informe uma regra de recorrência.");
+		}
+		if (recorrencia.getRegra() == RegraRecorrencia.PARCELADA
+				&& (recorrencia.getParcelas() == null || recorrencia.getParcelas() < 2)) {
+			throw new RegraNegocioException("Informe ao menos duas parcelas.");
+		}
+		if (recorrencia.getCompetenciaInicial() == null) {
+			throw new RegraNegocioException("Informe o mês e o ano do primeiro lançamento.");
+		}
+		LocalDate hoje = LocalDate.now();
+		if (recorrencia.getCompetenciaInicial() < Recorrencia.competencia(hoje.getYear(), hoje.getMonthValue()) - MESES_RETROATIVOS) {
+			throw new RegraNegocioException("O primeiro lançamento pode ser de no máximo dez anos atrás.");
+		}
+	}
+
+	@Override
+	@Transactional
+	public ResultadoGeracao gerar(int competencia, int particoes, int particao, long aposId, int lote) {
+		List<Recorrencia> recorrencias = repository.buscarAGerar(aposId, competencia, particoes, particao, PageRequest.of(0, lote));
+		if (recorrencias.isEmpty()) {
+			return new ResultadoGeracao(0, 0, aposId);
+		}
+		LocalDate hoje = LocalDate.now();
+		List<Lancamento> lancamentos = new ArrayList<>(recorrencias.size());
+		for (Recorrencia recorrencia : recorrencias) {
+			// uma recorrência parada há meses gera as competências atrasadas aos poucos, para o lote não crescer sem limite
+			for (int meses = 0; meses < MESES_POR_LOTE
+					&& recorrencia.getProximaCompetencia() != null && recorrencia.getProximaCompetencia() <= competencia; meses++) {
+				lancamentos.add(criarLancamento(recorrencia, hoje));
+				avancar(recorrencia);
+			}
+		}
+		// o avanço vai ao banco antes dos inserts: o salvarEmLote limpa o contexto de persistência a
+		// cada bloco, e um conflito de versão aqui desfaz o lote antes de gerar qualquer lançamento
+		repository.flush();
+		
+		// a recorrência já foi avançada: um lançamento recusado desfaz o lote em vez de pular a competência
+		List<ResultadoLoteDTO> resultados = lancamentoService.salvarLote(lancamentos);
+		for (int i = 0; i < resultados.size(); i++) {
+			if (resultados.get(i).getErro() != null) {
+				throw new RegraNegocioException("Lançamento da recorrência " + lancamentos.get(i).getIdRecorrencia()
+						+ " não gerado: " + resultados.get(i).getErro());
+			}
+		}
+		return new ResultadoGeracao(recorrencias.size(), lancamentos.size(), recorrencias.get(recorrencias.size() - 1).getId());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<Long> buscarIdsAGerar(int competencia, int particoes, int particao, long aposId, int lote) {
+		return repository.buscarIdsAGerar(aposId, competencia, particoes, particao, PageRequest.of(0, lote));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long contarPendentes(int competencia) {
+		return repository.countByProximaCompetenciaLessThanEqual(competencia);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public int obterAtraso(int competencia) {
+		Integer maisAntiga = repository.obterProximaCompetenciaMaisAntiga();
+		return maisAntiga == null ? 0 : Math.max(0, competencia - maisAntiga);
+	}
+	
+	private Lancamento criarLancamento(Recorrencia recorrencia, LocalDate hoje) {
+		int competencia = recorrencia.getProximaCompetencia();
+		String descricao = recorrencia.getRegra() == RegraRecorrencia.PARCELADA
+				? recorrencia.getDescricao() + " (" + (recorrencia.getGeradas() + 1) + "/" + recorrencia.getParcelas() + ")"
+				: recorrencia.getDescricao();
+		return Lancamento.builder()
+				.descricao(descricao)
+				.ano(Recorrencia.ano(competencia))
+				.mes(Recorrencia.mes(competencia))
+				.valor(recorrencia.getValor())
+				.tipo(recorrencia.getTipo())
+				.usuario(recorrencia.getUsuario())
+				.dataCadastro(hoje)
+				.idRecorrencia(recorrencia.getId())
+				.build();
+	}
+	
+	private void avancar(Recorrencia recorrencia) {
+		recorrencia.setGeradas(recorrencia.getGeradas() + 1);
+		if (recorrencia.getRegra() == RegraRecorrencia.PARCELADA && recorrencia.getGeradas() >= recorrencia.getParcelas()) {
+			recorrencia.setProximaCompetencia(null);
+		} else {
+			recorrencia.setProximaCompetencia(recorrencia.getProximaCompetencia() + recorrencia.getRegra().getIntervaloMeses());
+		}
+	}
+}
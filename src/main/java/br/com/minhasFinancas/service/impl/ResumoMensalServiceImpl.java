@@ -0,0 +1,101 @@
+package br.com.minhasFinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasFinancas.api.dto.ResumoMensalDTO;
+import br.com.minhasFinancas.model.entity.ResumoMensal;
+import br.com.minhasFinancas.model.entity.ResumoMensalId;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.EventoPendenteRepository;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.ResumoMensalRepository;
+import br.com.minhasFinancas.service.ResumoMensalService;
+import br.com.minhasFinancas.service.eventos.ResumoMensalProjecao;
+
+@Service
+public class ResumoMensalServiceImpl implements ResumoMensalService {
+
+	private ResumoMensalRepository repository;
+	private LancamentoRepository lancamentoRepository;
+	private EventoPendenteRepository eventoPendenteRepository;
+	private DataSource dataSource;
+	
+	public ResumoMensalServiceImpl(ResumoMensalRepository repository, LancamentoRepository lancamentoRepository,
+			EventoPendenteRepository eventoPendenteRepository, DataSource dataSource) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.eventoPendenteRepository = eventoPendenteRepository;
+		this.dataSource = dataSource;
+	}
+	
+	@Override
+	@Transactional // participa da transação do despachante que aplica os eventos
+	public void movimentar(ResumoMensalId id, BigDecimal valor, long quantidade) {
+		if (valor.signum() == 0 && quantidade == 0) {
+			return;
+		}
+		int atualizados = repository.somarAoResumo(id, valor, quantidade);
+		if (atualizados == 0) {
+			repository.save(ResumoMensal.builder().id(id).valor(valor).quantidade(quantidade).build());
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ResumoMensalDTO> obterResumo(Long idUsuario, Integer ano) {
+		// junta as linhas de receita e despesa do mesmo mês e status
+		Map<String, ResumoMensalDTO> resumos = new LinkedHashMap<>();
+		for (ResumoMensal resumo : repository.findByUsuarioEAno(idUsuario, ano)) {
+			ResumoMensalId id = resumo.getId();
+			ResumoMensalDTO dto = resumos.computeIfAbsent(id.getMes() + "-" + id.getStatus(), chave -> ResumoMensalDTO.builder()
+					.mes(id.getMes())
+					.status(id.getStatus().name())
+					.receitas(BigDecimal.ZERO)
+					.despesas(BigDecimal.ZERO)
+					.saldo(BigDecimal.ZERO)
+					.quantidade(0l)
+					.build());
+			if (id.getTipo() == TipoLancamento.RECEITA) {
+				dto.setReceitas(dto.getReceitas().add(resumo.getValor()));
+			} else {
+				dto.setDespesas(dto.getDespesas().add(resumo.getValor()));
+			}
+			dto.setSaldo(dto.getReceitas().subtract(dto.getDespesas()));
+			dto.setQuantidade(dto.getQuantidade() + resumo.getQuantidade());
+		}
+		return new ArrayList<>(resumos.values());
+	}
+
+	@Override
+	@Transactional
+	public int reconstruir() {
+		// com os lançamentos bloqueados nenhum evento novo entra na fila entre a limpeza e o insert ... select,
+		// e um despachante que já leu eventos da fila desfaz o lote ao não encontrá-los para remover
+		if (BancoDeDados.postgreSql(dataSource)) {
+			repository.bloquearParaReconstrucao();
+		}
+		// outra instância pode ter reconstruído enquanto esta esperava o bloqueio
+		if (!precisaReconstruir()) {
+			return 0;
+		}
+		// os eventos ainda na fila já estão nos lançamentos lidos pela reconstrução
+		eventoPendenteRepository.removerPendentes(ResumoMensalProjecao.NOME);
+		return repository.reconstruir();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public boolean precisaReconstruir() {
+		return repository.count() == 0 && lancamentoRepository.count() > 0;
+	}
+
+}
@@ -0,0 +1,105 @@
+package br.com.minhasFinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasFinancas.api.dto.DivergenciaSaldoDTO;
+import br.com.minhasFinancas.model.entity.SaldoUsuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.SaldoCalculado;
+import br.com.minhasFinancas.model.repository.SaldoUsuarioRepository;
+import br.com.minhasFinancas.service.SaldoUsuarioService;
+
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService {
+
+	private SaldoUsuarioRepository repository;
+	private LancamentoRepository lancamentoRepository;
+	
+	public SaldoUsuarioServiceImpl(SaldoUsuarioRepository repository, LancamentoRepository lancamentoRepository) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+	}
+	
+	@Override
+	@Transactional // participa da transação do cadastro do usuário
+	public void criar(Long idUsuario) {
+		repository.save(SaldoUsuario.builder().idUsuario(idUsuario).valor(BigDecimal.ZERO).build());
+	}
+	
+	@Override
+	@Transactional // participa da transação de quem alterou o lançamento
+	public void movimentar(Long idUsuario, BigDecimal valor) {
+		if (idUsuario == null || valor == null || valor.signum() == 0) {
+			return;
+		}
+		int atualizados = repository.somarAoSaldo(idUsuario, valor);
+		// o cadastro e a migração V11 criam a linha de todo usuário; o insert só cobre quem foi gravado
+		// sem passar pelo UsuarioService
+		if (atualizados == 0) {
+			repository.save(SaldoUsuario.builder().idUsuario(idUsuario).valor(valor).build());
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldo(Long idUsuario) {
+		return repository.findById(idUsuario)
+				.map(SaldoUsuario::getValor)
+				.orElse(BigDecimal.ZERO);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<DivergenciaSaldoDTO> verificarSaldos() {
+		Map<Long, BigDecimal> calculados = new HashMap<>();
+		for (SaldoCalculado saldo : lancamentoRepository.calcularSaldos(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO)) {
+			calculados.put(saldo.getIdUsuario(), saldo.getValor());
+		}
+		
+		List<DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+		for (SaldoUsuario saldo : repository.findAll()) {
+			BigDecimal calculado = calculados.getOrDefault(saldo.getIdUsuario(), BigDecimal.ZERO);
+			calculados.remove(saldo.getIdUsuario());
+			if (saldo.getValor().compareTo(calculado) != 0) {
+				divergencias.add(new DivergenciaSaldoDTO(saldo.getIdUsuario(), saldo.getValor(), calculado));
+			}
+		}
+		// usuários com lançamentos efetivados mas ainda sem linha em saldo_usuario
+		calculados.forEach( (idUsuario, calculado) -> {
+			if (calculado.signum() != 0) {
+				divergencias.add(new DivergenciaSaldoDTO(idUsuario, BigDecimal.ZERO, calculado));
+			}
+		});
+		return divergencias;
+	}
+
+	@Override
+	@Transactional
+	public Optional<DivergenciaSaldoDTO> corrigirSaldo(Long idUsuario) {
+		// a divergência de verificarSaldos pode já estar velha: com a linha bloqueada nenhum movimentar
+		// grava no meio, e o recálculo feito depois do bloqueio já enxerga tudo o que foi efetivado antes
+		Optional<SaldoUsuario> gravado = repository.bloquear(idUsuario);
+		BigDecimal calculado = lancamentoRepository.calcularSaldo(idUsuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		BigDecimal valor = gravado.map(SaldoUsuario::getValor).orElse(BigDecimal.ZERO);
+		if (valor.compareTo(calculado) == 0) {
+			return Optional.empty();
+		}
+		if (gravado.isPresent()) {
+			gravado.get().setValor(calculado);
+		} else {
+			repository.save(SaldoUsuario.builder().idUsuario(idUsuario).valor(calculado).build());
+		}
+		return Optional.of(new DivergenciaSaldoDTO(idUsuario, valor, calculado));
+	}
+
+}
@@ -0,0 +1,193 @@
+package br.com.minhasFinancas.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.service.TokenAcesso;
+import br.com.minhasFinancas.service.TokenService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JWT (HS256) assinado com a chave de token.chave. A verificação não consulta o banco: confere a
+ * assinatura, o exp e a lista de revogados, que guarda só o jti de cada token revogado e o descarta
+ * quando o token expiraria de qualquer forma.
+ */
+@Slf4j
+@Service
+public class TokenServiceImpl implements TokenService {
+
+	private static final String HMAC = "HmacSHA256";
+
+	private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+
+	// o cabeçalho é sempre o mesmo, então é comparado como texto em vez de lido (e o alg não vem do cliente)
+	private static final String CABECALHO = BASE64.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private final Mac prototipo;
+	private final Duration validade;
+	private final Clock clock;
+	private final SecureRandom aleatorio = new SecureRandom();
+	private final Cache<Long, Instant> revogados;
+
+	@Autowired
+	public TokenServiceImpl(@Value("${token.chave:}") String chave, @Value("${token.validade-minutos:60}") long validadeMinutos) {
+		this(chave, Duration.ofMinutes(validadeMinutos), Clock.systemUTC());
+	}
+
+	public TokenServiceImpl(String chave, Duration validade, Clock clock) {
+		this.prototipo = iniciarMac(chave);
+		this.validade = validade;
+		this.clock = clock;
+		this.revogados = Caffeine.newBuilder()
+				.expireAfter(new AteExpirar())
+				.build();
+	}
+
+	@Override
+	public TokenAcesso emitir(Usuario usuario) {
+		Instant agora = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+		Instant expiraEm = agora.plus(validade);
+		long id = aleatorio.nextLong();
+
+		Conteudo conteudo = new Conteudo();
+		conteudo.sub = String.valueOf(usuario.getId());
+		conteudo.jti = Long.toUnsignedString(id, 36);
+		conteudo.iat = agora.getEpochSecond();
+		conteudo.exp = expiraEm.getEpochSecond();
+
+		String assinado;
+		try {
+			assinado = CABECALHO + '.' + BASE64.encodeToString(MAPPER.writeValueAsBytes(conteudo));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		String valor = assinado + '.' + BASE64.encodeToString(assinar(assinado));
+		return new TokenAcesso(valor, id, usuario.getId(), expiraEm);
+	}
+
+	@Override
+	public Optional<TokenAcesso> verificar(String valor) {
+		if (valor == null) {
+			return Optional.empty();
+		}
+		int primeiroPonto = valor.indexOf('.');
+		int segundoPonto = valor.lastIndexOf('.');
+		if (primeiroPonto < 0 || primeiroPonto == segundoPonto || !valor.startsWith(CABECALHO + '.')) {
+			return Optional.empty();
+		}
+		try {
+			byte[] assinatura = BASE64_DECODER.decode(valor.substring(segundoPonto + 1));
+			if (!MessageDigest.isEqual(assinatura, assinar(valor.substring(0, segundoPonto)))) {
+				return Optional.empty();
+			}
+			Conteudo conteudo = MAPPER.readValue(BASE64_DECODER.decode(valor.substring(primeiroPonto + 1, segundoPonto)), Conteudo.class);
+			Instant expiraEm = Instant.ofEpochSecond(conteudo.exp);
+			if (!clock.instant().isBefore(expiraEm)) {
+				return Optional.empty();
+			}
+			long id = Long.parseUnsignedLong(conteudo.jti, 36);
+			if (revogados.getIfPresent(id) != null) {
+				return Optional.empty();
+			}
+			return Optional.of(new TokenAcesso(valor, id, Long.valueOf(conteudo.sub), expiraEm));
+		} catch (IllegalArgumentException | IOException e) {
+			// base64, json ou claims inválidos
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public void revogar(TokenAcesso token) {
+		if (clock.instant().isBefore(token.getExpiraEm())) {
+			revogados.put(token.getId(), token.getExpiraEm());
+		}
+	}
+
+	// Mac não é thread-safe; o clone do protótipo já inicializado evita refazer a chave a cada requisição
+	private byte[] assinar(String conteudo) {
+		Mac mac;
+		try {
+			mac = (Mac) prototipo.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+		return mac.doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private static Mac iniciarMac(String chave) {
+		byte[] bytes;
+		if (chave == null || chave.isEmpty()) {
+			bytes = new byte[32];
+			new SecureRandom().nextBytes(bytes);
+			log.warn("token.chave não configurada: usando uma chave aleatória, os tokens não valem após reiniciar nem em outras instâncias");
+		} else {
+			bytes = Base64.getDecoder().decode(chave);
+			if (bytes.length < 32) {
+				throw new IllegalStateException("token.chave deve ter ao menos 256 bits (32 bytes em base64).");
+			}
+		}
+		try {
+			Mac mac = Mac.getInstance(HMAC);
+			mac.init(new SecretKeySpec(bytes, HMAC));
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// claims do JWT: sub é o id do usuário e jti o id do token, usado na revogação
+	private static class Conteudo {
+		@JsonProperty public String sub;
+		@JsonProperty public String jti;
+		@JsonProperty public long iat;
+		@JsonProperty public long exp;
+	}
+
+	// cada revogado fica na lista só até o exp do próprio token
+	private class AteExpirar implements Expiry<Long, Instant> {
+
+		@Override
+		public long expireAfterCreate(Long id, Instant expiraEm, long agora) {
+			return Math.max(0, Duration.between(clock.instant(), expiraEm).toNanos());
+		}
+
+		@Override
+		public long expireAfterUpdate(Long id, Instant expiraEm, long agora, long duracaoAtual) {
+			return duracaoAtual;
+		}
+
+		@Override
+		public long expireAfterRead(Long id, Instant expiraEm, long agora, long duracaoAtual) {
+			return duracaoAtual;
+		}
+	}
+}
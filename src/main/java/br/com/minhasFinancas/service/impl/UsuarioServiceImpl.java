@@ -1,45 +1,86 @@
 package br.com.minhasFinancas.service.impl;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+
+import br.com.minhasFinancas.config.CacheConfiguration;
+import br.com.minhasFinancas.config.SenhaConfiguration;
 import br.com.minhasFinancas.exception.ErroAutenticacao;
 import br.com.minhasFinancas.exception.RegraNegocioException;
 import br.com.minhasFinancas.model.entity.Usuario;
 import br.com.minhasFinancas.model.repository.UsuarioRepository;
+import br.com.minhasFinancas.service.SaldoUsuarioService;
 import br.com.minhasFinancas.service.UsuarioService;
 
 @Service
+@Timed("usuario.service")
 public class UsuarioServiceImpl implements UsuarioService {
 	
 	private UsuarioRepository repository;
+	private PasswordEncoder passwordEncoder;
+	private Executor executorSenhas;
+	private SaldoUsuarioService saldoUsuarioService;
 	
 	@Autowired
-	public UsuarioServiceImpl(UsuarioRepository repository) {
+	public UsuarioServiceImpl(UsuarioRepository repository, PasswordEncoder passwordEncoder,
+			@Qualifier(SenhaConfiguration.EXECUTOR_SENHAS) Executor executorSenhas, SaldoUsuarioService saldoUsuarioService) {
 		super();
 		this.repository = repository;
+		this.passwordEncoder = passwordEncoder;
+		this.executorSenhas = executorSenhas;
+		this.saldoUsuarioService = saldoUsuarioService;
 	}
 
 	@Override
-	public Usuario autenticar(String email, String senha) {
+	public CompletableFuture<Usuario> autenticar(String email, String senha) {
 		Optional<Usuario> usuario = repository.findByEmail(email);
 		if (!usuario.isPresent()) { 
-			throw new ErroAutenticacao("Usuário não encontrado para o email informado.");
+			return CompletableFuture.failedFuture(new ErroAutenticacao("Usuário não encontrado para o email informado."));
+		}
+		try {
+			return CompletableFuture.supplyAsync( () -> conferirSenha(usuario.get(), senha), executorSenhas );
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
 		}
-		if (!usuario.get().getSenha().equals(senha)) {
+	}
+	
+	// roda no executor de senhas: tanto a conferência quanto o hash novo são CPU pura
+	private Usuario conferirSenha(Usuario usuario, String senha) {
+		String gravada = usuario.getSenha();
+		if (!passwordEncoder.matches(senha, gravada)) {
 			throw new ErroAutenticacao("senha inválida");
 		}
-		return usuario.get();
+		if (passwordEncoder.upgradeEncoding(gravada)) {
+			repository.atualizarSenha(usuario.getId(), usuario.getEmail(), passwordEncoder.encode(senha));
+		}
+		return usuario;
 	}
 
 	@Override
 	@Transactional // cria uma transação e commita
+	@Caching( evict = {
+			@CacheEvict( cacheNames = CacheConfiguration.USUARIOS, key = "#result.id" ),
+			@CacheEvict( cacheNames = CacheConfiguration.USUARIOS_POR_EMAIL, key = "#result.email" ) } )
 	public Usuario salvarUsuario(Usuario usuario) {
 		validarEmail(usuario.getEmail());
-		return repository.save(usuario);
+		if (usuario.getSenha() != null) {
+			usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
+		}
+		Usuario usuarioSalvo = repository.save(usuario);
+		saldoUsuarioService.criar(usuarioSalvo.getId());
+		return usuarioSalvo;
 	}
 
 	@Override
@@ -54,5 +95,10 @@ public class UsuarioServiceImpl implements UsuarioService {
 	public Optional<Usuario> finById(Long id) {
 		return repository.findById(id);
 	}
+	
+	@Override
+	public Usuario obterReferencia(Long id) {
+		return repository.getReferenceById(id);
+	}
 
 }
@@ -0,0 +1,25 @@
+package br.com.minhasFinancas.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+
+import br.com.minhasFinancas.exception.RegraNegocioException;
+
+public enum FormatoExtrato {
+
+	CSV,
+	OFX;
+	
+	public LeitorExtrato abrir(Reader reader) {
+		BufferedReader buffered = new BufferedReader(reader);
+		return this == CSV ? new LeitorCsv(buffered) : new LeitorOfx(buffered);
+	}
+	
+	public static FormatoExtrato de(String formato) {
+		try {
+			return valueOf(formato.toUpperCase());
+		} catch (IllegalArgumentException | NullPointerException e) {
+			throw new RegraNegocioException("Formato de extrato inválido, use csv ou ofx.");
+		}
+	}
+}
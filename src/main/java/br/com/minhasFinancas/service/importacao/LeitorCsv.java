@@ -0,0 +1,128 @@
+package br.com.minhasFinancas.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Extrato em CSV com as colunas data, descrição e valor, separadas por ';' ou ','.
+ * Aceita datas em dd/MM/yyyy ou yyyy-MM-dd, valores com vírgula decimal e ignora o cabeçalho.
+ */
+class LeitorCsv implements LeitorExtrato {
+
+	private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT);
+	
+	private final BufferedReader reader;
+	private long numero;
+	private String proxima;
+	
+	LeitorCsv(BufferedReader reader) {
+		this.reader = reader;
+	}
+	
+	@Override
+	public boolean hasNext() {
+		try {
+			while (proxima == null) {
+				String linha = reader.readLine();
+				if (linha == null) {
+					return false;
+				}
+				numero++;
+				if (!linha.trim().isEmpty()) {
+					proxima = linha;
+				}
+			}
+			return true;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public LinhaExtrato next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		String linha = proxima;
+		proxima = null;
+		
+		List<String> colunas = separar(linha);
+		if (colunas.size() < 3) {
+			return LinhaExtrato.builder().numero(numero).erro("Linha com menos de 3 colunas.").build();
+		}
+		LocalDate data;
+		try {
+			data = lerData(colunas.get(0));
+		} catch (DateTimeParseException e) {
+			if (numero == 1) {
+				// cabeçalho
+				return hasNext() ? next() : LinhaExtrato.builder().numero(numero).erro("Extrato vazio.").build();
+			}
+			return LinhaExtrato.builder().numero(numero).erro("Data inválida: " + colunas.get(0)).build();
+		}
+		try {
+			return LinhaExtrato.builder()
+					.numero(numero)
+					.data(data)
+					.descricao(colunas.get(1).trim())
+					.valor(lerValor(colunas.get(2)))
+					.build();
+		} catch (NumberFormatException e) {
+			return LinhaExtrato.builder().numero(numero).erro("Valor inválido: " + colunas.get(2)).build();
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+	
+	private LocalDate lerData(String data) {
+		String texto = data.trim();
+		return texto.contains("/") ? LocalDate.parse(texto, DATA_BR) : LocalDate.parse(texto);
+	}
+	
+	// "1.234,56" e "1234.56" viram 1234.56
+	private BigDecimal lerValor(String valor) {
+		String texto = valor.trim().replace(" ", "");
+		if (texto.contains(",")) {
+			texto = texto.replace(".", "").replace(",", ".");
+		}
+		return new BigDecimal(texto);
+	}
+	
+	// separa pelo primeiro ';' ou ',' fora de aspas, respeitando campos entre aspas
+	private List<String> separar(String linha) {
+		char separador = linha.indexOf(';') >= 0 ? ';' : ',';
+		List<String> colunas = new ArrayList<>();
+		StringBuilder atual = new StringBuilder();
+		boolean entreAspas = false;
+		for (int i = 0; i < linha.length(); i++) {
+			char c = linha.charAt(i);
+			if (c == '"') {
+				if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+					atual.append('"');
+					i++;
+				} else {
+					entreAspas = !entreAspas;
+				}
+			} else if (c == separador && !entreAspas) {
+				colunas.add(atual.toString());
+				atual.setLength(0);
+			} else {
+				atual.append(c);
+			}
+		}
+		colunas.add(atual.toString());
+		return colunas;
+	}
+}
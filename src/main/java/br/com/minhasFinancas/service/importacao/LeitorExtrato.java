@@ -0,0 +1,12 @@
+package br.com.minhasFinancas.service.importacao;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Lê o extrato uma linha por vez, sem carregar o arquivo em memória.
+ * Linhas que não puderam ser interpretadas vêm com o campo erro preenchido.
+ */
+public interface LeitorExtrato extends Iterator<LinhaExtrato>, Closeable {
+
+}
@@ -0,0 +1,141 @@
+package br.com.minhasFinancas.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.NoSuchElementException;
+
+/**
+ * Extrato OFX, tanto 1.x (SGML, sem tags de fechamento) quanto 2.x (XML).
+ * Lê o arquivo como uma sequência de tags e monta um lançamento por bloco STMTTRN.
+ */
+class LeitorOfx implements LeitorExtrato {
+
+	private static final DateTimeFormatter DATA_OFX = DateTimeFormatter.BASIC_ISO_DATE;
+	
+	// limita o texto guardado por tag, para um arquivo malformado não estourar a memória
+	private static final int TAMANHO_MAXIMO_TEXTO = 1024;
+	
+	private final BufferedReader reader;
+	private long numero;
+	private LinhaExtrato proxima;
+	private boolean fim;
+	
+	LeitorOfx(BufferedReader reader) {
+		this.reader = reader;
+	}
+	
+	@Override
+	public boolean hasNext() {
+		if (proxima == null && !fim) {
+			proxima = lerTransacao();
+		}
+		return proxima != null;
+	}
+
+	@Override
+	public LinhaExtrato next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		LinhaExtrato linha = proxima;
+		proxima = null;
+		return linha;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+	
+	private LinhaExtrato lerTransacao() {
+		try {
+			String tag;
+			while ((tag = lerTag()) != null && !tag.equals("STMTTRN")) {
+				// lerTag já descarta o texto das tags fora da transação
+			}
+			if (tag == null) {
+				fim = true;
+				return null;
+			}
+			numero++;
+			
+			String data = null;
+			String valor = null;
+			String identificador = null;
+			String nome = null;
+			String memo = null;
+			while ((tag = lerTag()) != null && !tag.equals("/STMTTRN")) {
+				String texto = lerTexto();
+				switch (tag) {
+				case "DTPOSTED": data = texto; break;
+				case "TRNAMT": valor = texto; break;
+				case "FITID": identificador = texto; break;
+				case "NAME": nome = texto; break;
+				case "MEMO": memo = texto; break;
+				default: break;
+				}
+			}
+			
+			LinhaExtrato linha = LinhaExtrato.builder()
+					.numero(numero)
+					.identificador(identificador)
+					.descricao(memo != null && !memo.isEmpty() ? memo : nome)
+					.build();
+			try {
+				// DTPOSTED vem como yyyyMMdd seguido ou não de hora e fuso
+				linha.setData(LocalDate.parse(data.substring(0, 8), DATA_OFX));
+			} catch (DateTimeParseException | NullPointerException | StringIndexOutOfBoundsException e) {
+				linha.setErro("Data inválida: " + data);
+				return linha;
+			}
+			try {
+				linha.setValor(new BigDecimal(valor.replace(",", ".")));
+			} catch (NumberFormatException | NullPointerException e) {
+				linha.setErro("Valor inválido: " + valor);
+			}
+			return linha;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	// próxima tag, sem os sinais < e >; null no fim do arquivo
+	private String lerTag() throws IOException {
+		int c;
+		while ((c = reader.read()) != -1 && c != '<') {
+			// texto fora de tag, por exemplo o cabeçalho OFX 1.x
+		}
+		if (c == -1) {
+			return null;
+		}
+		StringBuilder tag = new StringBuilder();
+		while ((c = reader.read()) != -1 && c != '>') {
+			if (tag.length() < TAMANHO_MAXIMO_TEXTO) {
+				tag.append((char) c);
+			}
+		}
+		return tag.toString().trim().toUpperCase();
+	}
+	
+	// texto até a próxima tag, sem consumi-la
+	private String lerTexto() throws IOException {
+		StringBuilder texto = new StringBuilder();
+		reader.mark(1);
+		int c;
+		while ((c = reader.read()) != -1 && c != '<') {
+			if (texto.length() < TAMANHO_MAXIMO_TEXTO) {
+				texto.append((char) c);
+			}
+			reader.mark(1);
+		}
+		if (c == '<') {
+			reader.reset();
+		}
+		return texto.toString().trim();
+	}
+}
@@ -0,0 +1,24 @@
+package br.com.minhasFinancas.service.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// um lançamento lido do extrato; valor negativo é débito
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinhaExtrato {
+
+	private long numero;
+	private LocalDate data;
+	private BigDecimal valor;
+	private String descricao;
+	private String identificador;
+	private String erro;
+}
@@ -0,0 +1,11 @@
+-- a fila das projeções passa a ser dividida pelo usuário do lançamento: as linhas de resumo_mensal de um
+-- usuário ficam com um único despachante, que não disputa o insert da mesma linha com outro
+alter table financas.evento_pendente add column id_usuario bigint;
+
+-- pendentes de lançamentos que já não estão na tabela continuam divididos pelo id do lançamento
+update financas.evento_pendente
+set id_usuario = coalesce(
+	(select l.id_usuario from financas.lancamento l where l.id = financas.evento_pendente.id_lancamento),
+	id_lancamento);
+
+alter table financas.evento_pendente alter column id_usuario set not null;
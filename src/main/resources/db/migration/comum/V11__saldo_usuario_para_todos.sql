@@ -0,0 +1,6 @@
+-- todo usuário passa a ter a linha de saldo desde o cadastro, para que as primeiras escritas
+-- concorrentes de um usuário novo só somem ao saldo em vez de disputarem o insert da linha
+insert into financas.saldo_usuario (id_usuario, valor)
+select u.id, 0
+from financas.usuario u
+where not exists (select 1 from financas.saldo_usuario s where s.id_usuario = u.id);
@@ -0,0 +1,30 @@
+-- ids de lançamento pela sequence, para o Hibernate gravar em batch; o incremento é o allocationSize do
+-- Lancamento (50 ids reservados por chamada). A coluna continua aceitando o id informado no insert
+create sequence financas.lancamento_seq start with 1 increment by 50;
+
+-- hash do conteúdo da linha do extrato, para a reimportação não duplicar lançamentos
+alter table financas.lancamento add column hash_importacao varchar(64);
+
+create table financas.saldo_usuario (
+	id_usuario bigint primary key references financas.usuario (id),
+	valor numeric(16, 2)
+);
+
+-- saldo dos lançamentos que já existiam; daqui em diante é mantido a cada escrita de lançamento
+insert into financas.saldo_usuario (id_usuario, valor)
+select id_usuario, sum(case when tipo = 'RECEITA' then valor else -valor end)
+from financas.lancamento
+where status = 'EFETIVADO' and id_usuario is not null and valor is not null
+group by id_usuario;
+
+-- preenchida na subida pelo ReconstrucaoResumoMensalJob enquanto estiver vazia
+create table financas.resumo_mensal (
+	id_usuario bigint not null,
+	ano integer not null,
+	mes integer not null,
+	tipo varchar(20) not null,
+	status varchar(20) not null,
+	valor numeric(16, 2),
+	quantidade bigint,
+	primary key (id_usuario, ano, mes, tipo, status)
+);
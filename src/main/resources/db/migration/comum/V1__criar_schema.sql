@@ -0,0 +1,22 @@
+-- schema como era criado pelo Hibernate até a adoção das migrações, sem nenhuma alteração posterior
+-- bancos que já existiam começam a partir daqui (spring.flyway.baseline-version=1) e recebem a V1.1 em diante
+create schema if not exists financas;
+
+create table financas.usuario (
+	id bigint generated by default as identity primary key,
+	nome varchar(150),
+	email varchar(100),
+	senha varchar(255)
+);
+
+create table financas.lancamento (
+	id bigint generated by default as identity primary key,
+	descricao varchar(255),
+	mes integer,
+	ano integer,
+	id_usuario bigint references financas.usuario (id),
+	valor numeric(16, 2),
+	data_cadastro timestamp,
+	tipo varchar(20),
+	status varchar(20)
+);
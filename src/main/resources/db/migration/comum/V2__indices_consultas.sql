@@ -0,0 +1,11 @@
+-- buscar e a paginação filtram sempre por usuário, ano e mês
+create index idx_lancamento_usuario_ano_mes on financas.lancamento (id_usuario, ano, mes);
+
+-- deduplicação da importação de extratos
+create index idx_lancamento_usuario_hash on financas.lancamento (id_usuario, hash_importacao);
+
+-- existsByEmail e findByEmail por índice; também impede dois cadastros simultâneos com o mesmo email
+create unique index ux_usuario_email on financas.usuario (email);
+
+-- obterSaldoPorTipoLancamentoEUsuario e calcularSaldos: filtro e soma resolvidos só no índice
+create index idx_lancamento_usuario_tipo_status_valor on financas.lancamento (id_usuario, tipo, status, valor);
@@ -0,0 +1,22 @@
+-- jornal das alterações de lançamentos, gravado na mesma transação da alteração
+create sequence financas.evento_lancamento_seq start with 1 increment by 50;
+
+create table financas.evento_lancamento (
+	id bigint primary key,
+	id_lancamento bigint not null,
+	anterior varchar(1000),
+	atual varchar(1000),
+	registrado_em timestamp not null
+);
+
+create index idx_evento_lancamento_registrado on financas.evento_lancamento (registrado_em);
+
+-- fila de cada projeção: a linha sai na mesma transação em que a projeção aplica o evento
+create table financas.evento_pendente (
+	projecao varchar(50) not null,
+	id_evento bigint not null references financas.evento_lancamento (id),
+	id_lancamento bigint not null,
+	primary key (projecao, id_evento)
+);
+
+create index idx_evento_pendente_evento on financas.evento_pendente (id_evento);
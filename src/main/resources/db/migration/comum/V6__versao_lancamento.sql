@@ -0,0 +1,2 @@
+-- versão para o lock otimista: cada escrita confere a versão lida e a incrementa
+alter table financas.lancamento add column versao bigint default 0 not null;
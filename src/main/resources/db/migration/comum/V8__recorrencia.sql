@@ -0,0 +1,27 @@
+-- modelos dos lançamentos que se repetem (aluguel, assinaturas, compras parceladas); as competências
+-- são contadas em meses (ano * 12 + mes - 1) e proxima_competencia é nula quando a recorrência acabou
+create sequence financas.recorrencia_seq start with 1 increment by 50;
+
+create table financas.recorrencia (
+	id bigint primary key,
+	id_usuario bigint not null references financas.usuario (id),
+	descricao varchar(255),
+	valor numeric(16, 2),
+	tipo varchar(20),
+	regra varchar(20) not null,
+	parcelas integer,
+	geradas integer default 0 not null,
+	competencia_inicial integer not null,
+	proxima_competencia integer,
+	data_cadastro timestamp,
+	versao bigint default 0 not null
+);
+
+create index idx_recorrencia_usuario on financas.recorrencia (id_usuario);
+
+-- contagem e atraso das recorrências a gerar, sem ler as encerradas
+create index idx_recorrencia_proxima on financas.recorrencia (proxima_competencia);
+
+-- no máximo um lançamento por recorrência e mês, mesmo que a geração de um lote rode de novo
+alter table financas.lancamento add column id_recorrencia bigint;
+create unique index ux_lancamento_recorrencia on financas.lancamento (id_recorrencia, ano, mes);
@@ -0,0 +1,4 @@
+-- bancos que já existiam têm ids gerados pela identity: a sequence começa depois deles, com folga de um
+-- bloco do allocationSize, e a identity deixa de ser usada
+alter table financas.lancamento alter column id drop identity if exists;
+select setval('financas.lancamento_seq', coalesce(max(id), 0) + 50) from financas.lancamento;
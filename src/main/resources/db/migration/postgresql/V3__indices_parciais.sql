@@ -0,0 +1,11 @@
+-- índices que só o PostgreSQL tem; no H2 esta pasta não é lida (spring.flyway.locations usa {vendor})
+
+-- lançamentos pendentes são poucos e consultados à parte dos efetivados
+create index idx_lancamento_pendente on financas.lancamento (id_usuario, ano, mes) where status = 'PENDENTE';
+
+-- só os efetivados entram no saldo: índice menor que o de (id_usuario, tipo, status, valor)
+create index idx_lancamento_efetivado_saldo on financas.lancamento (id_usuario, tipo) include (valor) where status = 'EFETIVADO';
+
+-- busca por descrição com like '%texto%' em lower(descricao), feita por LancamentoSpecifications
+create extension if not exists pg_trgm;
+create index idx_lancamento_descricao_trgm on financas.lancamento using gin (lower(descricao) gin_trgm_ops);
@@ -0,0 +1,122 @@
+-- lancamento particionado por faixa de ano: as consultas com ano (buscar, paginação, exportação)
+-- leem só a partição do ano, e vacuum e índices trabalham em tabelas do tamanho de um ano
+alter table financas.lancamento rename to lancamento_sem_particao;
+
+-- a chave primária de uma tabela particionada precisa conter a coluna de partição
+create table financas.lancamento (
+	id bigint not null,
+	descricao varchar(255),
+	mes integer,
+	ano integer not null,
+	id_usuario bigint references financas.usuario (id),
+	valor numeric(16, 2),
+	data_cadastro timestamp,
+	tipo varchar(20),
+	status varchar(20),
+	hash_importacao varchar(64),
+	primary key (id, ano)
+) partition by range (ano);
+
+-- recebe os anos que ainda não têm partição; o ParticaoLancamentoJob move essas linhas para a partição do ano
+create table financas.lancamento_padrao partition of financas.lancamento default;
+
+-- anos arquivados: uma única partição de minvalue até o primeiro ano ativo, gravada uma vez em ordem
+-- física de (id_usuario, ano, mes) e sem espaço livre por página, já que quase não recebe alterações
+create table financas.lancamento_arquivo (like financas.lancamento including defaults) with (fillfactor = 100);
+
+-- primeiro ano fora do arquivo, nulo enquanto nada foi arquivado
+create function financas.limite_arquivo_lancamento() returns integer
+language sql stable as $$
+	select substring(pg_get_expr(c.relpartbound, c.oid) from 'TO \((-?\d+)\)')::integer
+	from pg_class c
+	join pg_inherits i on i.inhrelid = c.oid
+	where c.oid = 'financas.lancamento_arquivo'::regclass and i.inhparent = 'financas.lancamento'::regclass
+$$;
+
+-- cria a partição do ano movendo para ela as linhas do ano que estavam na partição padrão
+create function financas.criar_particao_lancamento(p_ano integer) returns boolean
+language plpgsql as $$
+declare
+	v_particao text := 'lancamento_' || p_ano;
+begin
+	if to_regclass('financas.' || v_particao) is not null or p_ano < financas.limite_arquivo_lancamento() then
+		return false;
+	end if;
+	create temporary table lancamento_movido (like financas.lancamento);
+	with movidos as (delete from financas.lancamento_padrao where ano = p_ano returning *)
+	insert into lancamento_movido select * from movidos;
+	execute format('create table financas.%I partition of financas.lancamento for values from (%s) to (%s)',
+		v_particao, p_ano, p_ano + 1);
+	insert into financas.lancamento select * from lancamento_movido;
+	drop table lancamento_movido;
+	return true;
+end $$;
+
+-- passa para lancamento_arquivo as partições (e as linhas da partição padrão) dos anos anteriores a p_anterior_a;
+-- o arquivo continua anexado a lancamento, então buscar e os saldos continuam lendo esses anos
+create function financas.arquivar_lancamentos(p_anterior_a integer) returns integer
+language plpgsql as $$
+declare
+	v_limite integer;
+	v_particao record;
+	v_linhas integer;
+	v_total integer := 0;
+begin
+	v_limite := financas.limite_arquivo_lancamento();
+	if v_limite is not null and p_anterior_a <= v_limite then
+		return 0;
+	end if;
+	if v_limite is not null then
+		alter table financas.lancamento detach partition financas.lancamento_arquivo;
+	end if;
+	alter table financas.lancamento_arquivo drop constraint if exists lancamento_arquivo_faixa;
+	
+	for v_particao in
+		select c.relname
+		from pg_inherits i
+		join pg_class c on c.oid = i.inhrelid
+		where i.inhparent = 'financas.lancamento'::regclass
+		and c.relname ~ '^lancamento_\d+$'
+		and substring(c.relname from '^lancamento_(\d+)$')::integer < p_anterior_a
+		order by c.relname
+	loop
+		execute format('alter table financas.lancamento detach partition financas.%I', v_particao.relname);
+		execute format('insert into financas.lancamento_arquivo select * from financas.%I order by id_usuario, ano, mes',
+			v_particao.relname);
+		get diagnostics v_linhas = row_count;
+		v_total := v_total + v_linhas;
+		execute format('drop table financas.%I', v_particao.relname);
+	end loop;
+	
+	with movidos as (delete from financas.lancamento_padrao where ano < p_anterior_a returning *)
+	insert into financas.lancamento_arquivo select * from movidos;
+	get diagnostics v_linhas = row_count;
+	v_total := v_total + v_linhas;
+	
+	-- com a restrição igual à faixa, o attach não precisa varrer o arquivo para validá-lo
+	execute format('alter table financas.lancamento_arquivo add constraint lancamento_arquivo_faixa check (ano is not null and ano < %s)',
+		p_anterior_a);
+	execute format('alter table financas.lancamento attach partition financas.lancamento_arquivo for values from (minvalue) to (%s)',
+		p_anterior_a);
+	return v_total;
+end $$;
+
+-- uma partição para cada ano que já tem lançamentos e para o ano atual
+select financas.criar_particao_lancamento(ano)
+from (select distinct ano from financas.lancamento_sem_particao where ano is not null
+		union
+		select extract(year from current_date)::integer) anos;
+
+insert into financas.lancamento (id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status, hash_importacao)
+select id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status, hash_importacao
+from financas.lancamento_sem_particao;
+
+drop table financas.lancamento_sem_particao;
+
+-- índices criados no pai depois da carga; o PostgreSQL cria um igual em cada partição, inclusive nas futuras
+create index idx_lancamento_usuario_ano_mes on financas.lancamento (id_usuario, ano, mes);
+create index idx_lancamento_usuario_hash on financas.lancamento (id_usuario, hash_importacao);
+create index idx_lancamento_usuario_tipo_status_valor on financas.lancamento (id_usuario, tipo, status, valor);
+create index idx_lancamento_pendente on financas.lancamento (id_usuario, ano, mes) where status = 'PENDENTE';
+create index idx_lancamento_efetivado_saldo on financas.lancamento (id_usuario, tipo) include (valor) where status = 'EFETIVADO';
+create index idx_lancamento_descricao_trgm on financas.lancamento using gin (lower(descricao) gin_trgm_ops);
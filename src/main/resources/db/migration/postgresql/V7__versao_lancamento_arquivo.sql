@@ -0,0 +1,9 @@
+-- enquanto não está anexada, lancamento_arquivo não recebe a coluna nova de lancamento (V6) e
+-- precisa dela para ser anexada pelo arquivar_lancamentos
+do $$
+begin
+	if not exists (select 1 from information_schema.columns
+			where table_schema = 'financas' and table_name = 'lancamento_arquivo' and column_name = 'versao') then
+		alter table financas.lancamento_arquivo add column versao bigint default 0 not null;
+	end if;
+end $$;
@@ -0,0 +1,8 @@
+-- como em V7: lancamento_arquivo precisa da coluna nova de lancamento (V8) para ser anexada
+do $$
+begin
+	if not exists (select 1 from information_schema.columns
+			where table_schema = 'financas' and table_name = 'lancamento_arquivo' and column_name = 'id_recorrencia') then
+		alter table financas.lancamento_arquivo add column id_recorrencia bigint;
+	end if;
+end $$;
@@ -0,0 +1,136 @@
+package br.com.minhasFinancas.api.resourse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.EventoLancamentoRepository;
+import br.com.minhasFinancas.model.repository.EventoPendenteRepository;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.SaldoUsuarioRepository;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+import br.com.minhasFinancas.service.SaldoUsuarioService;
+import br.com.minhasFinancas.service.TokenService;
+
+/**
+ * Fechamento de um mês com milhares de lançamentos: as instruções SQL não podem crescer uma por
+ * lançamento, só os inserts do jornal de eventos, que vão em batch.
+ */
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@SpringBootTest(properties = "eventos.despacho.intervalo-ms=3600000")
+@AutoConfigureMockMvc
+public class FechamentoResourseTest {
+
+	static final String API = "/api/usuarios";
+
+	static final int LANCAMENTOS = 2000;
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	LancamentoRepository repository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@Autowired
+	EventoPendenteRepository eventoPendenteRepository;
+
+	@Autowired
+	EventoLancamentoRepository eventoLancamentoRepository;
+
+	@Autowired
+	SaldoUsuarioService saldoUsuarioService;
+
+	@Autowired
+	TokenService tokenService;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	Usuario usuario;
+
+	String token;
+
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("fechamento@email.com").senha("senha").build());
+		List<Lancamento> lancamentos = new ArrayList<>(LANCAMENTOS);
+		for (int i = 0; i < LANCAMENTOS; i++) {
+			lancamentos.add(Lancamento.builder()
+					.descricao("lancamento " + i)
+					.mes(3)
+					.ano(2024)
+					.valor(BigDecimal.ONE)
+					.tipo(i % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+					.status(StatusLancamento.PENDENTE)
+					.dataCadastro(LocalDate.now())
+					.usuario(usuario)
+					.build());
+		}
+		// um já efetivado, que o fechamento não conta de novo no saldo
+		lancamentos.get(0).setStatus(StatusLancamento.EFETIVADO);
+		repository.saveAll(lancamentos);
+		token = "Bearer " + tokenService.emitir(usuario).getValor();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		eventoPendenteRepository.deleteAllInBatch();
+		eventoLancamentoRepository.deleteAllInBatch();
+		saldoUsuarioRepository.deleteAllInBatch();
+		repository.deleteAllInBatch();
+		usuarioRepository.deleteAll();
+	}
+
+	@Test
+	public void deveFecharOMesSemUmaInstrucaoPorLancamento() throws Exception {
+		//cenário
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		//execução
+		mvc.perform( MockMvcRequestBuilders.post( API + "/" + usuario.getId() + "/fechamento?ano=2024&mes=3" )
+				.header(HttpHeaders.AUTHORIZATION, token) )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("alterados").value(LANCAMENTOS - 1) )
+			.andExpect( MockMvcResultMatchers.jsonPath("receitas").value(LANCAMENTOS / 2 - 1) )
+			.andExpect( MockMvcResultMatchers.jsonPath("despesas").value(LANCAMENTOS / 2) )
+			.andExpect( MockMvcResultMatchers.jsonPath("valorMovimentado").value(-1) );
+
+		//verificação
+		Assertions.assertThat(statistics.getPrepareStatementCount()).isLessThan(LANCAMENTOS / 10);
+		Assertions.assertThat(statistics.getEntityUpdateCount()).isZero();
+		Assertions.assertThat(saldoUsuarioService.obterSaldo(usuario.getId())).isEqualByComparingTo(BigDecimal.valueOf(-1));
+		Assertions.assertThat(repository.findAll()).extracting(Lancamento::getStatus).containsOnly(StatusLancamento.EFETIVADO);
+	}
+}
@@ -0,0 +1,136 @@
+package br.com.minhasFinancas.api.resourse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+import br.com.minhasFinancas.service.TokenService;
+
+/**
+ * Conta as instruções SQL de cada consulta de lançamentos pelas estatísticas do Hibernate,
+ * para que um N+1 ou um join a mais com usuario apareça como falha de teste.
+ */
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+// sem o despacho de eventos rodando em segundo plano durante a contagem de statements
+@SpringBootTest(properties = "eventos.despacho.intervalo-ms=3600000")
+@AutoConfigureMockMvc
+public class LancamentoConsultasResourseTest {
+
+	static final String API = "/api/lancamentos";
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	LancamentoRepository repository;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	TokenService tokenService;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	Statistics statistics;
+	
+	Usuario usuario;
+	
+	String token;
+	
+	Lancamento lancamento;
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("consultas@email.com").senha("senha").build());
+		for (int mes = 1; mes <= 3; mes++) {
+			lancamento = repository.save(Lancamento.builder()
+					.descricao("lancamento " + mes)
+					.mes(mes)
+					.ano(2024)
+					.valor(BigDecimal.TEN)
+					.tipo(TipoLancamento.DESPESA)
+					.status(StatusLancamento.PENDENTE)
+					.dataCadastro(LocalDate.now())
+					.usuario(usuario)
+					.build());
+		}
+		token = "Bearer " + tokenService.emitir(usuario).getValor();
+		
+		// a primeira requisição inicializa o que é preparado só no primeiro uso, fora da contagem
+		mvc.perform( MockMvcRequestBuilders.get( API + "?usuario=" + usuario.getId() ).header(HttpHeaders.AUTHORIZATION, token) );
+		
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		entityManagerFactory.getCache().evictAll();
+		statistics.clear();
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		repository.deleteAll();
+		usuarioRepository.deleteAll();
+	}
+	
+	@Test
+	public void deveBuscarOsLancamentosComUmaUnicaConsulta() throws Exception {
+		//execução
+		mvc.perform( MockMvcRequestBuilders.get( API + "?usuario=" + usuario.getId() ).header(HttpHeaders.AUTHORIZATION, token) )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("$.length()").value(3) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[0].usuario").value(usuario.getId()) );
+		
+		//verificação
+		Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+	
+	@Test
+	public void deveObterOLancamentoSemCarregarOUsuario() throws Exception {
+		//execução
+		mvc.perform( MockMvcRequestBuilders.get( API + "/" + lancamento.getId() ).header(HttpHeaders.AUTHORIZATION, token) )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("usuario").value(usuario.getId()) );
+		
+		//verificação
+		Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		Assertions.assertThat(statistics.getEntityStatistics(Usuario.class.getName()).getLoadCount()).isZero();
+	}
+	
+	@Test
+	public void deveBuscarAPaginaSemCarregarOsUsuarios() throws Exception {
+		//execução
+		mvc.perform( MockMvcRequestBuilders.get( API + "/pagina?usuario=" + usuario.getId() ).header(HttpHeaders.AUTHORIZATION, token) )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("lancamentos.length()").value(3) );
+		
+		//verificação
+		Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		Assertions.assertThat(statistics.getEntityStatistics(Usuario.class.getName()).getLoadCount()).isZero();
+	}
+}
@@ -0,0 +1,272 @@
+package br.com.minhasFinancas.api.resourse;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import br.com.minhasFinancas.api.dto.LancamentoDTO;
+import br.com.minhasFinancas.api.dto.ResultadoLoteDTO;
+import br.com.minhasFinancas.api.resource.LancamentoResource;
+import br.com.minhasFinancas.config.FiltroToken;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.service.LancamentoService;
+import br.com.minhasFinancas.service.UsuarioService;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@WebMvcTest( controllers = LancamentoResource.class )
+@AutoConfigureMockMvc
+public class LancamentoResourseTest {
+
+	static final String API = "/api/lancamentos";
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@MockBean
+	LancamentoService service;
+	
+	@MockBean
+	UsuarioService usuarioService;
+	
+	@Test
+	public void deveSalvarUmLoteEmNdjsonBuscandoOUsuarioUmaVez() throws Exception {
+		String lote = "{\"descricao\":\"aluguel\",\"mes\":1,\"ano\":2020,\"valor\":10,\"usuario\":1,\"tipo\":\"DESPESA\"}\n"
+				+ "{\"descricao\":\"salário\",\"mes\":1,\"ano\":2020,\"valor\":20,\"usuario\":1,\"tipo\":\"RECEITA\"}\n"
+				+ "{\"descricao\":\"inválido\",\"mes\":1,\"ano\":2020,\"valor\":20,\"usuario\":1,\"tipo\":\"OUTRO\"}\n";
+		
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(Usuario.builder().id(1l).build()) );
+		Mockito.when( service.salvarLote(Mockito.anyList()) ).thenReturn( Arrays.asList(
+				ResultadoLoteDTO.builder().id(10l).build(), ResultadoLoteDTO.builder().id(11l).build() ) );
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API.concat("/lote") )
+				.contentType( MediaType.parseMediaType("application/x-ndjson") )
+				.content( lote );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("[0].linha").value(1) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[0].id").value(10) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[1].id").value(11) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[2].linha").value(3) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[2].erro").exists() );
+		
+		Mockito.verify( usuarioService, Mockito.times(1) ).finById(1l);
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deveSalvarUmLoteEnviadoComoArrayJson() throws Exception {
+		String lote = "[{\"descricao\":\"aluguel\",\"mes\":1,\"ano\":2020,\"valor\":10,\"usuario\":1,\"tipo\":\"DESPESA\"},"
+				+ "{\"descricao\":\"conta\",\"mes\":1,\"ano\":2020,\"valor\":10,\"usuario\":2,\"tipo\":\"DESPESA\"}]";
+		
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(Usuario.builder().id(1l).build()) );
+		Mockito.when( usuarioService.finById(2l) ).thenReturn( Optional.empty() );
+		Mockito.when( service.salvarLote(Mockito.anyList()) ).thenReturn( Arrays.asList( ResultadoLoteDTO.builder().id(10l).build() ) );
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API.concat("/lote") )
+				.contentType( MediaType.APPLICATION_JSON )
+				.content( lote );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("[0].id").value(10) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[1].erro").value("Usuário não encontra para o id informado.") );
+		
+		ArgumentCaptor<List<Lancamento>> bloco = ArgumentCaptor.forClass(List.class);
+		Mockito.verify( service ).salvarLote( bloco.capture() );
+		Assertions.assertThat( bloco.getValue() ).hasSize(1);
+	}
+	
+	@Test
+	public void deveRetornarBadRequestParaLoteMalFormado() throws Exception {
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API.concat("/lote") )
+				.contentType( MediaType.APPLICATION_JSON )
+				.content( "[{\"descricao\":" );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isBadRequest() );
+	}
+	
+	@Test
+	public void deveSalvarAsLinhasAnterioresEInformarALinhaIlegivel() throws Exception {
+		String lote = "{\"descricao\":\"aluguel\",\"mes\":1,\"ano\":2020,\"valor\":10,\"usuario\":1,\"tipo\":\"DESPESA\"}\n"
+				+ "{\"descricao\":\"salário\",\"mes\":1,\"ano\":2020,\"valor\":20,\"usuario\":1,\"tipo\":\"RECEITA\"}\n"
+				+ "{\"descricao\": \n"
+				+ "{\"descricao\":\"não lido\",\"mes\":1,\"ano\":2020,\"valor\":20,\"usuario\":1,\"tipo\":\"RECEITA\"}\n";
+		
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(Usuario.builder().id(1l).build()) );
+		Mockito.when( service.salvarLote(Mockito.anyList()) ).thenReturn( Arrays.asList(
+				ResultadoLoteDTO.builder().id(10l).build(), ResultadoLoteDTO.builder().id(11l).build() ) );
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API.concat("/lote") )
+				.contentType( MediaType.parseMediaType("application/x-ndjson") )
+				.content( lote );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isMultiStatus() )
+			.andExpect( MockMvcResultMatchers.jsonPath("length()").value(3) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[0].id").value(10) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[1].id").value(11) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[2].linha").value(3) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[2].erro").value(Matchers.startsWith("Não foi possível ler o lote")) );
+		
+		Mockito.verify( service, Mockito.times(1) ).salvarLote(Mockito.anyList());
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deveExportarOsLancamentosEmCsv() throws Exception {
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(usuario) );
+		Mockito.doAnswer( invocacao -> {
+			Consumer<Lancamento> consumidor = invocacao.getArgument(1);
+			consumidor.accept( Lancamento.builder().id(7l).descricao("aluguel").mes(1).ano(2020).valor(BigDecimal.TEN)
+					.tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE).usuario(usuario).build() );
+			return null;
+		}).when( service ).percorrer( Mockito.any(Lancamento.class), Mockito.any(Consumer.class) );
+		
+		MvcResult resultado = mvc.perform( MockMvcRequestBuilders.get( API.concat("/export?usuario=1&formato=csv&ano=2020") ) )
+			.andExpect( MockMvcResultMatchers.request().asyncStarted() )
+			.andReturn();
+		
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"lancamentos.csv\"") )
+			.andExpect( MockMvcResultMatchers.content().string(Matchers.endsWith("7;aluguel;1;2020;10;DESPESA;PENDENTE\r\n")) );
+		
+		ArgumentCaptor<Lancamento> filtro = ArgumentCaptor.forClass(Lancamento.class);
+		Mockito.verify( service ).percorrer( filtro.capture(), Mockito.any(Consumer.class) );
+		Assertions.assertThat( filtro.getValue().getAno() ).isEqualTo(2020);
+	}
+	
+	@Test
+	public void deveRetornarConflitoQuandoAVersaoDoStatusEstiverDesatualizada() throws Exception {
+		Mockito.when( service.obterPorId(1l) ).thenReturn( Optional.of(criarLancamento(1l, 1l)) );
+		Mockito.when( service.atualizarStatus(1l, 2l, StatusLancamento.EFETIVADO) )
+			.thenThrow( new OptimisticLockingFailureException("alterado por outra operação") );
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.put( API.concat("/1/atualiza-status") )
+				.contentType( MediaType.APPLICATION_JSON )
+				.content( "{\"status\":\"EFETIVADO\",\"versao\":2}" );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isConflict() );
+	}
+	
+	@Test
+	public void deveRetornarBadRequestParaFormatoDeExportacaoInvalido() throws Exception {
+		MvcResult resultado = mvc.perform( MockMvcRequestBuilders.get( API.concat("/export?usuario=1&formato=pdf") ) ).andReturn();
+		
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) )
+			.andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		
+		Mockito.verifyNoInteractions( service );
+	}
+	
+	@Test
+	public void deveRetornarBadRequestParaTipoInvalido() throws Exception {
+		//cenário
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(Usuario.builder().id(1l).build()) );
+		
+		//execução e verificação
+		mvc.perform( MockMvcRequestBuilders.get( API.concat("?usuario=1&tipo=OUTRO") ) )
+			.andExpect( MockMvcResultMatchers.status().isBadRequest() )
+			.andExpect( MockMvcResultMatchers.content().string("Tipo de lançamento inválido, use RECEITA ou DESPESA.") );
+		mvc.perform( MockMvcRequestBuilders.get( API.concat("/pagina?usuario=1&tipo=OUTRO") ) )
+			.andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		mvc.perform( MockMvcRequestBuilders.get( API.concat("/stream?usuario=1&tipo=OUTRO") ) )
+			.andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		mvc.perform( MockMvcRequestBuilders.post( API ).contentType( MediaType.APPLICATION_JSON )
+				.content( "{\"descricao\":\"aluguel\",\"mes\":1,\"ano\":2020,\"valor\":10,\"usuario\":1,\"tipo\":\"OUTRO\"}" ) )
+			.andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		
+		Mockito.verifyNoInteractions( service );
+	}
+	
+	@Test
+	public void naoDeveAlterarNemExcluirLancamentoDeOutroUsuario() throws Exception {
+		Mockito.when( service.obterPorId(5l) ).thenReturn( Optional.of(criarLancamento(5l, 2l)) );
+		String lancamento = "{\"descricao\":\"aluguel\",\"mes\":1,\"ano\":2020,\"valor\":10,\"usuario\":1,\"tipo\":\"DESPESA\"}";
+		
+		mvc.perform( MockMvcRequestBuilders.put( API.concat("/5/atualiza-status") )
+				.requestAttr( FiltroToken.USUARIO_AUTENTICADO, 1l )
+				.contentType( MediaType.APPLICATION_JSON )
+				.content( "{\"status\":\"EFETIVADO\"}" ) )
+			.andExpect( MockMvcResultMatchers.status().isForbidden() );
+		mvc.perform( MockMvcRequestBuilders.put( API.concat("/atualizar/5") )
+				.requestAttr( FiltroToken.USUARIO_AUTENTICADO, 1l )
+				.contentType( MediaType.APPLICATION_JSON )
+				.content( lancamento ) )
+			.andExpect( MockMvcResultMatchers.status().isForbidden() );
+		mvc.perform( MockMvcRequestBuilders.delete( API.concat("/5") )
+				.requestAttr( FiltroToken.USUARIO_AUTENTICADO, 1l ) )
+			.andExpect( MockMvcResultMatchers.status().isForbidden() );
+		
+		Mockito.verify( service, Mockito.never() ).atualizarStatus( Mockito.any(), Mockito.any(), Mockito.any() );
+		Mockito.verify( service, Mockito.never() ).atualizar( Mockito.any() );
+		Mockito.verify( service, Mockito.never() ).deletar( Mockito.any() );
+	}
+	
+	@Test
+	public void deveResponderNotFoundParaLancamentoDeOutroUsuario() throws Exception {
+		Mockito.when( service.obterDTOPorId(5l) ).thenReturn( Optional.of(LancamentoDTO.builder().id(5l).usuario(2l).build()) );
+		
+		mvc.perform( MockMvcRequestBuilders.get( API.concat("/5") ).requestAttr( FiltroToken.USUARIO_AUTENTICADO, 1l ) )
+			.andExpect( MockMvcResultMatchers.status().isNotFound() );
+		mvc.perform( MockMvcRequestBuilders.get( API.concat("/5") ).requestAttr( FiltroToken.USUARIO_AUTENTICADO, 2l ) )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("id").value(5) );
+	}
+	
+	@Test
+	public void deveResponderODTOAoSalvarEAtualizar() throws Exception {
+		//cenário
+		String lancamento = "{\"descricao\":\"aluguel\",\"mes\":1,\"ano\":2020,\"valor\":10,\"usuario\":1,\"tipo\":\"DESPESA\"}";
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(Usuario.builder().id(1l).nome("usuario").build()) );
+		Mockito.when( service.salvar(Mockito.any(Lancamento.class)) ).thenReturn( criarLancamento(5l, 1l) );
+		Mockito.when( service.obterPorId(5l) ).thenReturn( Optional.of(criarLancamento(5l, 1l)) );
+		Mockito.when( service.atualizar(Mockito.any(Lancamento.class)) ).thenReturn( criarLancamento(5l, 1l) );
+		
+		//execução e verificação: o usuário vai só pelo id, sem serializar a entidade
+		mvc.perform( MockMvcRequestBuilders.post( API ).contentType( MediaType.APPLICATION_JSON ).content( lancamento ) )
+			.andExpect( MockMvcResultMatchers.status().isCreated() )
+			.andExpect( MockMvcResultMatchers.jsonPath("id").value(5) )
+			.andExpect( MockMvcResultMatchers.jsonPath("usuario").value(1) );
+		mvc.perform( MockMvcRequestBuilders.put( API.concat("/atualizar/5") ).contentType( MediaType.APPLICATION_JSON ).content( lancamento ) )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("usuario").value(1) )
+			.andExpect( MockMvcResultMatchers.jsonPath("versao").value(0) );
+	}
+	
+	private Lancamento criarLancamento(Long id, Long idUsuario) {
+		return Lancamento.builder().id(id).descricao("aluguel").mes(1).ano(2020).valor(BigDecimal.TEN).versao(0l)
+				.tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE).usuario(Usuario.builder().id(idUsuario).build()).build();
+	}
+}
@@ -0,0 +1,125 @@
+package br.com.minhasFinancas.api.resourse;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import br.com.minhasFinancas.api.resource.LeituraReativaResource;
+import br.com.minhasFinancas.config.FiltroToken;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.leitura.LancamentoLeitura;
+import br.com.minhasFinancas.service.LeituraReativaService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@WebMvcTest( controllers = LeituraReativaResource.class )
+@AutoConfigureMockMvc
+public class LeituraReativaResourseTest {
+
+	static final String API = "/api/reativo";
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@MockBean
+	LeituraReativaService service;
+	
+	@Test
+	public void deveTransmitirOsLancamentosEmNdjson() throws Exception {
+		//cenário
+		Mockito.when( service.buscar(Mockito.any(Lancamento.class)) ).thenReturn( Flux.just(
+				LancamentoLeitura.builder().id(1l).descricao("aluguel").idUsuario(7l).tipo(TipoLancamento.DESPESA).versao(3l).build(),
+				LancamentoLeitura.builder().id(2l).descricao("salario").idUsuario(7l).tipo(TipoLancamento.RECEITA).build() ) );
+		
+		//execução
+		MvcResult resultado = mvc.perform( MockMvcRequestBuilders.get( API.concat("/lancamentos?usuario=7") )
+				.accept( MediaType.parseMediaType("application/x-ndjson") ) )
+			.andExpect( MockMvcResultMatchers.request().asyncStarted() )
+			.andReturn();
+		
+		//verificação
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.content().string(
+					"{\"id\":1,\"descricao\":\"aluguel\",\"mes\":null,\"ano\":null,\"valor\":null,\"usuario\":7,\"tipo\":\"DESPESA\",\"status\":null,\"versao\":3}\n"
+					+ "{\"id\":2,\"descricao\":\"salario\",\"mes\":null,\"ano\":null,\"valor\":null,\"usuario\":7,\"tipo\":\"RECEITA\",\"status\":null,\"versao\":null}\n") );
+	}
+	
+	@Test
+	public void deveRetornarBadRequestParaTipoInvalido() throws Exception {
+		//execução e verificação
+		mvc.perform( MockMvcRequestBuilders.get( API.concat("/lancamentos?usuario=7&tipo=OUTRO") ) )
+			.andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		
+		Mockito.verifyNoInteractions( service );
+	}
+	
+	@Test
+	public void deveRetornarNotFoundParaLancamentoInexistente() throws Exception {
+		//cenário
+		Mockito.when( service.obterLancamento(1l) ).thenReturn( Mono.empty() );
+		
+		//execução
+		MvcResult resultado = mvc.perform( MockMvcRequestBuilders.get( API.concat("/lancamentos/1") ) ).andReturn();
+		
+		//verificação
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) )
+			.andExpect( MockMvcResultMatchers.status().isNotFound() );
+	}
+	
+	@Test
+	public void deveRetornarNotFoundParaLancamentoDeOutroUsuario() throws Exception {
+		//cenário
+		Mockito.when( service.obterLancamento(1l) ).thenReturn( Mono.just(LancamentoLeitura.builder().id(1l).idUsuario(7l).build()) );
+		
+		//execução
+		MvcResult resultado = mvc.perform( MockMvcRequestBuilders.get( API.concat("/lancamentos/1") )
+				.requestAttr( FiltroToken.USUARIO_AUTENTICADO, 8l ) ).andReturn();
+		
+		//verificação
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) )
+			.andExpect( MockMvcResultMatchers.status().isNotFound() );
+	}
+	
+	@Test
+	public void deveRecusarOSaldoDeOutroUsuario() throws Exception {
+		//execução
+		MvcResult resultado = mvc.perform( MockMvcRequestBuilders.get( API.concat("/usuarios/7/saldo") )
+				.requestAttr( FiltroToken.USUARIO_AUTENTICADO, 8l ) ).andReturn();
+		
+		//verificação
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) )
+			.andExpect( MockMvcResultMatchers.status().isForbidden() );
+		Mockito.verifyNoInteractions( service );
+	}
+	
+	@Test
+	public void deveObterOSaldoDoUsuario() throws Exception {
+		//cenário
+		Mockito.when( service.obterSaldoPorUsuario(7l) ).thenReturn( Mono.just(BigDecimal.valueOf(150)) );
+		
+		//execução
+		MvcResult resultado = mvc.perform( MockMvcRequestBuilders.get( API.concat("/usuarios/7/saldo") ) ).andReturn();
+		
+		//verificação
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.content().string("150") );
+	}
+}
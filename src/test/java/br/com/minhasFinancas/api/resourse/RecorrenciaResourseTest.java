@@ -0,0 +1,105 @@
+package br.com.minhasFinancas.api.resourse;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import br.com.minhasFinancas.api.resource.RecorrenciaResource;
+import br.com.minhasFinancas.model.entity.Recorrencia;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.RegraRecorrencia;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.service.RecorrenciaService;
+import br.com.minhasFinancas.service.UsuarioService;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@WebMvcTest( controllers = RecorrenciaResource.class )
+@AutoConfigureMockMvc
+public class RecorrenciaResourseTest {
+
+	static final String API = "/api/recorrencias";
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@MockBean
+	RecorrenciaService service;
+	
+	@MockBean
+	UsuarioService usuarioService;
+	
+	@Test
+	public void deveCriarUmaRecorrenciaParcelada() throws Exception {
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(usuario) );
+		Mockito.when( service.salvar(Mockito.any(Recorrencia.class)) ).thenAnswer( invocacao -> {
+			Recorrencia recorrencia = invocacao.getArgument(0);
+			recorrencia.setId(10l);
+			recorrencia.setGeradas(0);
+			recorrencia.setProximaCompetencia(recorrencia.getCompetenciaInicial());
+			return recorrencia;
+		});
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API )
+				.contentType( MediaType.APPLICATION_JSON )
+				.content( "{\"descricao\":\"geladeira\",\"valor\":300,\"tipo\":\"DESPESA\",\"regra\":\"PARCELADA\","
+						+ "\"parcelas\":10,\"mes\":11,\"ano\":2024,\"usuario\":1}" );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isCreated() )
+			.andExpect( MockMvcResultMatchers.jsonPath("id").value(10) )
+			.andExpect( MockMvcResultMatchers.jsonPath("proximoMes").value(11) )
+			.andExpect( MockMvcResultMatchers.jsonPath("proximoAno").value(2024) );
+		
+		ArgumentCaptor<Recorrencia> salva = ArgumentCaptor.forClass(Recorrencia.class);
+		Mockito.verify( service ).salvar( salva.capture() );
+		Assertions.assertThat( salva.getValue().getRegra() ).isEqualTo( RegraRecorrencia.PARCELADA );
+		Assertions.assertThat( salva.getValue().getTipo() ).isEqualTo( TipoLancamento.DESPESA );
+		Assertions.assertThat( salva.getValue().getValor() ).isEqualByComparingTo( BigDecimal.valueOf(300) );
+		Assertions.assertThat( salva.getValue().getCompetenciaInicial() ).isEqualTo( Recorrencia.competencia(2024, 11) );
+	}
+	
+	@Test
+	public void deveRetornarBadRequestParaRegraInvalida() throws Exception {
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(Usuario.builder().id(1l).build()) );
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API )
+				.contentType( MediaType.APPLICATION_JSON )
+				.content( "{\"descricao\":\"aluguel\",\"valor\":300,\"tipo\":\"DESPESA\",\"regra\":\"SEMANAL\",\"mes\":1,\"ano\":2024,\"usuario\":1}" );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		
+		Mockito.verify( service, Mockito.never() ).salvar( Mockito.any(Recorrencia.class) );
+	}
+	
+	@Test
+	public void deveEncerrarUmaRecorrencia() throws Exception {
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Recorrencia recorrencia = Recorrencia.builder().id(10l).usuario(usuario).build();
+		Mockito.when( service.obterPorId(10l) ).thenReturn( Optional.of(recorrencia) );
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(usuario) );
+		
+		mvc.perform( MockMvcRequestBuilders.delete( API.concat("/10") ) )
+			.andExpect( MockMvcResultMatchers.status().isNoContent() );
+		
+		Mockito.verify( service ).encerrar( recorrencia );
+	}
+}
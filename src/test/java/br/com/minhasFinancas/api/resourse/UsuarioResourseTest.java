@@ -1,5 +1,13 @@
 package br.com.minhasFinancas.api.resourse;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -11,6 +19,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -18,12 +27,18 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.minhasFinancas.api.dto.FechamentoDTO;
+import br.com.minhasFinancas.api.dto.ResumoMensalDTO;
 import br.com.minhasFinancas.api.dto.UsuarioDTO;
 import br.com.minhasFinancas.api.resource.UsuarioResource;
+import br.com.minhasFinancas.config.FiltroToken;
 import br.com.minhasFinancas.exception.ErroAutenticacao;
 import br.com.minhasFinancas.exception.RegraNegocioException;
 import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
 import br.com.minhasFinancas.service.LancamentoService;
+import br.com.minhasFinancas.service.TokenAcesso;
+import br.com.minhasFinancas.service.TokenService;
 import br.com.minhasFinancas.service.UsuarioService;
 
 @ExtendWith( SpringExtension.class )
@@ -45,14 +60,19 @@ public class UsuarioResourseTest {
 	@MockBean
 	LancamentoService lancamentoService;
 	
+	@MockBean
+	TokenService tokenService;
+	
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception {
 		String email = "usuario²email.com";
 		String senha = "123";
 		UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
-		Usuario usuario = Usuario.builder().email(email).senha(senha).build();
+		Usuario usuario = Usuario.builder().id(1l).email(email).senha(senha).build();
+		TokenAcesso token = new TokenAcesso("cabecalho.conteudo.assinatura", 7l, 1l, Instant.parse("2030-01-01T00:00:00Z"));
 		
-		Mockito.when( service.autenticar(email, senha) ).thenReturn( usuario );
+		Mockito.when( service.autenticar(email, senha) ).thenReturn( CompletableFuture.completedFuture(usuario) );
+		Mockito.when( tokenService.emitir(usuario) ).thenReturn( token );
 		
 		String json = new ObjectMapper().writeValueAsString( dto );
 		
@@ -62,10 +82,28 @@ public class UsuarioResourseTest {
 													.contentType( JSON )
 													.content( json );
 		
-		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isOk() )
+		MvcResult resultado = mvc.perform( request ).andExpect( MockMvcResultMatchers.request().asyncStarted() ).andReturn();
+		
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) ).andExpect( MockMvcResultMatchers.status().isOk() )
 			.andExpect( MockMvcResultMatchers.jsonPath("id").value(usuario.getId()) )
 			.andExpect( MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()) )
-			.andExpect( MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()) );
+			.andExpect( MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()) )
+			.andExpect( MockMvcResultMatchers.jsonPath("token").value(token.getValor()) )
+			.andExpect( MockMvcResultMatchers.jsonPath("tipo").value("Bearer") )
+			.andExpect( MockMvcResultMatchers.jsonPath("senha").doesNotExist() );
+	}
+	
+	@Test
+	public void deveRevogarOTokenAoSair() throws Exception {
+		TokenAcesso token = new TokenAcesso("cabecalho.conteudo.assinatura", 7l, 1l, Instant.parse("2030-01-01T00:00:00Z"));
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API.concat("/sair") )
+				.requestAttr( FiltroToken.TOKEN, token );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isNoContent() );
+		
+		Mockito.verify( tokenService ).revogar(token);
 	}
 	
 	@Test
@@ -74,7 +112,7 @@ public class UsuarioResourseTest {
 		String senha = "123";
 		UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
 		
-		Mockito.when( service.autenticar(email, senha) ).thenThrow(ErroAutenticacao.class);
+		Mockito.when( service.autenticar(email, senha) ).thenReturn( CompletableFuture.failedFuture(new ErroAutenticacao("senha inválida")) );
 		
 		String json = new ObjectMapper().writeValueAsString( dto );
 		
@@ -84,10 +122,35 @@ public class UsuarioResourseTest {
 				.contentType( JSON )
 				.content( json );
 		
-		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		MvcResult resultado = mvc.perform( request ).andExpect( MockMvcResultMatchers.request().asyncStarted() ).andReturn();
+		
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) ).andExpect( MockMvcResultMatchers.status().isBadRequest() )
+			.andExpect( MockMvcResultMatchers.content().string( Matchers.startsWith("senha inv") ) );
 		
 	}
 	
+	@Test
+	public void deveRetornarServiceUnavailableQuandoOExecutorDeSenhasEstiverCheio() throws Exception {
+		String email = "usuario²email.com";
+		String senha = "123";
+		UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
+		
+		Mockito.when( service.autenticar(email, senha) ).thenReturn( CompletableFuture.failedFuture(new RejectedExecutionException()) );
+		
+		String json = new ObjectMapper().writeValueAsString( dto );
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API.concat("/autenticar") )
+				.accept( JSON )
+				.contentType( JSON )
+				.content( json );
+		
+		MvcResult resultado = mvc.perform( request ).andExpect( MockMvcResultMatchers.request().asyncStarted() ).andReturn();
+		
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch(resultado) ).andExpect( MockMvcResultMatchers.status().isServiceUnavailable() )
+			.andExpect( MockMvcResultMatchers.header().string("Retry-After", "1") );
+	}
+	
 	@Test
 	public void deveCriarUmNovoUsuario() throws Exception {
 		String email = "usuario²email.com";
@@ -130,5 +193,59 @@ public class UsuarioResourseTest {
 		
 		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isBadRequest() );
 	}
+	
+	@Test
+	public void deveObterOResumoMensalDoUsuario() throws Exception {
+		Usuario usuario = Usuario.builder().id(1l).build();
+		ResumoMensalDTO resumo = new ResumoMensalDTO(1, "EFETIVADO", BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(9), 2l);
+		
+		Mockito.when( service.finById(1l) ).thenReturn( Optional.of(usuario) );
+		Mockito.when( lancamentoService.obterResumoPorUsuario(1l, 2020) ).thenReturn( Arrays.asList(resumo) );
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.get( API.concat("/1/resumo?ano=2020") )
+				.accept( JSON );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("[0].mes").value(1) )
+			.andExpect( MockMvcResultMatchers.jsonPath("[0].saldo").value(9) );
+	}
+	
+	@Test
+	public void deveFecharOMesEfetivandoOsPendentesPorPadrao() throws Exception {
+		Mockito.when( service.finById(1l) ).thenReturn( Optional.of(Usuario.builder().id(1l).build()) );
+		Mockito.when( lancamentoService.transicionarStatus(1l, 2020, 8, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO) )
+			.thenReturn( FechamentoDTO.builder().usuario(1l).ano(2020).mes(8).alterados(3).receitas(1).despesas(2).valorMovimentado(BigDecimal.ONE).build() );
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API.concat("/1/fechamento?ano=2020&mes=8") )
+				.accept( JSON );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("alterados").value(3) )
+			.andExpect( MockMvcResultMatchers.jsonPath("despesas").value(2) );
+	}
+	
+	@Test
+	public void deveRetornarBadRequestAoFecharOMesComStatusInvalido() throws Exception {
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.post( API.concat("/1/fechamento?ano=2020&mes=8&para=PAGO") )
+				.accept( JSON );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		
+		Mockito.verifyNoInteractions( lancamentoService );
+	}
+	
+	@Test
+	public void deveRetornarNotFoundAoObterResumoDeUsuarioInexistente() throws Exception {
+		Mockito.when( service.finById(1l) ).thenReturn( Optional.empty() );
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.get( API.concat("/1/resumo?ano=2020") )
+				.accept( JSON );
+		
+		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isNotFound() );
+	}
 
 }
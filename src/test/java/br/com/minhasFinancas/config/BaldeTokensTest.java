@@ -0,0 +1,48 @@
+package br.com.minhasFinancas.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BaldeTokensTest {
+
+	static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+	
+	@Test
+	public void deveAdmitirARajadaERecusarAProxima() {
+		//cenário
+		BaldeTokens balde = new BaldeTokens(10, 3, 0);
+		
+		//execução e verificação
+		Assertions.assertThat(balde.consumir(0)).isZero();
+		Assertions.assertThat(balde.consumir(0)).isZero();
+		Assertions.assertThat(balde.consumir(0)).isZero();
+		Assertions.assertThat(balde.consumir(0)).isEqualTo(SEGUNDO / 10);
+	}
+	
+	@Test
+	public void deveRecuperarUmaFichaACadaIntervalo() {
+		//cenário
+		BaldeTokens balde = new BaldeTokens(10, 2, 0);
+		balde.consumir(0);
+		balde.consumir(0);
+		
+		//execução e verificação
+		Assertions.assertThat(balde.consumir(SEGUNDO / 20)).isEqualTo(SEGUNDO / 20);
+		Assertions.assertThat(balde.consumir(SEGUNDO / 10)).isZero();
+		Assertions.assertThat(balde.consumir(SEGUNDO / 10)).isGreaterThan(0);
+	}
+	
+	@Test
+	public void naoDeveAcumularMaisQueARajadaQuandoParado() {
+		//cenário
+		BaldeTokens balde = new BaldeTokens(10, 2, 0);
+		long depois = 60 * SEGUNDO;
+		
+		//execução e verificação
+		Assertions.assertThat(balde.consumir(depois)).isZero();
+		Assertions.assertThat(balde.consumir(depois)).isZero();
+		Assertions.assertThat(balde.consumir(depois)).isGreaterThan(0);
+	}
+}
@@ -0,0 +1,130 @@
+package br.com.minhasFinancas.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.service.TokenService;
+import br.com.minhasFinancas.service.impl.TokenServiceImpl;
+
+public class FiltroTokenTest {
+
+	TokenService tokenService = new TokenServiceImpl(Base64.getEncoder().encodeToString(new byte[32]), Duration.ofMinutes(5), Clock.systemUTC());
+	
+	FiltroToken filtro = new FiltroToken(tokenService);
+	
+	String token = "Bearer " + tokenService.emitir(Usuario.builder().id(1l).build()).getValor();
+	
+	@Test
+	public void deveAceitarTokenValidoEGuardarOUsuarioNaRequisicao() throws Exception {
+		//cenário
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lancamentos");
+		request.setParameter("usuario", "1");
+		request.addHeader(HttpHeaders.AUTHORIZATION, token);
+		MockFilterChain chain = new MockFilterChain();
+		
+		//execução
+		filtro.doFilter(request, new MockHttpServletResponse(), chain);
+		
+		//verificação
+		Assertions.assertThat(chain.getRequest()).isNotNull();
+		Assertions.assertThat(request.getAttribute(FiltroToken.USUARIO_AUTENTICADO)).isEqualTo(1l);
+	}
+	
+	@Test
+	public void deveRecusarRequisicaoSemToken() throws Exception {
+		//cenário
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		
+		//execução
+		filtro.doFilter(new MockHttpServletRequest("GET", "/api/lancamentos"), response, chain);
+		
+		//verificação
+		Assertions.assertThat(response.getStatus()).isEqualTo(401);
+		Assertions.assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+		Assertions.assertThat(chain.getRequest()).isNull();
+	}
+	
+	@Test
+	public void deveRecusarAcessoAosDadosDeOutroUsuario() throws Exception {
+		//cenário
+		MockHttpServletRequest porParametro = new MockHttpServletRequest("GET", "/api/lancamentos");
+		porParametro.setParameter("usuario", "2");
+		porParametro.addHeader(HttpHeaders.AUTHORIZATION, token);
+		MockHttpServletRequest porRota = new MockHttpServletRequest("GET", "/api/usuarios/2/saldo");
+		porRota.addHeader(HttpHeaders.AUTHORIZATION, token);
+		MockHttpServletResponse respostaPorParametro = new MockHttpServletResponse();
+		MockHttpServletResponse respostaPorRota = new MockHttpServletResponse();
+		
+		//execução
+		filtro.doFilter(porParametro, respostaPorParametro, new MockFilterChain());
+		filtro.doFilter(porRota, respostaPorRota, new MockFilterChain());
+		
+		//verificação
+		Assertions.assertThat(respostaPorParametro.getStatus()).isEqualTo(403);
+		Assertions.assertThat(respostaPorRota.getStatus()).isEqualTo(403);
+	}
+	
+	@Test
+	public void deveRecusarIdDeOutroUsuarioEscritoDeOutraFormaNaRota() throws Exception {
+		//cenário: todas chegam ao controller como o usuário 2
+		String[] rotas = { "/api/usuarios/2;x=1/saldo", "/api/usuarios/%32/saldo", "/api/usuarios/0x2/saldo", "/api//usuarios/2/saldo",
+				"/api/reativo/usuarios/2/saldo" };
+		
+		for (String rota : rotas) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", rota);
+			request.addHeader(HttpHeaders.AUTHORIZATION, token);
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			MockFilterChain chain = new MockFilterChain();
+			
+			//execução
+			filtro.doFilter(request, response, chain);
+			
+			//verificação
+			Assertions.assertThat(response.getStatus()).as(rota).isEqualTo(403);
+			Assertions.assertThat(chain.getRequest()).as(rota).isNull();
+		}
+	}
+	
+	@Test
+	public void deveAceitarAsRotasDoProprioUsuario() throws Exception {
+		//cenário
+		String[] rotas = { "/api/usuarios/1/saldo", "/api/usuarios/1;x=1/saldo", "/api/usuarios/%31/saldo", "/api/usuarios/sair" };
+		
+		for (String rota : rotas) {
+			MockHttpServletRequest request = new MockHttpServletRequest(rota.endsWith("sair") ? "POST" : "GET", rota);
+			request.addHeader(HttpHeaders.AUTHORIZATION, token);
+			MockFilterChain chain = new MockFilterChain();
+			
+			//execução
+			filtro.doFilter(request, new MockHttpServletResponse(), chain);
+			
+			//verificação
+			Assertions.assertThat(chain.getRequest()).as(rota).isNotNull();
+		}
+	}
+	
+	@Test
+	public void naoDeveExigirTokenNoCadastroENaAutenticacao() throws Exception {
+		//cenário
+		MockFilterChain cadastro = new MockFilterChain();
+		MockFilterChain autenticacao = new MockFilterChain();
+		
+		//execução
+		filtro.doFilter(new MockHttpServletRequest("POST", "/api/usuarios"), new MockHttpServletResponse(), cadastro);
+		filtro.doFilter(new MockHttpServletRequest("POST", "/api/usuarios/autenticar"), new MockHttpServletResponse(), autenticacao);
+		
+		//verificação
+		Assertions.assertThat(cadastro.getRequest()).isNotNull();
+		Assertions.assertThat(autenticacao.getRequest()).isNotNull();
+	}
+}
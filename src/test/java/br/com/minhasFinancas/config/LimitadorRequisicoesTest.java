@@ -0,0 +1,100 @@
+package br.com.minhasFinancas.config;
+
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class LimitadorRequisicoesTest {
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	
+	LimitadorRequisicoes limitador(int rajadaPorUsuario, int rajadaGlobal, int simultaneas) {
+		return new LimitadorRequisicoes(LimiteRota.builder().nome("teste")
+				.porUsuario(1).rajadaPorUsuario(rajadaPorUsuario)
+				.global(1).rajadaGlobal(rajadaGlobal)
+				.simultaneas(simultaneas).build(), Set.of("POST"), registry);
+	}
+	
+	MockHttpServletRequest requisicao(Long usuario) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/lancamentos");
+		request.setAttribute(FiltroToken.USUARIO_AUTENTICADO, usuario);
+		return request;
+	}
+	
+	double contagem(String resultado, String motivo) {
+		return registry.get("http.admissao").tag("rota", "teste").tag("resultado", resultado).tag("motivo", motivo).counter().count();
+	}
+	
+	@Test
+	public void deveRecusarComTooManyRequestsQuandoOUsuarioPassarDaRajada() throws Exception {
+		//cenário
+		LimitadorRequisicoes limitador = limitador(2, 100, 100);
+		
+		//execução
+		boolean primeira = limitador.preHandle(requisicao(1l), new MockHttpServletResponse(), null);
+		boolean segunda = limitador.preHandle(requisicao(1l), new MockHttpServletResponse(), null);
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		boolean terceira = limitador.preHandle(requisicao(1l), resposta, null);
+		boolean outroUsuario = limitador.preHandle(requisicao(2l), new MockHttpServletResponse(), null);
+		
+		//verificação
+		Assertions.assertThat(primeira).isTrue();
+		Assertions.assertThat(segunda).isTrue();
+		Assertions.assertThat(terceira).isFalse();
+		Assertions.assertThat(outroUsuario).isTrue();
+		Assertions.assertThat(resposta.getStatus()).isEqualTo(429);
+		Assertions.assertThat(resposta.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		Assertions.assertThat(contagem("admitida", "nenhum")).isEqualTo(3);
+		Assertions.assertThat(contagem("recusada", "usuario")).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveRecusarQuandoARotaPassarDaRajadaGlobal() throws Exception {
+		//cenário
+		LimitadorRequisicoes limitador = limitador(100, 1, 100);
+		limitador.preHandle(requisicao(1l), new MockHttpServletResponse(), null);
+		
+		//execução
+		boolean admitida = limitador.preHandle(requisicao(2l), new MockHttpServletResponse(), null);
+		
+		//verificação
+		Assertions.assertThat(admitida).isFalse();
+		Assertions.assertThat(contagem("recusada", "global")).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveLimitarAsRequisicoesEmAndamentoAteAConclusao() throws Exception {
+		//cenário
+		LimitadorRequisicoes limitador = limitador(100, 100, 1);
+		MockHttpServletRequest emAndamento = requisicao(1l);
+		limitador.preHandle(emAndamento, new MockHttpServletResponse(), null);
+		
+		//execução
+		boolean enquantoEmAndamento = limitador.preHandle(requisicao(2l), new MockHttpServletResponse(), null);
+		limitador.afterCompletion(emAndamento, new MockHttpServletResponse(), null, null);
+		boolean depoisDaConclusao = limitador.preHandle(requisicao(2l), new MockHttpServletResponse(), null);
+		
+		//verificação
+		Assertions.assertThat(enquantoEmAndamento).isFalse();
+		Assertions.assertThat(depoisDaConclusao).isTrue();
+		Assertions.assertThat(contagem("recusada", "simultaneas")).isEqualTo(1);
+		Assertions.assertThat(registry.get("http.admissao.em-andamento").gauge().value()).isEqualTo(1);
+	}
+	
+	@Test
+	public void naoDeveLimitarOutrosMetodos() throws Exception {
+		//cenário
+		LimitadorRequisicoes limitador = limitador(1, 1, 1);
+		
+		//execução e verificação
+		for (int i = 0; i < 5; i++) {
+			Assertions.assertThat(limitador.preHandle(new MockHttpServletRequest("GET", "/api/lancamentos"), new MockHttpServletResponse(), null)).isTrue();
+		}
+	}
+}
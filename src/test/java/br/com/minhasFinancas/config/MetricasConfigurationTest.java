@@ -0,0 +1,80 @@
+package br.com.minhasFinancas.config;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+import br.com.minhasFinancas.service.TokenService;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics // o teste desliga a exportação das métricas por padrão
+public class MetricasConfigurationTest {
+
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	TokenService tokenService;
+	
+	@AfterEach
+	public void tearDown() {
+		usuarioRepository.deleteAll();
+	}
+	
+	@Test
+	public void deveExporAsMetricasDasRequisicoesServicosRepositoriosPoolEHibernate() throws Exception {
+		//cenário
+		Usuario usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("metricas@email.com").senha("senha").build());
+		String token = "Bearer " + tokenService.emitir(usuario).getValor();
+		mvc.perform( MockMvcRequestBuilders.get("/api/lancamentos?usuario=" + usuario.getId()).header(HttpHeaders.AUTHORIZATION, token) )
+			.andExpect( MockMvcResultMatchers.status().isOk() );
+		mvc.perform( MockMvcRequestBuilders.get("/api/lancamentos/0").header(HttpHeaders.AUTHORIZATION, token) )
+			.andExpect( MockMvcResultMatchers.status().isNotFound() );
+		
+		//execução
+		String metricas = mvc.perform( MockMvcRequestBuilders.get("/actuator/prometheus") )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andReturn().getResponse().getContentAsString();
+		
+		//verificação
+		Assertions.assertThat(metricas)
+			.containsPattern("http_server_requests_seconds\\{.*status=\"404\",uri=\"/api/lancamentos/\\{id\\}\",quantile=\"0.99\"")
+			.containsPattern("http_server_requests_seconds_bucket\\{.*status=\"200\".*uri=\"/api/lancamentos\"")
+			.containsPattern("lancamento_service_seconds_count\\{class=\"[\\w.]+LancamentoServiceImpl\",exception=\"none\",method=\"buscarDTO\"")
+			.containsPattern("lancamento_service_seconds\\{.*method=\"obterDTOPorId\",quantile=\"0.5\"")
+			.containsPattern("usuario_service_seconds_count\\{.*method=\"obterReferencia\"")
+			.containsPattern("spring_data_repository_invocations_seconds_count\\{.*method=\"obterDTOPorId\",repository=\"LancamentoRepository\"")
+			.contains("hikaricp_connections_active")
+			.contains("hibernate_statements_total");
+	}
+	
+	@Test
+	public void naoDeveExporPorPadraoOsEndpointsComEscritaSemAutenticacao() throws Exception {
+		mvc.perform( MockMvcRequestBuilders.delete("/actuator/sqlperfil") )
+			.andExpect( MockMvcResultMatchers.status().isNotFound() );
+		mvc.perform( MockMvcRequestBuilders.post("/actuator/hibernatecache").contentType(MediaType.APPLICATION_JSON).content("{\"ativo\":false}") )
+			.andExpect( MockMvcResultMatchers.status().isNotFound() );
+		mvc.perform( MockMvcRequestBuilders.delete("/actuator/caches") )
+			.andExpect( MockMvcResultMatchers.status().isNotFound() );
+	}
+}
@@ -0,0 +1,76 @@
+package br.com.minhasFinancas.config;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+import br.com.minhasFinancas.service.TokenService;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=sqlperfil")
+@AutoConfigureMockMvc
+public class PerfilSqlConfigurationTest {
+
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	DataSource dataSource;
+	
+	@Autowired
+	PerfilSql perfilSql;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	TokenService tokenService;
+	
+	@AfterEach
+	public void tearDown() {
+		usuarioRepository.deleteAll();
+		perfilSql.limpar();
+	}
+	
+	@Test
+	public void deveExporOPerfilSqlDasRequisicoesPelaRotaDoMapeamento() throws Exception {
+		//cenário
+		Usuario usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("perfil@email.com").senha("senha").build());
+		perfilSql.limpar();
+		mvc.perform( MockMvcRequestBuilders.get("/api/usuarios/" + usuario.getId() + "/saldo")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.emitir(usuario).getValor()) )
+			.andExpect( MockMvcResultMatchers.status().isOk() );
+		
+		//execução e verificação
+		mvc.perform( MockMvcRequestBuilders.get("/actuator/sqlperfil") )
+			.andExpect( MockMvcResultMatchers.status().isOk() )
+			.andExpect( MockMvcResultMatchers.jsonPath("requisicoes[0].rota").value("/api/usuarios/{id}/saldo") )
+			.andExpect( MockMvcResultMatchers.jsonPath("requisicoes[0].status").value(200) )
+			.andExpect( MockMvcResultMatchers.jsonPath("requisicoes[0].instrucoes").isNumber() )
+			.andExpect( MockMvcResultMatchers.jsonPath("requisicoes[0].suspeitaNMais1").value(false) );
+	}
+	
+	@Test
+	public void deveEnvolverOPoolSemEsconderOHikari() throws Exception {
+		Assertions.assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+		Assertions.assertThat(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()).isEqualTo(20);
+	}
+}
@@ -0,0 +1,74 @@
+package br.com.minhasFinancas.config;
+
+import java.util.Collections;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import br.com.minhasFinancas.api.dto.ConsultaSqlDTO;
+import br.com.minhasFinancas.api.dto.PerfilRequisicaoDTO;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+
+public class PerfilSqlTest {
+
+	static final String SELECT_USUARIO = "select u.id, u.nome from financas.usuario u where u.id=?";
+	
+	PerfilSql perfilSql = new PerfilSql(100, 3, 2, 10);
+	
+	@Test
+	public void deveContarAsInstrucoesDaRequisicaoEGuardarAsMaisLentas() {
+		//cenário
+		perfilSql.iniciar();
+		executar("select * from financas.lancamento", 5);
+		executar("update financas.saldo_usuario set valor=? where id_usuario=?", 30);
+		executar("insert into financas.evento_lancamento values (?, ?, ?, ?, ?)", 10);
+		
+		//execução
+		PerfilRequisicaoDTO perfil = perfilSql.finalizar("PUT", "/api/lancamentos/{id}", 200);
+		
+		//verificação
+		Assertions.assertThat(perfil.getInstrucoes()).isEqualTo(3);
+		Assertions.assertThat(perfil.getTempoMs()).isEqualTo(45);
+		Assertions.assertThat(perfil.getMaisLentas()).extracting(ConsultaSqlDTO::getTempoMs).containsExactly(30l, 10l);
+		Assertions.assertThat(perfil.getMaisLentas()).extracting(ConsultaSqlDTO::getRota).containsOnly("PUT /api/lancamentos/{id}");
+		Assertions.assertThat(perfil.isLenta()).isFalse();
+		Assertions.assertThat(perfil.isSuspeitaNMais1()).isFalse();
+		Assertions.assertThat(perfilSql.getRequisicoes()).containsExactly(perfil);
+	}
+	
+	@Test
+	public void deveApontarNMais1QuandoOMesmoSelectSeRepeteNaRequisicao() {
+		//cenário
+		perfilSql.iniciar();
+		executar("select * from financas.lancamento where id_usuario=?", 5);
+		for (int i = 0; i < 3; i++) {
+			executar(SELECT_USUARIO, 1);
+		}
+		
+		//execução
+		PerfilRequisicaoDTO perfil = perfilSql.finalizar("GET", "/api/lancamentos", 200);
+		
+		//verificação
+		Assertions.assertThat(perfil.isSuspeitaNMais1()).isTrue();
+		Assertions.assertThat(perfil.getRepetidas()).containsOnlyKeys(SELECT_USUARIO).containsEntry(SELECT_USUARIO, 3);
+	}
+	
+	@Test
+	public void deveGuardarAsConsultasLentasTambemForaDeRequisicoes() {
+		//execução
+		executar("select * from financas.lancamento", 150);
+		executar("select * from financas.usuario", 50);
+		
+		//verificação
+		Assertions.assertThat(perfilSql.getConsultasLentas()).extracting(ConsultaSqlDTO::getSql).containsExactly("select * from financas.lancamento");
+		Assertions.assertThat(perfilSql.getRequisicoes()).isEmpty();
+		Assertions.assertThat(perfilSql.finalizar("GET", "/api/usuarios", 200)).isNull();
+	}
+	
+	private void executar(String sql, long tempoMs) {
+		ExecutionInfo execucao = new ExecutionInfo();
+		execucao.setElapsedTime(tempoMs);
+		perfilSql.afterQuery(execucao, Collections.singletonList(new QueryInfo(sql)));
+	}
+}
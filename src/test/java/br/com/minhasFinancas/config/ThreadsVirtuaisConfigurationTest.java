@@ -0,0 +1,33 @@
+package br.com.minhasFinancas.config;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+public class ThreadsVirtuaisConfigurationTest {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withUserConfiguration(ThreadsVirtuaisConfiguration.class);
+	
+	@Test
+	public void naoDeveUsarThreadsVirtuaisPorPadrao() {
+		contextRunner.run( context -> Assertions.assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class) );
+	}
+	
+	@Test
+	public void deveExecutarAsTarefasEmThreadsVirtuaisQuandoAtivado() {
+		contextRunner.withPropertyValues("servidor.threads-virtuais=true").run( context -> {
+			Assertions.assertThat(context).hasSingleBean(TomcatProtocolHandlerCustomizer.class);
+			
+			AsyncTaskExecutor executor = context.getBean("applicationTaskExecutor", AsyncTaskExecutor.class);
+			CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+			executor.execute( () -> virtual.complete(Thread.currentThread().isVirtual()) );
+			
+			Assertions.assertThat(virtual.get()).isTrue();
+		});
+	}
+}
@@ -2,7 +2,11 @@ package br.com.minhasFinancas.model.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;//static import
 import org.junit.jupiter.api.Test;
@@ -97,4 +101,58 @@ public class LancamentoRepositoryTest {
 		assertThat(lancamentoEncontrado.isPresent()).isTrue();
 	}
 	
+	@Test
+	public void deveBuscarAProximaPaginaAPartirDoCursor() {
+		Usuario usuario = entityManager.persist( Usuario.builder().nome("usuario").email("usuario@email.com").build() );
+		Lancamento marco = persistirLancamento(usuario, 2020, 3);
+		Lancamento janeiro = persistirLancamento(usuario, 2020, 1);
+		Lancamento dezembro = persistirLancamento(usuario, 2019, 12);
+		Lancamento janeiroOutro = persistirLancamento(usuario, 2020, 1);
+		
+		Lancamento filtro = Lancamento.builder().usuario(usuario).build();
+		List<Lancamento> primeiraPagina = repository.buscarPagina(filtro, null, 2);
+		List<Lancamento> segundaPagina = repository.buscarPagina(filtro, CursorLancamento.depoisDe(primeiraPagina.get(1)), 2);
+		
+		assertThat(primeiraPagina).containsExactly(dezembro, janeiro);
+		assertThat(segundaPagina).containsExactly(janeiroOutro, marco);
+	}
+	
+	@Test
+	public void deveFiltrarOsLancamentosDoStream() {
+		Usuario usuario = entityManager.persist( Usuario.builder().nome("usuario").email("usuario@email.com").build() );
+		Usuario outroUsuario = entityManager.persist( Usuario.builder().nome("outro").email("outro@email.com").build() );
+		Lancamento lancamento = persistirLancamento(usuario, 2020, 8);
+		persistirLancamento(usuario, 2019, 8);
+		persistirLancamento(outroUsuario, 2020, 8);
+		
+		try (Stream<Lancamento> stream = repository.buscarStream( Lancamento.builder().usuario(usuario).ano(2020).build() )) {
+			List<Long> ids = stream.map(Lancamento::getId).collect(Collectors.toList());
+			assertThat(ids).containsExactly(lancamento.getId());
+		}
+	}
+	
+	private Lancamento persistirLancamento(Usuario usuario, int ano, int mes) {
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setAno(ano);
+		lancamento.setMes(mes);
+		return entityManager.persist(lancamento);
+	}
+	
+	@Test
+	public void deveSalvarUmLoteDeLancamentos() {
+		Usuario usuario = entityManager.persist( Usuario.builder().nome("usuario").email("usuario@email.com").build() );
+		List<Lancamento> lote = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			lote.add(lancamento);
+		}
+		
+		repository.salvarEmLote(lote);
+		
+		assertThat(lote).allMatch( lancamento -> lancamento.getId() != null );
+		assertThat(repository.count()).isEqualTo(120);
+	}
+	
 }
@@ -0,0 +1,151 @@
+package br.com.minhasFinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+
+@ExtendWith( SpringExtension.class )
+@DataJpaTest( properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "br.com.minhasFinancas.model.repository.LancamentoSpecificationsTest$SqlCapturado" )
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class LancamentoSpecificationsTest {
+
+	static final int OUTROS_MESES = 2000;
+
+	@Autowired
+	LancamentoRepository repository;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	
+	@BeforeEach
+	public void setUp() {
+		SqlCapturado.SQL.clear();
+	}
+	
+	@Test
+	public void deveUsarOIndiceDeUsuarioAnoEMesNaBusca() {
+		//cenário: o usuário tem lançamentos em vários meses, então só o índice com ano e mes é seletivo
+		Usuario usuario = entityManager.persist( Usuario.builder().nome("usuario").email("usuario@email.com").build() );
+		for (int i = 0; i < OUTROS_MESES; i++) {
+			Lancamento outroMes = LancamentoRepositoryTest.criarLancamento();
+			outroMes.setUsuario(usuario);
+			outroMes.setMes(1 + i % 7);
+			outroMes.setTipo(i % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA);
+			entityManager.persist(outroMes);
+		}
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		entityManager.persist(lancamento);
+		entityManager.flush();
+		
+		Lancamento filtro = Lancamento.builder().usuario(usuario).ano(2020).mes(8).build();
+		
+		//execução
+		List<Lancamento> resultado = repository.findAll(LancamentoSpecifications.doFiltro(filtro), LancamentoSpecifications.ORDENACAO);
+		Map<String, Object> parametros = new HashMap<>();
+		parametros.put("id_usuario", usuario.getId());
+		parametros.put("ano", 2020);
+		parametros.put("mes", 8);
+		String sql = ultimaConsultaDeLancamentos();
+		// o H2 devolve o plano numa linha só, o PostgreSQL numa linha por nó
+		String plano = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, ordenarParametros(sql, parametros)));
+		
+		//verificação: no H2 o índice aparece como idx_lancamento_usuario_ano_mes; no PostgreSQL particionado
+		// aparece a cópia do índice na partição, com o nome gerado <partição>_id_usuario_ano_mes_idx
+		assertThat(resultado).containsExactly(lancamento);
+		assertThat(plano.toLowerCase()).containsPattern("idx_lancamento_usuario_ano_mes|lancamento_\\w+_id_usuario_ano_mes_idx");
+	}
+	
+	@Test
+	public void deveCompararOUsuarioPelaChaveEstrangeiraSemJoin() {
+		//cenário
+		Lancamento filtro = Lancamento.builder().usuario( Usuario.builder().id(1l).build() ).build();
+		
+		//execução
+		repository.findAll(LancamentoSpecifications.doFiltro(filtro));
+		
+		//verificação
+		String sql = ultimaConsultaDeLancamentos().toLowerCase();
+		assertThat(sql).contains("id_usuario=?").doesNotContain(" join ");
+	}
+	
+	@Test
+	public void deveTratarCuringasDaDescricaoComoTexto() {
+		//cenário
+		Usuario usuario = entityManager.persist( Usuario.builder().nome("usuario").email("usuario@email.com").build() );
+		Lancamento comCuringa = LancamentoRepositoryTest.criarLancamento();
+		comCuringa.setUsuario(usuario);
+		comCuringa.setDescricao("Desconto 100%");
+		entityManager.persist(comCuringa);
+		Lancamento semCuringa = LancamentoRepositoryTest.criarLancamento();
+		semCuringa.setUsuario(usuario);
+		semCuringa.setDescricao("Desconto 1000");
+		entityManager.persist(semCuringa);
+		
+		//execução
+		List<Lancamento> resultado = repository.findAll(LancamentoSpecifications.doFiltro(
+				Lancamento.builder().usuario(usuario).descricao("DESCONTO 100%").build() ));
+		
+		//verificação
+		assertThat(resultado).containsExactly(comCuringa);
+	}
+	
+	// valores na ordem em que as colunas aparecem com '?' no sql gerado
+	private Object[] ordenarParametros(String sql, Map<String, Object> parametros) {
+		List<Object> valores = new ArrayList<>();
+		Matcher matcher = Pattern.compile("\\.(\\w+)=\\?").matcher(sql);
+		while (matcher.find()) {
+			valores.add(parametros.get(matcher.group(1)));
+		}
+		return valores.toArray();
+	}
+	
+	private String ultimaConsultaDeLancamentos() {
+		for (int i = SqlCapturado.SQL.size() - 1; i >= 0; i--) {
+			String sql = SqlCapturado.SQL.get(i);
+			if (sql.toLowerCase().startsWith("select") && sql.toLowerCase().contains("financas.lancamento")) {
+				return sql;
+			}
+		}
+		throw new AssertionError("Nenhuma consulta de lançamentos executada.");
+	}
+	
+	public static class SqlCapturado implements StatementInspector {
+		
+		static final List<String> SQL = new CopyOnWriteArrayList<>();
+		
+		@Override
+		public String inspect(String sql) {
+			SQL.add(sql);
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.model.entity.Usuario;
+
+/**
+ * Aplica as migrações em um H2 próprio no modo PostgreSQL, qualquer que seja o banco configurado para
+ * os demais testes. O contexto só sobe se o ddl-auto=validate aceitar as tabelas criadas pelo Flyway.
+ */
+@ExtendWith( SpringExtension.class )
+@DataJpaTest( properties = { "spring.datasource.url=" + MigracaoSchemaTest.URL, "spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa", "spring.datasource.password=" } )
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class MigracaoSchemaTest {
+
+	static final String URL = "jdbc:h2:mem:migracao;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+	
+	static final String URL_EXISTENTE = "jdbc:h2:mem:existente;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	Flyway flyway;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	
+	@Test
+	public void deveAplicarAsMigracoesComunsAoBanco() {
+		//execução
+		MigrationInfo[] aplicadas = flyway.info().applied();
+		
+		//verificação: a pasta db/migration/postgresql não é lida pelo H2, e a criação do schema não tem versão
+		Assertions.assertThat(Arrays.stream(aplicadas)
+				.filter(migracao -> migracao.getVersion() != null)
+				.map(migracao -> migracao.getVersion().getVersion())
+				.collect(Collectors.toList()))
+			.containsExactly("1", "1.1", "2", "5", "6", "8", "10", "11");
+	}
+	
+	@Test
+	public void deveMigrarUmBancoCriadoAntesDasMigracoesAPartirDaLinhaDeBase() {
+		//cenário: schema como o Hibernate criava, já com dados e sem o histórico do Flyway
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(URL_EXISTENTE, "sa", "");
+		new ResourceDatabasePopulator(new ClassPathResource("db/migration/comum/V1__criar_schema.sql")).execute(dataSource);
+		JdbcTemplate existente = new JdbcTemplate(dataSource);
+		existente.update("insert into financas.usuario (nome, email) values ('usuario', 'existente@email.com')");
+		Long idUsuario = existente.queryForObject("select id from financas.usuario", Long.class);
+		existente.update("insert into financas.lancamento (descricao, mes, ano, id_usuario, valor, tipo, status) values "
+				+ "('salário', 1, 2020, ?, 100, 'RECEITA', 'EFETIVADO'), ('aluguel', 1, 2020, ?, 30, 'DESPESA', 'EFETIVADO'), "
+				+ "('luz', 1, 2020, ?, 5, 'DESPESA', 'PENDENTE')", idUsuario, idUsuario, idUsuario);
+		
+		//execução: com a mesma configuração do application.properties
+		Flyway.configure()
+			.dataSource(dataSource)
+			.schemas("financas")
+			.locations("classpath:db/migration/comum")
+			.baselineOnMigrate(true)
+			.baselineVersion("1")
+			.load()
+			.migrate();
+		
+		//verificação: a V1 não é aplicada de novo e as tabelas novas recebem os dados existentes
+		Assertions.assertThat(existente.queryForObject("select valor from financas.saldo_usuario where id_usuario = ?", BigDecimal.class, idUsuario))
+			.isEqualByComparingTo("70");
+		Assertions.assertThat(existente.queryForObject("select count(*) from financas.lancamento where hash_importacao is null", Integer.class))
+			.isEqualTo(3);
+	}
+	
+	@Test
+	public void deveImpedirDoisUsuariosComOMesmoEmail() {
+		//cenário
+		usuarioRepository.saveAndFlush( Usuario.builder().nome("usuario").email("migracao@email.com").build() );
+		
+		//execução
+		Throwable exception = Assertions.catchThrowable( () ->
+			usuarioRepository.saveAndFlush( Usuario.builder().nome("outro").email("migracao@email.com").build() ) );
+		
+		//verificação
+		Assertions.assertThat(exception).isInstanceOf(DataIntegrityViolationException.class);
+	}
+	
+	@Test
+	public void deveBuscarOUsuarioPorEmailPeloIndiceUnico() {
+		//execução
+		String plano = jdbcTemplate.queryForObject("explain select id from financas.usuario where email = 'migracao@email.com'", String.class);
+		
+		//verificação
+		Assertions.assertThat(plano.toLowerCase()).contains("ux_usuario_email");
+	}
+	
+	@Test
+	public void deveSomarOSaldoPorTipoSomenteNoIndiceDeCobertura() {
+		//execução
+		String plano = jdbcTemplate.queryForObject("explain select sum(valor) from financas.lancamento "
+				+ "where id_usuario = 1 and tipo = 'RECEITA' and status = 'EFETIVADO'", String.class);
+		
+		//verificação
+		Assertions.assertThat(plano.toLowerCase()).contains("idx_lancamento_usuario_tipo_status_valor");
+	}
+}
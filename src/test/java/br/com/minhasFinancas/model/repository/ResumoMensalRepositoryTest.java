@@ -0,0 +1,69 @@
+package br.com.minhasFinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.ResumoMensal;
+import br.com.minhasFinancas.model.entity.ResumoMensalId;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+
+@ExtendWith( SpringExtension.class )
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class ResumoMensalRepositoryTest {
+
+	@Autowired
+	ResumoMensalRepository repository;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	@Test
+	public void deveSomarNaLinhaExistenteDoResumo() {
+		ResumoMensalId id = new ResumoMensalId(1l, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+		entityManager.persistAndFlush( new ResumoMensal(id, BigDecimal.TEN, 1l) );
+		entityManager.clear();
+		
+		int atualizados = repository.somarAoResumo(id, BigDecimal.ONE, 1);
+		entityManager.clear();
+		
+		ResumoMensal resumo = entityManager.find(ResumoMensal.class, id);
+		assertThat(atualizados).isEqualTo(1);
+		assertThat(resumo.getValor()).isEqualByComparingTo("11");
+		assertThat(resumo.getQuantidade()).isEqualTo(2l);
+	}
+	
+	@Test
+	public void deveReconstruirOResumoAPartirDosLancamentos() {
+		Usuario usuario = entityManager.persist( Usuario.builder().nome("usuario").email("usuario@email.com").build() );
+		for (int i = 0; i < 3; i++) {
+			Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+			lancamento.setUsuario(usuario);
+			entityManager.persist(lancamento);
+		}
+		entityManager.flush();
+		
+		repository.reconstruir();
+		List<ResumoMensal> resumos = repository.findByUsuarioEAno(usuario.getId(), 2020);
+		
+		assertThat(resumos).hasSize(1);
+		assertThat(resumos.get(0).getValor()).isEqualByComparingTo("30");
+		assertThat(resumos.get(0).getQuantidade()).isEqualTo(3l);
+	}
+}
@@ -0,0 +1,84 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // o cache read-write só recebe o que foi commitado
+public class SegundoNivelCacheTest {
+
+	@Autowired
+	LancamentoRepository repository;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	Statistics statistics;
+	
+	@BeforeEach
+	public void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		entityManagerFactory.getCache().evictAll();
+		statistics.clear();
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		repository.deleteAll();
+		usuarioRepository.deleteAll();
+	}
+	
+	@Test
+	public void deveBuscarOLancamentoDoCacheDeSegundoNivel() {
+		//cenário
+		Lancamento lancamento = persistirLancamento();
+		// o usuário (id IDENTITY) só entra no cache na primeira leitura
+		repository.findById(lancamento.getId());
+		statistics.clear();
+		
+		//execução
+		Lancamento encontrado = repository.findById(lancamento.getId()).get();
+		
+		//verificação
+		Assertions.assertThat( statistics.getCacheRegionStatistics(Lancamento.class.getName()).getHitCount() ).isEqualTo(1);
+		Assertions.assertThat( statistics.getPrepareStatementCount() ).isZero();
+		Assertions.assertThat( encontrado.getGravado() ).isNotNull();
+		Assertions.assertThat( encontrado.getGravado().getValor() ).isEqualByComparingTo(BigDecimal.TEN);
+	}
+	
+	private Lancamento persistirLancamento() {
+		Usuario usuario = usuarioRepository.save( Usuario.builder().nome("usuario").email("cache@email.com").build() );
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setValor(BigDecimal.TEN);
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		return repository.save(lancamento);
+	}
+}
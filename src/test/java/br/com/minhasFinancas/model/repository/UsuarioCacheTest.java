@@ -0,0 +1,78 @@
+package br.com.minhasFinancas.model.repository;
+
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.config.CacheConfiguration;
+import br.com.minhasFinancas.config.SenhaConfiguration;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.service.UsuarioService;
+import br.com.minhasFinancas.service.impl.SaldoUsuarioServiceImpl;
+import br.com.minhasFinancas.service.impl.UsuarioServiceImpl;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({ CacheConfiguration.class, SenhaConfiguration.class, UsuarioServiceImpl.class, SaldoUsuarioServiceImpl.class })
+public class UsuarioCacheTest {
+
+	@Autowired
+	UsuarioService service;
+	
+	@Autowired
+	CacheManager cacheManager;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	@Test
+	public void deveGuardarOUsuarioEncontradoNoCache() {
+		//cenário
+		Usuario usuario = entityManager.persistFlushFind(Usuario.builder().nome("usuario").email("cache@email.com").build());
+		
+		//execução
+		service.finById(usuario.getId());
+		
+		//verificação
+		Assertions.assertThat( cacheManager.getCache(CacheConfiguration.USUARIOS).get(usuario.getId()) ).isNotNull();
+	}
+	
+	@Test
+	public void naoDeveGuardarUsuarioInexistenteNoCache() {
+		//execução
+		Optional<Usuario> resultado = service.finById(-1l);
+		
+		//verificação
+		Assertions.assertThat( resultado ).isEmpty();
+		Assertions.assertThat( cacheManager.getCache(CacheConfiguration.USUARIOS).get(-1l) ).isNull();
+	}
+	
+	@Test
+	public void deveRemoverDoCacheAoSalvarUsuario() {
+		//cenário
+		Usuario usuario = Usuario.builder().nome("usuario").email("novo@email.com").senha("senha").build();
+		cacheManager.getCache(CacheConfiguration.USUARIOS_POR_EMAIL).put("novo@email.com", Optional.empty());
+		
+		//execução
+		service.salvarUsuario(usuario);
+		
+		//verificação
+		Assertions.assertThat( cacheManager.getCache(CacheConfiguration.USUARIOS_POR_EMAIL).get("novo@email.com") ).isNull();
+	}
+}
@@ -0,0 +1,170 @@
+package br.com.minhasFinancas.model.repository.reativo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasFinancas.config.DataSourceConfiguration;
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.SaldoUsuario;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.leitura.LancamentoLeitura;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.SaldoUsuarioRepository;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+import br.com.minhasFinancas.service.LeituraReativaService;
+import br.com.minhasFinancas.service.impl.LeituraReativaServiceImpl;
+import reactor.test.StepVerifier;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ImportAutoConfiguration({ R2dbcAutoConfiguration.class, R2dbcDataAutoConfiguration.class, R2dbcRepositoriesAutoConfiguration.class })
+@Import({ DataSourceConfiguration.class, LeituraReativaServiceImpl.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // o R2DBC usa outra conexão e só enxerga o que foi commitado
+public class LancamentoLeituraRepositoryTest {
+
+	@Autowired
+	LeituraReativaService service;
+	
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	SaldoUsuarioRepository saldoUsuarioRepository;
+	
+	Usuario usuario;
+	
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("reativo@email.com").build());
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		lancamentoRepository.deleteAll();
+		saldoUsuarioRepository.deleteAll();
+		usuarioRepository.deleteAll();
+	}
+	
+	@Test
+	public void deveBuscarOsLancamentosDoUsuarioNaOrdemDoFiltroJpa() {
+		//cenário
+		Lancamento dezembro = lancamentoRepository.save(criarLancamento("aluguel", 12, 2023));
+		Lancamento janeiro = lancamentoRepository.save(criarLancamento("mercado", 1, 2024));
+		Lancamento novembro = lancamentoRepository.save(criarLancamento("luz", 11, 2023));
+		
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		
+		//execução e verificação
+		StepVerifier.create(service.buscar(filtro).map(LancamentoLeitura::getId))
+			.expectNext(novembro.getId(), dezembro.getId(), janeiro.getId())
+			.verifyComplete();
+	}
+	
+	@Test
+	public void deveFiltrarPorDescricaoTratandoCuringasComoTexto() {
+		//cenário
+		Lancamento comCuringa = lancamentoRepository.save(criarLancamento("Desconto 10%", 1, 2024));
+		lancamentoRepository.save(criarLancamento("Desconto 100", 1, 2024));
+		
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setDescricao("10%");
+		
+		//execução e verificação
+		StepVerifier.create(service.buscar(filtro))
+			.assertNext(lancamento -> {
+				Assertions.assertThat(lancamento.getId()).isEqualTo(comCuringa.getId());
+				Assertions.assertThat(lancamento.getIdUsuario()).isEqualTo(usuario.getId());
+				Assertions.assertThat(lancamento.getTipo()).isEqualTo(TipoLancamento.RECEITA);
+				Assertions.assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+			})
+			.verifyComplete();
+	}
+	
+	@Test
+	public void deveEntregarOsLancamentosConformeADemanda() {
+		//cenário
+		for (int mes = 1; mes <= 12; mes++) {
+			lancamentoRepository.save(criarLancamento("lancamento", mes, 2024));
+		}
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		
+		//execução e verificação
+		StepVerifier.create(service.buscar(filtro), 2)
+			.expectNextCount(2)
+			.thenRequest(10)
+			.expectNextCount(10)
+			.verifyComplete();
+	}
+	
+	@Test
+	public void deveLancarErroAoBuscarSemUsuario() {
+		//execução e verificação
+		StepVerifier.create(service.buscar(new Lancamento()))
+			.expectError(RegraNegocioException.class)
+			.verify();
+	}
+	
+	@Test
+	public void deveObterOSaldoDoUsuario() {
+		//cenário
+		saldoUsuarioRepository.save(SaldoUsuario.builder().idUsuario(usuario.getId()).valor(BigDecimal.valueOf(150)).build());
+		
+		//execução e verificação
+		StepVerifier.create(service.obterSaldoPorUsuario(usuario.getId()))
+			.assertNext(saldo -> Assertions.assertThat(saldo).isEqualByComparingTo("150"))
+			.verifyComplete();
+	}
+	
+	@Test
+	public void deveRetornarSaldoZeroParaUsuarioSemLancamentosEVazioParaUsuarioInexistente() {
+		//execução e verificação
+		StepVerifier.create(service.obterSaldoPorUsuario(usuario.getId()))
+			.assertNext(saldo -> Assertions.assertThat(saldo).isEqualByComparingTo(BigDecimal.ZERO))
+			.verifyComplete();
+		StepVerifier.create(service.obterSaldoPorUsuario(usuario.getId() + 1000))
+			.verifyComplete();
+	}
+	
+	private Lancamento criarLancamento(String descricao, int mes, int ano) {
+		return Lancamento.builder()
+				.descricao(descricao)
+				.mes(mes)
+				.ano(ano)
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.RECEITA)
+				.status(StatusLancamento.PENDENTE)
+				.dataCadastro(LocalDate.now())
+				.usuario(usuario)
+				.build();
+	}
+}
@@ -0,0 +1,212 @@
+package br.com.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.api.dto.FechamentoDTO;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.SaldoUsuario;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.EventoLancamentoRepository;
+import br.com.minhasFinancas.model.repository.EventoPendenteRepository;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.ResumoMensalRepository;
+import br.com.minhasFinancas.model.repository.SaldoUsuarioRepository;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+
+/**
+ * Várias threads alterando o status do mesmo lançamento contra o banco: nenhuma alteração pode se
+ * perder nem movimentar o saldo duas vezes, e quem perde a corrida recebe o conflito em vez de sobrescrever.
+ */
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@SpringBootTest(properties = "eventos.despacho.intervalo-ms=3600000")
+public class AtualizacaoStatusConcorrenteTest {
+
+	static final int THREADS = 8;
+
+	@Autowired
+	LancamentoService service;
+
+	@Autowired
+	SaldoUsuarioService saldoUsuarioService;
+
+	@Autowired
+	LancamentoRepository repository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@Autowired
+	ResumoMensalRepository resumoMensalRepository;
+
+	@Autowired
+	EventoPendenteRepository eventoPendenteRepository;
+
+	@Autowired
+	EventoLancamentoRepository eventoLancamentoRepository;
+
+	Usuario usuario;
+
+	Lancamento lancamento;
+
+	ExecutorService executor;
+
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("concorrente@email.com").senha("senha").build());
+		lancamento = repository.save(criarLancamento(8, BigDecimal.TEN));
+		saldoUsuarioRepository.save(SaldoUsuario.builder().idUsuario(usuario.getId()).valor(BigDecimal.ZERO).build());
+		executor = Executors.newFixedThreadPool(THREADS);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		executor.shutdownNow();
+		eventoPendenteRepository.deleteAllInBatch();
+		eventoLancamentoRepository.deleteAllInBatch();
+		resumoMensalRepository.deleteAll();
+		saldoUsuarioRepository.deleteAll();
+		repository.deleteAll();
+		usuarioRepository.deleteAll();
+	}
+
+	@Test
+	public void apenasUmaDasAtualizacoesComAMesmaVersaoDeveSerAplicada() throws Exception {
+		//cenário
+		Long versao = lancamento.getVersao();
+		CountDownLatch largada = new CountDownLatch(1);
+		AtomicInteger conflitos = new AtomicInteger();
+		List<Future<Boolean>> resultados = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			resultados.add(executor.submit( () -> {
+				largada.await();
+				try {
+					return service.atualizarStatus(lancamento.getId(), versao, StatusLancamento.EFETIVADO).isPresent();
+				} catch (OptimisticLockingFailureException e) {
+					conflitos.incrementAndGet();
+					return false;
+				}
+			}));
+		}
+
+		//execução
+		largada.countDown();
+		int aplicadas = 0;
+		for (Future<Boolean> resultado : resultados) {
+			aplicadas += resultado.get(30, TimeUnit.SECONDS) ? 1 : 0;
+		}
+
+		//verificação
+		Assertions.assertThat(aplicadas).isEqualTo(1);
+		Assertions.assertThat(conflitos.get()).isEqualTo(THREADS - 1);
+		Lancamento gravado = repository.findById(lancamento.getId()).get();
+		Assertions.assertThat(gravado.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		Assertions.assertThat(gravado.getVersao()).isEqualTo(versao + 1);
+		Assertions.assertThat(saldoUsuarioService.obterSaldo(usuario.getId())).isEqualByComparingTo(BigDecimal.TEN);
+	}
+
+	@Test
+	public void oSaldoDeveAcompanharOStatusFinalMesmoComAlteracoesConcorrentes() throws Exception {
+		//cenário: cada thread alterna o status, relendo a versão a cada conflito
+		int alteracoesPorThread = 10;
+		CountDownLatch largada = new CountDownLatch(1);
+		Callable<Integer> alternar = () -> {
+			largada.await();
+			int conflitos = 0;
+			for (int feitas = 0; feitas < alteracoesPorThread; ) {
+				Lancamento atual = repository.findById(lancamento.getId()).get();
+				StatusLancamento novo = atual.getStatus() == StatusLancamento.EFETIVADO ? StatusLancamento.PENDENTE : StatusLancamento.EFETIVADO;
+				try {
+					service.atualizarStatus(atual.getId(), atual.getVersao(), novo);
+					feitas++;
+				} catch (OptimisticLockingFailureException e) {
+					conflitos++;
+				}
+			}
+			return conflitos;
+		};
+		List<Future<Integer>> resultados = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			resultados.add(executor.submit(alternar));
+		}
+
+		//execução
+		largada.countDown();
+		for (Future<Integer> resultado : resultados) {
+			resultado.get(60, TimeUnit.SECONDS);
+		}
+
+		//verificação: nenhuma alteração perdida e o saldo é o do status gravado
+		Lancamento gravado = repository.findById(lancamento.getId()).get();
+		Assertions.assertThat(gravado.getVersao()).isEqualTo(lancamento.getVersao() + THREADS * alteracoesPorThread);
+		BigDecimal esperado = gravado.getStatus() == StatusLancamento.EFETIVADO ? BigDecimal.TEN : BigDecimal.ZERO;
+		Assertions.assertThat(saldoUsuarioService.obterSaldo(usuario.getId())).isEqualByComparingTo(esperado);
+	}
+
+	@Test
+	public void deveTransicionarOsLancamentosDoMesUmaUnicaVez() throws Exception {
+		//cenário: o mês 8 tem três pendentes, o mês 9 fica de fora
+		repository.save(criarLancamento(8, BigDecimal.valueOf(5)));
+		repository.save(criarLancamento(8, BigDecimal.valueOf(1)));
+		Lancamento outroMes = repository.save(criarLancamento(9, BigDecimal.valueOf(100)));
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<FechamentoDTO>> resultados = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			resultados.add(executor.submit( () -> {
+				largada.await();
+				return service.transicionarStatus(usuario.getId(), 2024, 8, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+			}));
+		}
+
+		//execução
+		largada.countDown();
+		int alterados = 0;
+		for (Future<FechamentoDTO> resultado : resultados) {
+			alterados += resultado.get(30, TimeUnit.SECONDS).getAlterados();
+		}
+
+		//verificação
+		Assertions.assertThat(alterados).isEqualTo(3);
+		Assertions.assertThat(saldoUsuarioService.obterSaldo(usuario.getId())).isEqualByComparingTo(BigDecimal.valueOf(16));
+		Assertions.assertThat(repository.findById(outroMes.getId()).get().getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+	}
+
+	private Lancamento criarLancamento(int mes, BigDecimal valor) {
+		return Lancamento.builder()
+				.descricao("lancamento concorrente")
+				.mes(mes)
+				.ano(2024)
+				.valor(valor)
+				.tipo(TipoLancamento.RECEITA)
+				.status(StatusLancamento.PENDENTE)
+				.dataCadastro(LocalDate.now())
+				.usuario(usuario)
+				.build();
+	}
+}
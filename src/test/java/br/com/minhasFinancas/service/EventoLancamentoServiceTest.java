@@ -0,0 +1,218 @@
+package br.com.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.LancamentoGravado;
+import br.com.minhasFinancas.model.entity.ResumoMensal;
+import br.com.minhasFinancas.model.entity.ResumoMensalId;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.EventoLancamentoRepository;
+import br.com.minhasFinancas.model.repository.EventoPendenteRepository;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.ResumoMensalRepository;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+import br.com.minhasFinancas.service.eventos.AlteracaoLancamento;
+import br.com.minhasFinancas.service.eventos.ProjecaoLancamento;
+import br.com.minhasFinancas.service.eventos.ResumoMensalProjecao;
+import br.com.minhasFinancas.service.impl.EventoLancamentoServiceImpl;
+import br.com.minhasFinancas.service.impl.ResumoMensalServiceImpl;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import({ EventoLancamentoServiceImpl.class, ResumoMensalServiceImpl.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada lote é aplicado e tirado da fila na sua própria transação
+public class EventoLancamentoServiceTest {
+
+	// fila própria: o despachante de outros contextos de teste pode estar rodando no mesmo banco
+	static final String PROJECAO = "resumo_mensal_teste";
+	
+	@TestConfiguration
+	static class Configuracao {
+		
+		@Bean
+		public ProjecaoLancamento projecao(ResumoMensalService resumoMensalService) {
+			ResumoMensalProjecao resumo = new ResumoMensalProjecao(resumoMensalService);
+			return new ProjecaoLancamento() {
+				@Override
+				public String getNome() {
+					return PROJECAO;
+				}
+				@Override
+				public void aplicar(List<AlteracaoLancamento> alteracoes) {
+					resumo.aplicar(alteracoes);
+				}
+			};
+		}
+	}
+	
+	@Autowired
+	EventoLancamentoService service;
+	
+	@Autowired
+	ProjecaoLancamento projecao;
+	
+	@Autowired
+	EventoLancamentoRepository eventoRepository;
+	
+	@Autowired
+	EventoPendenteRepository pendenteRepository;
+	
+	@Autowired
+	ResumoMensalRepository resumoRepository;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	
+	Long usuario;
+	
+	List<Long> lancamentos;
+	
+	// usuário e lançamentos gravados de verdade: os ids vêm da identity e da sequence, sem colidir com os de outros testes
+	@BeforeEach
+	public void setUp() {
+		Usuario dono = usuarioRepository.save(Usuario.builder().nome("usuario").email("eventos@email.com").build());
+		usuario = dono.getId();
+		lancamentos = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			lancamentos.add(lancamentoRepository.save(Lancamento.builder().descricao("evento").ano(2020).mes(8).valor(BigDecimal.TEN)
+					.tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE).usuario(dono).build()).getId());
+		}
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		new TransactionTemplate(transactionManager).executeWithoutResult( status -> pendenteRepository.removerPendentes(PROJECAO) );
+		service.removerAplicados(Duration.ofDays(-1));
+		resumoRepository.deleteAll(resumoRepository.findByUsuarioEAno(usuario, 2020));
+		lancamentoRepository.deleteAllById(lancamentos);
+		usuarioRepository.deleteById(usuario);
+	}
+	
+	@Test
+	public void deveAplicarOsEventosNoResumoEmLotesNaOrdemEmQueForamGravados() {
+		//cenário
+		service.registrar(Arrays.asList(
+				new AlteracaoLancamento(lancamentos.get(0), null, gravado(8, 10)),
+				new AlteracaoLancamento(lancamentos.get(1), null, gravado(8, 5)),
+				new AlteracaoLancamento(lancamentos.get(0), gravado(8, 10), gravado(9, 15))));
+		
+		//execução
+		int primeiroLote = service.processar(projecao, 1, 0, 2);
+		List<ResumoMensal> depoisDoPrimeiroLote = resumoRepository.findByUsuarioEAno(usuario, 2020);
+		int segundoLote = service.processar(projecao, 1, 0, 2);
+		int terceiroLote = service.processar(projecao, 1, 0, 2);
+		
+		//verificação
+		Assertions.assertThat(primeiroLote).isEqualTo(2);
+		Assertions.assertThat(depoisDoPrimeiroLote).containsExactly(resumo(8, 15, 2));
+		Assertions.assertThat(segundoLote).isEqualTo(1);
+		Assertions.assertThat(terceiroLote).isZero();
+		Assertions.assertThat(resumoRepository.findByUsuarioEAno(usuario, 2020)).containsExactly(resumo(8, 5, 1), resumo(9, 15, 1));
+		Assertions.assertThat(service.contarPendentes(projecao)).isZero();
+		Assertions.assertThat(service.obterAtraso(projecao)).isZero();
+	}
+	
+	@Test
+	public void deveManterOLoteNaFilaQuandoAProjecaoFalhar() {
+		//cenário
+		service.registrar(Arrays.asList(new AlteracaoLancamento(lancamentos.get(0), null, gravado(8, 10))));
+		ProjecaoLancamento comFalha = new ProjecaoLancamento() {
+			@Override
+			public String getNome() {
+				return PROJECAO;
+			}
+			@Override
+			public void aplicar(List<AlteracaoLancamento> alteracoes) {
+				projecao.aplicar(alteracoes);
+				throw new IllegalStateException("falha na projeção");
+			}
+		};
+		
+		//execução
+		Throwable erro = Assertions.catchThrowable( () -> service.processar(comFalha, 1, 0, 10) );
+		
+		//verificação
+		Assertions.assertThat(erro).isInstanceOf(IllegalStateException.class);
+		Assertions.assertThat(service.contarPendentes(projecao)).isEqualTo(1);
+		Assertions.assertThat(resumoRepository.findByUsuarioEAno(usuario, 2020)).isEmpty();
+		Assertions.assertThat(service.processar(projecao, 1, 0, 10)).isEqualTo(1);
+		Assertions.assertThat(resumoRepository.findByUsuarioEAno(usuario, 2020)).containsExactly(resumo(8, 10, 1));
+	}
+	
+	@Test
+	public void deveDividirAFilaPeloUsuario() {
+		//cenário: lançamentos diferentes do mesmo usuário
+		service.registrar(Arrays.asList(
+				new AlteracaoLancamento(lancamentos.get(0), null, gravado(8, 10)),
+				new AlteracaoLancamento(lancamentos.get(1), null, gravado(8, 10)),
+				new AlteracaoLancamento(lancamentos.get(2), gravado(8, 10), null)));
+		
+		int particaoDoUsuario = (int) (usuario % 2);
+		
+		//execução
+		int outraParticao = service.processar(projecao, 2, 1 - particaoDoUsuario, 10);
+		int particaoDoUsuarioProcessada = service.processar(projecao, 2, particaoDoUsuario, 10);
+		
+		//verificação: só a partição do usuário grava as linhas de resumo dele
+		Assertions.assertThat(outraParticao).isZero();
+		Assertions.assertThat(particaoDoUsuarioProcessada).isEqualTo(3);
+		Assertions.assertThat(resumoRepository.findByUsuarioEAno(usuario, 2020)).containsExactly(resumo(8, 10, 1));
+	}
+	
+	@Test
+	public void deveRemoverDoJornalApenasOsEventosJaAplicados() {
+		//cenário
+		service.registrar(Arrays.asList(new AlteracaoLancamento(lancamentos.get(0), null, gravado(8, 10))));
+		service.processar(projecao, 1, 0, 10);
+		service.registrar(Arrays.asList(new AlteracaoLancamento(lancamentos.get(1), null, gravado(8, 10))));
+		
+		//execução
+		service.removerAplicados(Duration.ofDays(-1));
+		
+		//verificação
+		Assertions.assertThat(eventoRepository.findAll()).extracting("idLancamento").contains(lancamentos.get(1)).doesNotContain(lancamentos.get(0));
+	}
+	
+	private LancamentoGravado gravado(int mes, int valor) {
+		return new LancamentoGravado(usuario, 2020, mes, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(valor));
+	}
+	
+	private ResumoMensal resumo(int mes, int valor, long quantidade) {
+		return new ResumoMensal(new ResumoMensalId(usuario, 2020, mes, TipoLancamento.RECEITA, StatusLancamento.PENDENTE),
+				new BigDecimal(valor + ".00"), quantidade);
+	}
+}
@@ -0,0 +1,97 @@
+package br.com.minhasFinancas.service;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.api.dto.ResultadoImportacaoDTO;
+import br.com.minhasFinancas.api.dto.ResultadoLoteDTO;
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.service.impl.ImportacaoServiceImpl;
+import br.com.minhasFinancas.service.importacao.FormatoExtrato;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+public class ImportacaoServiceTest {
+
+	@SpyBean
+	ImportacaoServiceImpl service;
+	
+	@MockBean
+	LancamentoService lancamentoService;
+	
+	@MockBean
+	UsuarioService usuarioService;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deveImportarOExtratoIgnorandoLinhasDuplicadas() {
+		//cenário
+		String csv = "15/01/2020;Mercado;-100,50\n"
+				+ "15/01/2020;Mercado;-100,50\n"
+				+ "20/01/2020;Salário;3000\n"
+				+ "21/01/2020;Já importado;10\n"
+				+ "xx;linha ruim\n";
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.of(Usuario.builder().id(1l).build()) );
+		Mockito.when( usuarioService.obterReferencia(1l) ).thenReturn( Usuario.builder().id(1l).build() );
+		Mockito.when( lancamentoRepository.buscarHashesImportados(Mockito.eq(1l), Mockito.anyCollection()) ).thenAnswer( invocacao -> {
+			List<String> hashes = new ArrayList<>((Collection<String>) invocacao.getArgument(1));
+			return Collections.singletonList(hashes.get(2));
+		});
+		Mockito.when( lancamentoService.salvarLote(Mockito.anyList()) ).thenReturn( Arrays.asList(
+				ResultadoLoteDTO.builder().id(1l).build(), ResultadoLoteDTO.builder().id(2l).build() ) );
+		
+		//execução
+		ResultadoImportacaoDTO resultado = service.importar(1l, FormatoExtrato.CSV, new StringReader(csv));
+		
+		//verificação
+		ArgumentCaptor<List<Lancamento>> bloco = ArgumentCaptor.forClass(List.class);
+		Mockito.verify( lancamentoService ).salvarLote( bloco.capture() );
+		Assertions.assertThat( bloco.getValue() ).hasSize(2);
+		Lancamento mercado = bloco.getValue().get(0);
+		Assertions.assertThat( mercado.getTipo() ).isEqualTo(TipoLancamento.DESPESA);
+		Assertions.assertThat( mercado.getValor() ).isEqualByComparingTo("100.50");
+		Assertions.assertThat( mercado.getMes() ).isEqualTo(1);
+		Assertions.assertThat( mercado.getAno() ).isEqualTo(2020);
+		Assertions.assertThat( mercado.getHashImportacao() ).hasSize(64);
+		Assertions.assertThat( bloco.getValue().get(1).getTipo() ).isEqualTo(TipoLancamento.RECEITA);
+		
+		Assertions.assertThat( resultado.getLidas() ).isEqualTo(5);
+		Assertions.assertThat( resultado.getImportadas() ).isEqualTo(2);
+		Assertions.assertThat( resultado.getDuplicadas() ).isEqualTo(2);
+		Assertions.assertThat( resultado.getRejeitadas() ).isEqualTo(1);
+		Assertions.assertThat( resultado.getErros() ).containsExactly("Linha 5: Linha com menos de 3 colunas.");
+	}
+	
+	@Test
+	public void naoDeveImportarParaUsuarioInexistente() {
+		//cenário
+		Mockito.when( usuarioService.finById(1l) ).thenReturn( Optional.empty() );
+		
+		//execução e verificação
+		Throwable exception = Assertions.catchThrowable( () -> service.importar(1l, FormatoExtrato.CSV, new StringReader("")) );
+		Assertions.assertThat(exception).isInstanceOf(RegraNegocioException.class);
+		Mockito.verifyNoInteractions(lancamentoService);
+	}
+}
@@ -3,6 +3,7 @@ package br.com.minhasFinancas.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,17 +13,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import br.com.minhasFinancas.api.dto.FechamentoDTO;
+import br.com.minhasFinancas.api.dto.ResultadoLoteDTO;
 import br.com.minhasFinancas.exception.RegraNegocioException;
 import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.LancamentoGravado;
 import br.com.minhasFinancas.model.entity.Usuario;
 import br.com.minhasFinancas.model.enums.StatusLancamento;
 import br.com.minhasFinancas.model.enums.TipoLancamento;
 import br.com.minhasFinancas.model.repository.LancamentoRepository;
 import br.com.minhasFinancas.model.repository.LancamentoRepositoryTest;
+import br.com.minhasFinancas.service.eventos.AlteracaoLancamento;
 import br.com.minhasFinancas.service.impl.LancamentoServiceImpl;
 
 @ExtendWith( SpringExtension.class )
@@ -35,6 +42,15 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository repository;
 	
+	@MockBean
+	SaldoUsuarioService saldoUsuarioService;
+	
+	@MockBean
+	ResumoMensalService resumoMensalService;
+	
+	@MockBean
+	EventoLancamentoService eventoLancamentoService;
+	
 	@Test
 	public void deveSalvarUmlancamento() {
 		//cenário
@@ -54,6 +70,36 @@ public class LancamentoServiceTest {
 		Assertions.assertThat( lancamento.getStatus() ).isEqualTo( StatusLancamento.PENDENTE );
 	}
 	
+	@Test
+	public void deveSalvarOsLancamentosValidosDoLoteEReportarOsInvalidos() {
+		//cenário
+		Lancamento valido = LancamentoRepositoryTest.criarLancamento();
+		Lancamento invalido = LancamentoRepositoryTest.criarLancamento();
+		invalido.setDescricao(null);
+		Lancamento outroValido = LancamentoRepositoryTest.criarLancamento();
+		outroValido.setValor(BigDecimal.valueOf(5));
+		Mockito.doAnswer( invocacao -> {
+			List<Lancamento> lancamentos = invocacao.getArgument(0);
+			for (int i = 0; i < lancamentos.size(); i++) {
+				lancamentos.get(i).setId(i + 1l);
+			}
+			return null;
+		}).when(repository).salvarEmLote(Mockito.anyList());
+		
+		//execução
+		List<ResultadoLoteDTO> resultados = service.salvarLote(Arrays.asList(valido, invalido, outroValido));
+		
+		//verificação
+		Assertions.assertThat(resultados).extracting(ResultadoLoteDTO::getId).containsExactly(1l, null, 2l);
+		Assertions.assertThat(resultados.get(1).getErro()).isEqualTo("Informe uma descrição válida.");
+		Assertions.assertThat(valido.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Mockito.verify( repository ).salvarEmLote( Arrays.asList(valido, outroValido) );
+		Mockito.verify( eventoLancamentoService, Mockito.times(1) ).registrar( Arrays.asList(
+				new AlteracaoLancamento(1l, null, LancamentoGravado.de(valido)),
+				new AlteracaoLancamento(2l, null, LancamentoGravado.de(outroValido))) );
+		Mockito.verifyNoInteractions(resumoMensalService);
+	}
+	
 	@Test
 	public void naoDeveSalvarUmLancamentoQuandoHouverErroDeValidacao() {
 		//cenário
@@ -127,7 +173,7 @@ public class LancamentoServiceTest {
 		lancamento.setId(1l);
 		
 		List<Lancamento> lista = Arrays.asList(lancamento);
-		Mockito.when( repository.findAll( Mockito.any( Example.class) ) ).thenReturn(lista);
+		Mockito.when( repository.findAll( Mockito.any( Specification.class), Mockito.any( Sort.class ) ) ).thenReturn(lista);
 		
 		//execução
 		List<Lancamento> resultado = service.buscar(lancamento);
@@ -136,22 +182,115 @@ public class LancamentoServiceTest {
 		Assertions.assertThat(resultado).isNotEmpty().hasSize(1).contains(lancamento);
 	}
 	
+	@Test
+	public void deveLimitarOTamanhoDaPagina() {
+		//cenário
+		Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+		
+		//execução
+		service.buscar(filtro, null, 10000);
+		
+		//verificação
+		Mockito.verify( repository ).buscarPagina(filtro, null, LancamentoService.TAMANHO_MAXIMO_PAGINA);
+	}
+	
+	@Test
+	public void naoDeveBuscarPaginaComTamanhoInvalido() {
+		//execução e verificação
+		Throwable exception = Assertions.catchThrowable( () -> service.buscar(new Lancamento(), null, 0) );
+		Assertions.assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um tamanho de página válido.");
+	}
+	
 	@Test
 	public void deveAtualizarOStatusDeUmLancamento() {
 		//cenário
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
 		lancamento.setId(1l);
-		lancamento.setStatus( StatusLancamento.PENDENTE );
-		
-		StatusLancamento novoStatus = StatusLancamento.EFETIVADO;
-		Mockito.doReturn( lancamento ).when( service ).atualizar(lancamento);
+		lancamento.setVersao(3l);
+		lancamento.setGravado(LancamentoGravado.de(lancamento));
+		Mockito.when( repository.findById(1l) ).thenReturn( Optional.of(lancamento) );
+		Mockito.when( repository.atualizarStatus(1l, 3l, StatusLancamento.EFETIVADO) ).thenReturn(1);
 		
 		//execução
-		service.atualizarStatus(lancamento, novoStatus);
+		Optional<Lancamento> resultado = service.atualizarStatus(1l, 3l, StatusLancamento.EFETIVADO);
 		
 		//validação
-		Assertions.assertThat( lancamento.getStatus() ).isEqualTo( StatusLancamento.EFETIVADO );
-		Mockito.verify( service ).atualizar(lancamento);
+		Assertions.assertThat( resultado.get().getStatus() ).isEqualTo( StatusLancamento.EFETIVADO );
+		Assertions.assertThat( resultado.get().getVersao() ).isEqualTo( 4l );
+		Mockito.verify( repository, Mockito.never() ).save( Mockito.any(Lancamento.class) );
+		Mockito.verify( saldoUsuarioService ).movimentar( 1l, BigDecimal.valueOf(10) );
+	}
+	
+	@Test
+	public void naoDeveAtualizarOStatusQuandoOLancamentoFoiAlteradoDepoisDaLeitura() {
+		//cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setVersao(3l);
+		Mockito.when( repository.findById(1l) ).thenReturn( Optional.of(lancamento) );
+		Mockito.when( repository.atualizarStatus(1l, 3l, StatusLancamento.EFETIVADO) ).thenReturn(0);
+		
+		//execução
+		Throwable versaoDoCliente = Assertions.catchThrowable( () -> service.atualizarStatus(1l, 2l, StatusLancamento.EFETIVADO) );
+		Throwable versaoLida = Assertions.catchThrowable( () -> service.atualizarStatus(1l, null, StatusLancamento.EFETIVADO) );
+		
+		//verificação
+		Assertions.assertThat(versaoDoCliente).isInstanceOf(OptimisticLockingFailureException.class);
+		Assertions.assertThat(versaoLida).isInstanceOf(OptimisticLockingFailureException.class);
+		Mockito.verify( repository, Mockito.times(1) ).atualizarStatus(1l, 3l, StatusLancamento.EFETIVADO);
+		Mockito.verifyNoInteractions(saldoUsuarioService, eventoLancamentoService);
+	}
+	
+	@Test
+	public void deveTransicionarOsLancamentosDoMesComUmaMovimentacaoNoSaldo() {
+		//cenário
+		Lancamento receita = LancamentoRepositoryTest.criarLancamento();
+		receita.setId(1l);
+		receita.setGravado(LancamentoGravado.de(receita));
+		Lancamento despesa = LancamentoRepositoryTest.criarLancamento();
+		despesa.setId(2l);
+		despesa.setTipo(TipoLancamento.DESPESA);
+		despesa.setValor(BigDecimal.valueOf(4));
+		despesa.setGravado(LancamentoGravado.de(despesa));
+		Mockito.when( repository.bloquearPorStatusNoMes(1l, 2020, 8, StatusLancamento.PENDENTE) ).thenReturn( Arrays.asList(receita, despesa) );
+		Mockito.when( repository.transicionarStatus(1l, 2020, 8, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO) ).thenReturn(2);
+		
+		//execução
+		FechamentoDTO fechamento = service.transicionarStatus(1l, 2020, 8, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+		
+		//verificação
+		Assertions.assertThat(fechamento.getAlterados()).isEqualTo(2);
+		Assertions.assertThat(fechamento.getReceitas()).isEqualTo(1);
+		Assertions.assertThat(fechamento.getDespesas()).isEqualTo(1);
+		Assertions.assertThat(fechamento.getValorMovimentado()).isEqualByComparingTo(BigDecimal.valueOf(6));
+		Mockito.verify( saldoUsuarioService, Mockito.times(1) ).movimentar( 1l, BigDecimal.valueOf(6) );
+		Mockito.verify( eventoLancamentoService ).registrar( Mockito.argThat( (List<AlteracaoLancamento> alteracoes) -> alteracoes.size() == 2
+				&& alteracoes.stream().allMatch( a -> a.getAtual().getStatus() == StatusLancamento.EFETIVADO ) ) );
+	}
+	
+	@Test
+	public void naoDeveTransicionarQuandoOUpdateAlcancarLancamentosNaoBloqueados() {
+		//cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setGravado(LancamentoGravado.de(lancamento));
+		Mockito.when( repository.bloquearPorStatusNoMes(1l, 2020, 8, StatusLancamento.PENDENTE) ).thenReturn( Arrays.asList(lancamento) );
+		Mockito.when( repository.transicionarStatus(1l, 2020, 8, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO) ).thenReturn(2);
+		
+		//execução
+		Throwable exception = Assertions.catchThrowable( () -> service.transicionarStatus(1l, 2020, 8, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO) );
+		
+		//verificação
+		Assertions.assertThat(exception).isInstanceOf(OptimisticLockingFailureException.class);
+		Mockito.verifyNoInteractions(saldoUsuarioService, eventoLancamentoService);
+	}
+	
+	@Test
+	public void naoDeveTransicionarParaOMesmoStatus() {
+		//execução e verificação
+		Throwable exception = Assertions.catchThrowable( () -> service.transicionarStatus(1l, 2020, 8, StatusLancamento.PENDENTE, StatusLancamento.PENDENTE) );
+		Assertions.assertThat(exception).isInstanceOf(RegraNegocioException.class);
+		Mockito.verify( repository, Mockito.never() ).transicionarStatus( Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any() );
 	}
 	
 	@Test
@@ -188,6 +327,167 @@ public class LancamentoServiceTest {
 		
 	}
 	
+	@Test
+	public void deveSomarAoSaldoAoEfetivarUmLancamento() {
+		//cenário
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1l);
+		persistido.setStatus(StatusLancamento.PENDENTE);
+		persistido.setGravado(LancamentoGravado.de(persistido));
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when( repository.findById(1l) ).thenReturn( Optional.of(persistido) );
+		Mockito.when( repository.save(lancamento) ).thenReturn(lancamento);
+		
+		//execução
+		service.atualizar(lancamento);
+		
+		//verificação
+		Mockito.verify( saldoUsuarioService ).movimentar(1l, BigDecimal.valueOf(10));
+	}
+	
+	@Test
+	public void deveSubtrairDoSaldoAoCancelarUmaDespesaEfetivada() {
+		//cenário
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1l);
+		persistido.setTipo(TipoLancamento.DESPESA);
+		persistido.setStatus(StatusLancamento.EFETIVADO);
+		persistido.setGravado(LancamentoGravado.de(persistido));
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setTipo(TipoLancamento.DESPESA);
+		lancamento.setStatus(StatusLancamento.CANCELADO);
+		
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when( repository.findById(1l) ).thenReturn( Optional.of(persistido) );
+		Mockito.when( repository.save(lancamento) ).thenReturn(lancamento);
+		
+		//execução
+		service.atualizar(lancamento);
+		
+		//verificação
+		Mockito.verify( saldoUsuarioService ).movimentar(1l, BigDecimal.valueOf(10));
+	}
+	
+	@Test
+	public void deveMoverOValorNoSaldoQuandoOUsuarioDoLancamentoMudar() {
+		//cenário
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1l);
+		persistido.setUsuario( Usuario.builder().id(2l).build() );
+		persistido.setStatus(StatusLancamento.EFETIVADO);
+		persistido.setGravado(LancamentoGravado.de(persistido));
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when( repository.findById(1l) ).thenReturn( Optional.of(persistido) );
+		Mockito.when( repository.save(lancamento) ).thenReturn(lancamento);
+		
+		//execução
+		service.atualizar(lancamento);
+		
+		//verificação
+		Mockito.verify( saldoUsuarioService ).movimentar(2l, BigDecimal.valueOf(-10));
+		Mockito.verify( saldoUsuarioService ).movimentar(1l, BigDecimal.valueOf(10));
+	}
+	
+	@Test
+	public void deveRetirarDoSaldoAoDeletarUmLancamentoEfetivado() {
+		//cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		lancamento.setGravado(LancamentoGravado.de(lancamento));
+		Mockito.when( repository.findById(1l) ).thenReturn( Optional.of(lancamento) );
+		
+		//execução
+		service.deletar(lancamento);
+		
+		//verificação
+		Mockito.verify( saldoUsuarioService ).movimentar(1l, BigDecimal.valueOf(-10));
+	}
+	
+	@Test
+	public void deveRegistrarOEventoAoSalvarUmLancamento() {
+		//cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when( repository.save(lancamento) ).thenReturn(lancamento);
+		
+		//execução
+		service.salvar(lancamento);
+		
+		//verificação
+		Mockito.verify( eventoLancamentoService ).registrar( Collections.singletonList(
+				new AlteracaoLancamento(null, null, LancamentoGravado.de(lancamento))) );
+		Mockito.verify( saldoUsuarioService ).movimentar(1l, BigDecimal.ZERO);
+		Mockito.verifyNoInteractions(resumoMensalService);
+	}
+	
+	@Test
+	public void deveRegistrarOEstadoAnteriorEOAtualAoAtualizarUmLancamento() {
+		//cenário
+		Lancamento persistido = LancamentoRepositoryTest.criarLancamento();
+		persistido.setId(1l);
+		persistido.setGravado(LancamentoGravado.de(persistido));
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setMes(9);
+		lancamento.setValor(BigDecimal.valueOf(15));
+		
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when( repository.findById(1l) ).thenReturn( Optional.of(persistido) );
+		Mockito.when( repository.save(lancamento) ).thenReturn(lancamento);
+		
+		//execução
+		service.atualizar(lancamento);
+		
+		//verificação
+		Mockito.verify( eventoLancamentoService ).registrar( Collections.singletonList(
+				new AlteracaoLancamento(1l, LancamentoGravado.de(persistido), LancamentoGravado.de(lancamento))) );
+	}
+	
+	@Test
+	public void naoDeveAlterarSaldoNemRegistrarEventoQuandoNadaMudar() {
+		//cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setGravado(LancamentoGravado.de(lancamento));
+		
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when( repository.findById(1l) ).thenReturn( Optional.of(lancamento) );
+		Mockito.when( repository.save(lancamento) ).thenReturn(lancamento);
+		
+		//execução
+		service.atualizar(lancamento);
+		
+		//verificação
+		Mockito.verifyNoInteractions(saldoUsuarioService, eventoLancamentoService);
+	}
+	
+	@Test
+	public void deveObterOSaldoMaterializadoDoUsuario() {
+		//cenário
+		Mockito.when( saldoUsuarioService.obterSaldo(1l) ).thenReturn( BigDecimal.valueOf(100) );
+		
+		//execução
+		BigDecimal saldo = service.obterSaldoPorUsuario(1l);
+		
+		//verificação
+		Assertions.assertThat(saldo).isEqualTo(BigDecimal.valueOf(100));
+		Mockito.verify( repository, Mockito.never() ).obterSaldoPorTipoLancamentoEUsuario(Mockito.anyLong(), Mockito.any(), Mockito.any());
+	}
+	
 	@Test
 	public void deveRetornalOErroCorretoParaTodosOsCasos() {
 		//cenário
@@ -0,0 +1,62 @@
+package br.com.minhasFinancas.service;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.service.impl.ParticaoLancamentoServiceImpl;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+public class ParticaoLancamentoServiceTest {
+
+	@SpyBean
+	ParticaoLancamentoServiceImpl service;
+	
+	@MockBean
+	LancamentoRepository repository;
+	
+	@MockBean
+	DataSource dataSource;
+	
+	@Test
+	public void deveCriarAsParticoesDoIntervaloEDosAnosQueCairamNaParticaoPadrao() {
+		//cenário
+		Mockito.when( repository.buscarAnosSemParticao() ).thenReturn( Arrays.asList(2019, 2025) );
+		Mockito.when( repository.criarParticao(Mockito.anyInt()) ).thenReturn(true);
+		Mockito.when( repository.criarParticao(2026) ).thenReturn(false);
+		
+		//execução
+		int criadas = service.criarParticoes(2025, 2027);
+		
+		//verificação
+		Assertions.assertThat(criadas).isEqualTo(3);
+		Mockito.verify( repository ).criarParticao(2019);
+		Mockito.verify( repository, Mockito.times(1) ).criarParticao(2025);
+		Mockito.verify( repository ).criarParticao(2027);
+	}
+	
+	@Test
+	public void naoDeveConsultarOCatalogoDoPostgreSqlSemIdentificarOBanco() throws Exception {
+		//cenário
+		Mockito.when( dataSource.getConnection() ).thenThrow( new SQLException("sem conexão") );
+		
+		//execução
+		boolean particionado = service.estaParticionado();
+		
+		//verificação
+		Assertions.assertThat(particionado).isFalse();
+		Mockito.verify( repository, Mockito.never() ).estaParticionada();
+	}
+}
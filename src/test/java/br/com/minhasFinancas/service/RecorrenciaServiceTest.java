@@ -0,0 +1,287 @@
+package br.com.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.exception.RegraNegocioException;
+import br.com.minhasFinancas.job.GeracaoRecorrenciasJob;
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.entity.Recorrencia;
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.model.enums.RegraRecorrencia;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.EventoLancamentoRepository;
+import br.com.minhasFinancas.model.repository.EventoPendenteRepository;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.RecorrenciaRepository;
+import br.com.minhasFinancas.model.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Geração dos lançamentos recorrentes contra o banco: cada competência vira um lançamento uma
+ * única vez, mesmo com a geração repetida ou rodando em paralelo sobre as mesmas recorrências.
+ */
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+@SpringBootTest(properties = { "eventos.despacho.intervalo-ms=3600000", "recorrencia.geracao.cron=-",
+		"recorrencia.geracao.lote=3", "recorrencia.geracao.paralelismo=2" })
+public class RecorrenciaServiceTest {
+
+	static final int ABRIL_2024 = Recorrencia.competencia(2024, 4);
+
+	@Autowired
+	RecorrenciaService service;
+
+	@Autowired
+	GeracaoRecorrenciasJob job;
+
+	@Autowired
+	MeterRegistry registry;
+
+	@Autowired
+	RecorrenciaRepository repository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	EventoPendenteRepository eventoPendenteRepository;
+
+	@Autowired
+	EventoLancamentoRepository eventoLancamentoRepository;
+
+	Usuario usuario;
+
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("recorrencia@email.com").senha("senha").build());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		eventoPendenteRepository.deleteAllInBatch();
+		eventoLancamentoRepository.deleteAllInBatch();
+		lancamentoRepository.deleteAllInBatch();
+		repository.deleteAllInBatch();
+		usuarioRepository.deleteAll();
+	}
+
+	@Test
+	public void deveGerarOsMesesVencidosUmaUnicaVez() {
+		//cenário
+		Recorrencia aluguel = service.salvar(criarRecorrencia(usuario, RegraRecorrencia.MENSAL, null, 2024, 1));
+
+		//execução
+		ResultadoGeracao primeira = service.gerar(ABRIL_2024, 1, 0, 0, 500);
+		ResultadoGeracao segunda = service.gerar(ABRIL_2024, 1, 0, 0, 500);
+
+		//verificação
+		Assertions.assertThat(primeira.getLancamentos()).isEqualTo(4);
+		Assertions.assertThat(segunda.getRecorrencias()).isZero();
+		Assertions.assertThat(lancamentoRepository.findAll())
+			.allMatch( l -> aluguel.getId().equals(l.getIdRecorrencia()) && l.getStatus() == StatusLancamento.PENDENTE )
+			.extracting(Lancamento::getMes).containsExactlyInAnyOrder(1, 2, 3, 4);
+		Recorrencia gravada = repository.findById(aluguel.getId()).get();
+		Assertions.assertThat(gravada.getProximaCompetencia()).isEqualTo(Recorrencia.competencia(2024, 5));
+		Assertions.assertThat(service.contarPendentes(ABRIL_2024)).isZero();
+	}
+
+	@Test
+	public void deveEncerrarAParceladaNaUltimaParcelaEGerarAAnualUmaVezPorAno() {
+		//cenário
+		Recorrencia compra = service.salvar(criarRecorrencia(usuario, RegraRecorrencia.PARCELADA, 3, 2024, 3));
+		service.salvar(criarRecorrencia(usuario, RegraRecorrencia.ANUAL, null, 2022, 4));
+
+		//execução
+		service.gerar(Recorrencia.competencia(2024, 12), 1, 0, 0, 500);
+
+		//verificação
+		Assertions.assertThat(lancamentoRepository.findAll()).extracting(Lancamento::getDescricao)
+			.containsExactlyInAnyOrder("conta (1/3)", "conta (2/3)", "conta (3/3)", "conta", "conta", "conta");
+		Assertions.assertThat(repository.findById(compra.getId()).get().getProximaCompetencia()).isNull();
+	}
+
+	@Test
+	public void deveGerarTodasAsRecorrenciasPelasParticoesEmLotes() {
+		//cenário: 4 usuários com 2 recorrências cada, em 2 partições com lotes de 3
+		List<Usuario> usuarios = new ArrayList<>();
+		usuarios.add(usuario);
+		for (int i = 1; i < 4; i++) {
+			usuarios.add(usuarioRepository.save(Usuario.builder().nome("usuario").email("recorrencia" + i + "@email.com").senha("senha").build()));
+		}
+		for (Usuario dono : usuarios) {
+			service.salvar(criarRecorrencia(dono, RegraRecorrencia.MENSAL, null, 2024, 3));
+			service.salvar(criarRecorrencia(dono, RegraRecorrencia.MENSAL, null, 2024, 4));
+		}
+		double geradosAntes = registry.counter("recorrencia.lancamentos.gerados").count();
+
+		//execução
+		job.gerar(ABRIL_2024);
+
+		//verificação
+		Assertions.assertThat(lancamentoRepository.count()).isEqualTo(12);
+		Assertions.assertThat(registry.counter("recorrencia.lancamentos.gerados").count() - geradosAntes).isEqualTo(12);
+		Assertions.assertThat(registry.get("recorrencia.pendentes").gauge().value()).isZero();
+	}
+
+	@Test
+	public void geradoresConcorrentesNaoDevemDuplicarLancamentos() throws Exception {
+		//cenário
+		for (int i = 0; i < 5; i++) {
+			service.salvar(criarRecorrencia(usuario, RegraRecorrencia.MENSAL, null, 2024, 1));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<?>> tarefas = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			tarefas.add(executor.submit( () -> {
+				largada.await();
+				try {
+					return service.gerar(ABRIL_2024, 1, 0, 0, 500);
+				} catch (RuntimeException e) {
+					// o lote que perdeu a corrida volta atrás inteiro
+					return null;
+				}
+			}));
+		}
+
+		//execução
+		largada.countDown();
+		for (Future<?> tarefa : tarefas) {
+			tarefa.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		//verificação
+		Assertions.assertThat(lancamentoRepository.count()).isEqualTo(20);
+		Assertions.assertThat(service.contarPendentes(ABRIL_2024)).isZero();
+	}
+
+	@Test
+	public void naoDeveGerarDuasVezesOMesmoMesDeUmaRecorrencia() {
+		//cenário
+		Recorrencia aluguel = service.salvar(criarRecorrencia(usuario, RegraRecorrencia.MENSAL, null, 2024, 1));
+		service.gerar(Recorrencia.competencia(2024, 1), 1, 0, 0, 500);
+		Lancamento repetido = Lancamento.builder().descricao("conta").ano(2024).mes(1).valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE).usuario(usuario).idRecorrencia(aluguel.getId()).build();
+
+		//execução
+		Throwable exception = Assertions.catchThrowable( () -> lancamentoRepository.saveAndFlush(repetido) );
+
+		//verificação
+		Assertions.assertThat(exception).isInstanceOf(DataIntegrityViolationException.class);
+	}
+
+	@Test
+	public void naoDeveSalvarParceladaSemParcelas() {
+		//execução
+		Throwable exception = Assertions.catchThrowable( () ->
+			service.salvar(criarRecorrencia(usuario, RegraRecorrencia.PARCELADA, null, 2024, 1)) );
+
+		//verificação
+		Assertions.assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Informe ao menos duas parcelas.");
+	}
+
+	@Test
+	public void naoDeveSalvarRecorrenciaIniciadaHaMaisDeDezAnos() {
+		//execução
+		Throwable exception = Assertions.catchThrowable( () ->
+			service.salvar(criarRecorrencia(usuario, RegraRecorrencia.MENSAL, null, 1000, 1)) );
+		
+		//verificação
+		Assertions.assertThat(exception).isInstanceOf(RegraNegocioException.class)
+			.hasMessage("O primeiro lançamento pode ser de no máximo dez anos atrás.");
+	}
+	
+	@Test
+	public void deveGerarOsMesesAtrasadosAosPoucosPorLote() {
+		//cenário: 28 meses atrasados
+		Recorrencia aluguel = service.salvar(criarRecorrencia(usuario, RegraRecorrencia.MENSAL, null, 2022, 1));
+		
+		//execução
+		ResultadoGeracao primeiro = service.gerar(ABRIL_2024, 1, 0, 0, 500);
+		Integer proximaDepoisDoPrimeiro = repository.findById(aluguel.getId()).get().getProximaCompetencia();
+		job.gerar(ABRIL_2024);
+		
+		//verificação
+		Assertions.assertThat(primeiro.getLancamentos()).isEqualTo(RecorrenciaService.MESES_POR_LOTE);
+		Assertions.assertThat(proximaDepoisDoPrimeiro).isEqualTo(Recorrencia.competencia(2023, 1));
+		Assertions.assertThat(lancamentoRepository.count()).isEqualTo(28);
+		Assertions.assertThat(service.contarPendentes(ABRIL_2024)).isZero();
+	}
+	
+	@Test
+	public void umLancamentoRecusadoDeveDesfazerOLoteInteiro() {
+		//cenário
+		Recorrencia aluguel = service.salvar(criarRecorrencia(usuario, RegraRecorrencia.MENSAL, null, 2024, 4));
+		Recorrencia invalida = salvarSemValor(usuario);
+		
+		//execução
+		Throwable exception = Assertions.catchThrowable( () -> service.gerar(ABRIL_2024, 1, 0, 0, 500) );
+		
+		//verificação
+		Assertions.assertThat(exception).isInstanceOf(RegraNegocioException.class)
+			.hasMessageContaining("recorrência " + invalida.getId());
+		Assertions.assertThat(lancamentoRepository.count()).isZero();
+		Assertions.assertThat(repository.findById(aluguel.getId()).get().getProximaCompetencia()).isEqualTo(ABRIL_2024);
+	}
+	
+	@Test
+	public void oJobDeveGerarAsDemaisRecorrenciasDeUmLoteQueFalhou() {
+		//cenário: as três no mesmo lote da mesma partição, a do meio recusada
+		service.salvar(criarRecorrencia(usuario, RegraRecorrencia.MENSAL, null, 2024, 4));
+		Recorrencia invalida = salvarSemValor(usuario);
+		service.salvar(criarRecorrencia(usuario, RegraRecorrencia.MENSAL, null, 2024, 4));
+		
+		//execução
+		job.gerar(ABRIL_2024);
+		
+		//verificação
+		Assertions.assertThat(lancamentoRepository.findAll()).hasSize(2)
+			.noneMatch( l -> invalida.getId().equals(l.getIdRecorrencia()) );
+		Assertions.assertThat(repository.findById(invalida.getId()).get().getProximaCompetencia()).isEqualTo(ABRIL_2024);
+		Assertions.assertThat(service.contarPendentes(ABRIL_2024)).isEqualTo(1);
+	}
+	
+	// gravada direto pelo repositório, sem a validação do serviço: o lançamento gerado dela é recusado
+	private Recorrencia salvarSemValor(Usuario dono) {
+		Recorrencia recorrencia = criarRecorrencia(dono, RegraRecorrencia.MENSAL, null, 2024, 4);
+		recorrencia.setValor(BigDecimal.ZERO);
+		recorrencia.setGeradas(0);
+		recorrencia.setProximaCompetencia(recorrencia.getCompetenciaInicial());
+		return repository.save(recorrencia);
+	}
+	
+	private Recorrencia criarRecorrencia(Usuario dono, RegraRecorrencia regra, Integer parcelas, int ano, int mes) {
+		return Recorrencia.builder()
+				.descricao("conta")
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.DESPESA)
+				.regra(regra)
+				.parcelas(parcelas)
+				.competenciaInicial(Recorrencia.competencia(ano, mes))
+				.usuario(dono)
+				.build();
+	}
+}
@@ -0,0 +1,114 @@
+package br.com.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.api.dto.ResumoMensalDTO;
+import br.com.minhasFinancas.model.entity.ResumoMensal;
+import br.com.minhasFinancas.model.entity.ResumoMensalId;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.EventoPendenteRepository;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.ResumoMensalRepository;
+import br.com.minhasFinancas.service.eventos.ResumoMensalProjecao;
+import br.com.minhasFinancas.service.impl.ResumoMensalServiceImpl;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+public class ResumoMensalServiceTest {
+
+	@SpyBean
+	ResumoMensalServiceImpl service;
+	
+	@MockBean
+	ResumoMensalRepository repository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@MockBean
+	EventoPendenteRepository eventoPendenteRepository;
+	
+	@MockBean
+	DataSource dataSource;
+	
+	@Test
+	public void deveCriarALinhaDoResumoQuandoAindaNaoExistir() {
+		//cenário
+		ResumoMensalId id = new ResumoMensalId(1l, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+		Mockito.when( repository.somarAoResumo(id, BigDecimal.TEN, 1) ).thenReturn(0);
+		
+		//execução
+		service.movimentar(id, BigDecimal.TEN, 1);
+		
+		//verificação
+		Mockito.verify( repository ).save( ResumoMensal.builder().id(id).valor(BigDecimal.TEN).quantidade(1l).build() );
+	}
+	
+	@Test
+	public void deveJuntarReceitasEDespesasDoMesmoMesEStatus() {
+		//cenário
+		Mockito.when( repository.findByUsuarioEAno(1l, 2020) ).thenReturn( Arrays.asList(
+				resumo(1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100, 2),
+				resumo(1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 30, 1),
+				resumo(2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 50, 1) ) );
+		
+		//execução
+		List<ResumoMensalDTO> resumos = service.obterResumo(1l, 2020);
+		
+		//verificação
+		Assertions.assertThat(resumos).containsExactly(
+				new ResumoMensalDTO(1, "EFETIVADO", BigDecimal.valueOf(100), BigDecimal.valueOf(30), BigDecimal.valueOf(70), 3l),
+				new ResumoMensalDTO(2, "PENDENTE", BigDecimal.ZERO, BigDecimal.valueOf(50), BigDecimal.valueOf(-50), 1l) );
+	}
+	
+	@Test
+	public void deveDescartarOsEventosPendentesDoResumoAoReconstruir() {
+		//cenário
+		Mockito.when( repository.count() ).thenReturn(0l);
+		Mockito.when( lancamentoRepository.count() ).thenReturn(5l);
+		Mockito.when( repository.reconstruir() ).thenReturn(3);
+		
+		//execução
+		int linhas = service.reconstruir();
+		
+		//verificação
+		Assertions.assertThat(linhas).isEqualTo(3);
+		InOrder ordem = Mockito.inOrder(eventoPendenteRepository, repository);
+		ordem.verify( eventoPendenteRepository ).removerPendentes(ResumoMensalProjecao.NOME);
+		ordem.verify( repository ).reconstruir();
+	}
+	
+	@Test
+	public void naoDeveReconstruirOResumoJaReconstruidoPorOutraInstancia() {
+		//cenário
+		Mockito.when( repository.count() ).thenReturn(4l);
+		Mockito.when( lancamentoRepository.count() ).thenReturn(5l);
+		
+		//execução
+		int linhas = service.reconstruir();
+		
+		//verificação
+		Assertions.assertThat(linhas).isZero();
+		Mockito.verify( eventoPendenteRepository, Mockito.never() ).removerPendentes(Mockito.anyString());
+		Mockito.verify( repository, Mockito.never() ).reconstruir();
+	}
+	
+	private ResumoMensal resumo(int mes, TipoLancamento tipo, StatusLancamento status, int valor, long quantidade) {
+		return new ResumoMensal(new ResumoMensalId(1l, 2020, mes, tipo, status), BigDecimal.valueOf(valor), quantidade);
+	}
+}
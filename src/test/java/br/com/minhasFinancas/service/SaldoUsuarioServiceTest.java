@@ -0,0 +1,138 @@
+package br.com.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.api.dto.DivergenciaSaldoDTO;
+import br.com.minhasFinancas.model.entity.SaldoUsuario;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.model.repository.LancamentoRepository;
+import br.com.minhasFinancas.model.repository.SaldoCalculado;
+import br.com.minhasFinancas.model.repository.SaldoUsuarioRepository;
+import br.com.minhasFinancas.service.impl.SaldoUsuarioServiceImpl;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+public class SaldoUsuarioServiceTest {
+
+	@SpyBean
+	SaldoUsuarioServiceImpl service;
+	
+	@MockBean
+	SaldoUsuarioRepository repository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@Test
+	public void deveSomarAoSaldoExistente() {
+		//cenário
+		Mockito.when( repository.somarAoSaldo(1l, BigDecimal.TEN) ).thenReturn(1);
+		
+		//execução
+		service.movimentar(1l, BigDecimal.TEN);
+		
+		//verificação
+		Mockito.verify( repository, Mockito.never() ).save(Mockito.any(SaldoUsuario.class));
+	}
+	
+	@Test
+	public void deveCriarOSaldoQuandoOUsuarioAindaNaoTiver() {
+		//cenário
+		Mockito.when( repository.somarAoSaldo(1l, BigDecimal.TEN) ).thenReturn(0);
+		
+		//execução
+		service.movimentar(1l, BigDecimal.TEN);
+		
+		//verificação
+		Mockito.verify( repository ).save( SaldoUsuario.builder().idUsuario(1l).valor(BigDecimal.TEN).build() );
+	}
+	
+	@Test
+	public void naoDeveMovimentarValorZero() {
+		//execução
+		service.movimentar(1l, BigDecimal.ZERO);
+		
+		//verificação
+		Mockito.verifyNoInteractions(repository);
+	}
+	
+	@Test
+	public void deveRetornarZeroQuandoNaoHouverSaldo() {
+		//execução
+		BigDecimal saldo = service.obterSaldo(1l);
+		
+		//verificação
+		Assertions.assertThat(saldo).isEqualTo(BigDecimal.ZERO);
+	}
+	
+	@Test
+	public void deveReportarOsSaldosDivergentesSemAlterarOsGravados() {
+		//cenário
+		SaldoUsuario correto = SaldoUsuario.builder().idUsuario(1l).valor(BigDecimal.TEN).build();
+		SaldoUsuario divergente = SaldoUsuario.builder().idUsuario(2l).valor(BigDecimal.ONE).build();
+		Mockito.when( repository.findAll() ).thenReturn( Arrays.asList(correto, divergente) );
+		Mockito.when( lancamentoRepository.calcularSaldos(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO) )
+			.thenReturn( Arrays.asList( saldo(1l, BigDecimal.TEN), saldo(2l, BigDecimal.ZERO), saldo(3l, BigDecimal.ONE) ) );
+		
+		//execução
+		List<DivergenciaSaldoDTO> divergencias = service.verificarSaldos();
+		
+		//verificação
+		Assertions.assertThat(divergencias).extracting(DivergenciaSaldoDTO::getUsuario).containsExactlyInAnyOrder(2l, 3l);
+		Assertions.assertThat(divergente.getValor()).isEqualTo(BigDecimal.ONE);
+		Mockito.verify( repository, Mockito.never() ).save(Mockito.any(SaldoUsuario.class));
+	}
+	
+	@Test
+	public void deveCorrigirOSaldoRecalculadoDepoisDeBloquearALinha() {
+		//cenário: entre a verificação e a correção o saldo já recebeu outra movimentação
+		SaldoUsuario gravado = SaldoUsuario.builder().idUsuario(2l).valor(BigDecimal.valueOf(11)).build();
+		Mockito.when( repository.bloquear(2l) ).thenReturn( Optional.of(gravado) );
+		Mockito.when( lancamentoRepository.calcularSaldo(2l, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO) ).thenReturn( BigDecimal.TEN );
+		
+		//execução
+		Optional<DivergenciaSaldoDTO> corrigida = service.corrigirSaldo(2l);
+		
+		//verificação
+		Assertions.assertThat(corrigida).contains( new DivergenciaSaldoDTO(2l, BigDecimal.valueOf(11), BigDecimal.TEN) );
+		Assertions.assertThat(gravado.getValor()).isEqualTo(BigDecimal.TEN);
+		InOrder ordem = Mockito.inOrder(repository, lancamentoRepository);
+		ordem.verify( repository ).bloquear(2l);
+		ordem.verify( lancamentoRepository ).calcularSaldo(2l, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+	}
+	
+	@Test
+	public void naoDeveCorrigirQuandoOSaldoJaEstiverCertoAoBloquear() {
+		//cenário
+		Mockito.when( repository.bloquear(3l) ).thenReturn( Optional.empty() );
+		Mockito.when( lancamentoRepository.calcularSaldo(3l, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO) ).thenReturn( BigDecimal.ZERO );
+		
+		//execução
+		Optional<DivergenciaSaldoDTO> corrigida = service.corrigirSaldo(3l);
+		
+		//verificação
+		Assertions.assertThat(corrigida).isEmpty();
+		Mockito.verify( repository, Mockito.never() ).save(Mockito.any(SaldoUsuario.class));
+	}
+	
+	private SaldoCalculado saldo(Long idUsuario, BigDecimal valor) {
+		return new SaldoCalculado() {
+			public Long getIdUsuario() { return idUsuario; }
+			public BigDecimal getValor() { return valor; }
+		};
+	}
+}
@@ -0,0 +1,87 @@
+package br.com.minhasFinancas.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import br.com.minhasFinancas.model.entity.Usuario;
+import br.com.minhasFinancas.service.impl.TokenServiceImpl;
+
+public class TokenServiceTest {
+
+	static final String CHAVE = Base64.getEncoder().encodeToString("chave-de-teste-com-mais-de-32-bytes".getBytes());
+	static final Instant AGORA = Instant.parse("2024-05-10T12:00:00Z");
+	
+	TokenService service = new TokenServiceImpl(CHAVE, Duration.ofMinutes(60), Clock.fixed(AGORA, ZoneOffset.UTC));
+	
+	Usuario usuario = Usuario.builder().id(1l).email("email@email.com").build();
+	
+	@Test
+	public void deveVerificarOTokenEmitido() {
+		//cenário
+		TokenAcesso emitido = service.emitir(usuario);
+		
+		//execução
+		Optional<TokenAcesso> verificado = service.verificar(emitido.getValor());
+		
+		//verificação
+		Assertions.assertThat(emitido.getValor()).matches("[\\w-]+\\.[\\w-]+\\.[\\w-]+");
+		Assertions.assertThat(verificado).isPresent();
+		Assertions.assertThat(verificado.get().getIdUsuario()).isEqualTo(1l);
+		Assertions.assertThat(verificado.get().getId()).isEqualTo(emitido.getId());
+		Assertions.assertThat(verificado.get().getExpiraEm()).isEqualTo(AGORA.plus(Duration.ofMinutes(60)));
+	}
+	
+	@Test
+	public void naoDeveAceitarTokenAlterado() {
+		//cenário
+		String[] partes = service.emitir(usuario).getValor().split("\\.");
+		String outroUsuario = Base64.getUrlEncoder().withoutPadding().encodeToString(
+				new String(Base64.getUrlDecoder().decode(partes[1])).replace("\"sub\":\"1\"", "\"sub\":\"2\"").getBytes());
+		
+		//execução e verificação
+		Assertions.assertThat(service.verificar(partes[0] + "." + outroUsuario + "." + partes[2])).isEmpty();
+		Assertions.assertThat(service.verificar(partes[0] + "." + partes[1] + ".")).isEmpty();
+		Assertions.assertThat(service.verificar("nao-e-um-token")).isEmpty();
+		Assertions.assertThat(service.verificar(null)).isEmpty();
+	}
+	
+	@Test
+	public void naoDeveAceitarTokenAssinadoComOutraChave() {
+		//cenário
+		TokenService outraChave = new TokenServiceImpl(Base64.getEncoder().encodeToString(new byte[32]), Duration.ofMinutes(60), Clock.fixed(AGORA, ZoneOffset.UTC));
+		
+		//execução e verificação
+		Assertions.assertThat(service.verificar(outraChave.emitir(usuario).getValor())).isEmpty();
+	}
+	
+	@Test
+	public void naoDeveAceitarTokenExpirado() {
+		//cenário
+		String valor = service.emitir(usuario).getValor();
+		TokenService depois = new TokenServiceImpl(CHAVE, Duration.ofMinutes(60), Clock.fixed(AGORA.plus(Duration.ofMinutes(60)), ZoneOffset.UTC));
+		
+		//execução e verificação
+		Assertions.assertThat(depois.verificar(valor)).isEmpty();
+	}
+	
+	@Test
+	public void naoDeveAceitarTokenRevogado() {
+		//cenário
+		TokenAcesso revogado = service.emitir(usuario);
+		TokenAcesso outro = service.emitir(usuario);
+		
+		//execução
+		service.revogar(revogado);
+		
+		//verificação
+		Assertions.assertThat(service.verificar(revogado.getValor())).isEmpty();
+		Assertions.assertThat(service.verificar(outro.getValor())).isPresent();
+	}
+}
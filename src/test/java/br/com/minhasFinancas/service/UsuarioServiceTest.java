@@ -3,16 +3,24 @@ package br.com.minhasFinancas.service;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import br.com.minhasFinancas.config.SenhaConfiguration;
 import br.com.minhasFinancas.exception.ErroAutenticacao;
 import br.com.minhasFinancas.exception.RegraNegocioException;
 import br.com.minhasFinancas.model.entity.Usuario;
@@ -21,12 +29,22 @@ import br.com.minhasFinancas.service.impl.UsuarioServiceImpl;
 
 @ExtendWith( SpringExtension.class )
 @ActiveProfiles("test")
+@TestPropertySource( properties = "usuario.senha.custo=4" )
 public class UsuarioServiceTest {
 
 	@SpyBean
 	UsuarioServiceImpl service;
 	@MockBean
 	UsuarioRepository repository;
+	@MockBean
+	SaldoUsuarioService saldoUsuarioService;
+	@Autowired
+	PasswordEncoder passwordEncoder;
+	
+	@Configuration
+	@Import( SenhaConfiguration.class )
+	static class Senhas {
+	}
 	
 //	@BeforeEach
 //	public void setUp() {
@@ -66,6 +84,22 @@ public class UsuarioServiceTest {
 		Assertions.assertThat(usuarioSalvo.getNome()).isEqualTo("nome");
 		Assertions.assertThat(usuarioSalvo.getEmail()).isEqualTo("email@email.com");
 		Assertions.assertThat(usuarioSalvo.getSenha()).isEqualTo("senha");
+		Mockito.verify( saldoUsuarioService ).criar(1l);
+	}
+	
+	@Test
+	public void deveGravarASenhaComHash() {
+		//cenário
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().email("email@email.com").senha("senha").build();
+		Mockito.when( repository.save(Mockito.any(Usuario.class)) ).thenAnswer( i -> i.getArgument(0) );
+		
+		//ação
+		Usuario usuarioSalvo = service.salvarUsuario(usuario);
+		
+		//verificação
+		Assertions.assertThat(usuarioSalvo.getSenha()).startsWith("{bcrypt}").isNotEqualTo("senha");
+		Assertions.assertThat(passwordEncoder.matches("senha", usuarioSalvo.getSenha())).isTrue();
 	}
 	
 	@Test
@@ -74,14 +108,33 @@ public class UsuarioServiceTest {
 		String email = "email@email.com";
 		String senha = "senha";
 		
-		Usuario usuario = Usuario.builder().email(email).senha(senha).id(1l).build();
+		Usuario usuario = Usuario.builder().email(email).senha(passwordEncoder.encode(senha)).id(1l).build();
+		Mockito.when( repository.findByEmail(email) ).thenReturn( Optional.of(usuario) );
+		
+		//ação
+		Usuario result = service.autenticar(email, senha).join();
+		
+		//verificação
+		Assertions.assertThat(result).isNotNull();
+		Mockito.verify( repository, Mockito.never() ).atualizarSenha(Mockito.anyLong(), Mockito.anyString(), Mockito.anyString());
+	}
+	
+	@Test
+	public void deveGravarOHashDaSenhaAoAutenticarUsuarioComSenhaSemHash() {
+		//cenário
+		String email = "email@email.com";
+		Usuario usuario = Usuario.builder().email(email).senha("senha").id(1l).build();
 		Mockito.when( repository.findByEmail(email) ).thenReturn( Optional.of(usuario) );
+		ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
 		
 		//ação
-		Usuario result = service.autenticar(email, senha);
+		Usuario result = service.autenticar(email, "senha").join();
 		
 		//verificação
 		Assertions.assertThat(result).isNotNull();
+		Mockito.verify( repository ).atualizarSenha(Mockito.eq(1l), Mockito.eq(email), hash.capture());
+		Assertions.assertThat(hash.getValue()).startsWith("{bcrypt}");
+		Assertions.assertThat(passwordEncoder.matches("senha", hash.getValue())).isTrue();
 	}
 	
 	@Test//( expected = ErroAutenticacao.class)
@@ -90,10 +143,10 @@ public class UsuarioServiceTest {
 		Mockito.when( repository.findByEmail(Mockito.anyString()) ).thenReturn(Optional.empty());
 		
 		//ação
-		Throwable exception = Assertions.catchThrowable( () -> service.autenticar("email@email.com", "senha") );
+		Throwable exception = Assertions.catchThrowable( () -> service.autenticar("email@email.com", "senha").join() );
 		
 		//verificação
-		Assertions.assertThat(exception).isInstanceOf(ErroAutenticacao.class).hasMessage("Usuário não encontrado para o email informado.");
+		Assertions.assertThat(exception).isInstanceOf(CompletionException.class).cause().isInstanceOf(ErroAutenticacao.class).hasMessage("Usuário não encontrado para o email informado.");
 	}
 	
 	@Test
@@ -104,10 +157,10 @@ public class UsuarioServiceTest {
 		Mockito.when( repository.findByEmail(Mockito.anyString()) ).thenReturn( Optional.of(usuario) );
 		
 		//ação
-		Throwable exception = Assertions.catchThrowable( () -> service.autenticar("email@email.com", "123") );
+		Throwable exception = Assertions.catchThrowable( () -> service.autenticar("email@email.com", "123").join() );
 		
 		//verificação
-		Assertions.assertThat(exception).isInstanceOf(ErroAutenticacao.class).hasMessage("senha inválida");
+		Assertions.assertThat(exception).isInstanceOf(CompletionException.class).cause().isInstanceOf(ErroAutenticacao.class).hasMessage("senha inválida");
 	}
 	
 	@Test
@@ -0,0 +1,84 @@
+package br.com.minhasFinancas.service.eventos;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasFinancas.model.entity.LancamentoGravado;
+import br.com.minhasFinancas.model.entity.ResumoMensalId;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+import br.com.minhasFinancas.service.ResumoMensalService;
+
+@ExtendWith( SpringExtension.class )
+@ActiveProfiles("test")
+public class ResumoMensalProjecaoTest {
+
+	@SpyBean
+	ResumoMensalProjecao projecao;
+	
+	@MockBean
+	ResumoMensalService resumoMensalService;
+	
+	@Test
+	public void deveMoverOLancamentoNoResumoQuandoOMesMudar() {
+		//cenário
+		LancamentoGravado anterior = gravado(8, StatusLancamento.PENDENTE, 10);
+		LancamentoGravado atual = gravado(9, StatusLancamento.PENDENTE, 15);
+		
+		//execução
+		projecao.aplicar(Arrays.asList(new AlteracaoLancamento(1l, 1l, anterior, atual)));
+		
+		//verificação
+		Mockito.verify( resumoMensalService ).movimentar(id(8, StatusLancamento.PENDENTE), BigDecimal.valueOf(-10), -1);
+		Mockito.verify( resumoMensalService ).movimentar(id(9, StatusLancamento.PENDENTE), BigDecimal.valueOf(15), 1);
+	}
+	
+	@Test
+	public void deveAjustarApenasOValorQuandoAChaveDoResumoNaoMudar() {
+		//cenário
+		LancamentoGravado anterior = gravado(8, StatusLancamento.PENDENTE, 10);
+		LancamentoGravado atual = gravado(8, StatusLancamento.PENDENTE, 15);
+		
+		//execução
+		projecao.aplicar(Arrays.asList(new AlteracaoLancamento(1l, 1l, anterior, atual)));
+		
+		//verificação
+		Mockito.verify( resumoMensalService ).movimentar(id(8, StatusLancamento.PENDENTE), BigDecimal.valueOf(5), 0l);
+		Mockito.verifyNoMoreInteractions(resumoMensalService);
+	}
+	
+	@Test
+	public void deveFazerUmMovimentoPorChaveDoResumoNoLote() {
+		//cenário
+		LancamentoGravado pendente = gravado(8, StatusLancamento.PENDENTE, 10);
+		LancamentoGravado efetivado = gravado(8, StatusLancamento.EFETIVADO, 10);
+		
+		//execução
+		projecao.aplicar(Arrays.asList(
+				new AlteracaoLancamento(1l, 1l, null, pendente),
+				new AlteracaoLancamento(2l, 2l, null, gravado(8, StatusLancamento.PENDENTE, 5)),
+				new AlteracaoLancamento(3l, 1l, pendente, efetivado),
+				new AlteracaoLancamento(4l, 3l, null, efetivado)));
+		
+		//verificação
+		Mockito.verify( resumoMensalService ).movimentar(id(8, StatusLancamento.PENDENTE), BigDecimal.valueOf(5), 1l);
+		Mockito.verify( resumoMensalService ).movimentar(id(8, StatusLancamento.EFETIVADO), BigDecimal.valueOf(20), 2l);
+		Mockito.verifyNoMoreInteractions(resumoMensalService);
+	}
+	
+	private LancamentoGravado gravado(int mes, StatusLancamento status, int valor) {
+		return new LancamentoGravado(1l, 2020, mes, TipoLancamento.RECEITA, status, BigDecimal.valueOf(valor));
+	}
+	
+	private ResumoMensalId id(int mes, StatusLancamento status) {
+		return new ResumoMensalId(1l, 2020, mes, TipoLancamento.RECEITA, status);
+	}
+}
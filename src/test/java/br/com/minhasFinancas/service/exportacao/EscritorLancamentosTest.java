@@ -0,0 +1,65 @@
+package br.com.minhasFinancas.service.exportacao;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import br.com.minhasFinancas.model.entity.Lancamento;
+import br.com.minhasFinancas.model.enums.StatusLancamento;
+import br.com.minhasFinancas.model.enums.TipoLancamento;
+
+public class EscritorLancamentosTest {
+
+	@Test
+	public void deveEscreverOCsvEscapandoADescricao() throws Exception {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		try (EscritorLancamentos escritor = FormatoExportacao.CSV.abrir(saida)) {
+			escritor.escrever(criarLancamento(1l, "mercado; \"centro\""));
+			escritor.escrever(criarLancamento(2l, "aluguel"));
+		}
+		
+		String csv = new String(saida.toByteArray(), StandardCharsets.UTF_8);
+		Assertions.assertThat(csv).isEqualTo("﻿id;descricao;mes;ano;valor;tipo;status\r\n"
+				+ "1;\"mercado; \"\"centro\"\"\";1;2020;1234.50;DESPESA;PENDENTE\r\n"
+				+ "2;aluguel;1;2020;1234.50;DESPESA;PENDENTE\r\n");
+	}
+	
+	@Test
+	public void deveEscreverUmaPlanilhaXlsx() throws Exception {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		try (EscritorLancamentos escritor = FormatoExportacao.XLSX.abrir(saida)) {
+			escritor.escrever(criarLancamento(1l, "mercado"));
+			escritor.escrever(criarLancamento(2l, "aluguel"));
+		}
+		
+		try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(saida.toByteArray()))) {
+			Sheet aba = workbook.getSheet("lancamentos");
+			Assertions.assertThat(aba.getLastRowNum()).isEqualTo(2);
+			Assertions.assertThat(aba.getRow(0).getCell(1).getStringCellValue()).isEqualTo("descricao");
+			Row linha = aba.getRow(2);
+			Assertions.assertThat(linha.getCell(0).getNumericCellValue()).isEqualTo(2d);
+			Assertions.assertThat(linha.getCell(1).getStringCellValue()).isEqualTo("aluguel");
+			Assertions.assertThat(linha.getCell(4).getNumericCellValue()).isEqualTo(1234.5d);
+			Assertions.assertThat(linha.getCell(6).getStringCellValue()).isEqualTo("PENDENTE");
+		}
+	}
+	
+	private Lancamento criarLancamento(Long id, String descricao) {
+		return Lancamento.builder()
+				.id(id)
+				.descricao(descricao)
+				.mes(1)
+				.ano(2020)
+				.valor(new BigDecimal("1234.50"))
+				.tipo(TipoLancamento.DESPESA)
+				.status(StatusLancamento.PENDENTE)
+				.build();
+	}
+}
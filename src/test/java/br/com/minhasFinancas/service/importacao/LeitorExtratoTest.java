@@ -0,0 +1,70 @@
+package br.com.minhasFinancas.service.importacao;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LeitorExtratoTest {
+
+	@Test
+	public void deveLerUmCsvComCabecalhoEVirgulaDecimal() throws Exception {
+		String csv = "Data;Descrição;Valor\n"
+				+ "15/01/2020;\"Mercado; centro\";-1.234,56\n"
+				+ "\n"
+				+ "2020-02-01;Salário;3000.00\n"
+				+ "31/02/2020;Data errada;10\n";
+		
+		List<LinhaExtrato> linhas = ler(FormatoExtrato.CSV, csv);
+		
+		Assertions.assertThat(linhas).hasSize(3);
+		Assertions.assertThat(linhas.get(0).getData()).isEqualTo(LocalDate.of(2020, 1, 15));
+		Assertions.assertThat(linhas.get(0).getDescricao()).isEqualTo("Mercado; centro");
+		Assertions.assertThat(linhas.get(0).getValor()).isEqualByComparingTo("-1234.56");
+		Assertions.assertThat(linhas.get(1).getValor()).isEqualByComparingTo("3000");
+		Assertions.assertThat(linhas.get(1).getNumero()).isEqualTo(4);
+		Assertions.assertThat(linhas.get(2).getErro()).startsWith("Data inválida");
+	}
+	
+	@Test
+	public void deveLerUmOfxSgml() throws Exception {
+		String ofx = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+				+ "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20200115120000[-3:BRT]\n<TRNAMT>-50.00\n<FITID>0001\n<MEMO>Farmácia\n</STMTTRN>\n"
+				+ "<STMTTRN>\n<TRNTYPE>CREDIT\n<DTPOSTED>20200120\n<TRNAMT>100,00\n<FITID>0002\n<NAME>Pix recebido\n</STMTTRN>\n"
+				+ "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+		
+		List<LinhaExtrato> linhas = ler(FormatoExtrato.OFX, ofx);
+		
+		Assertions.assertThat(linhas).hasSize(2);
+		Assertions.assertThat(linhas.get(0).getData()).isEqualTo(LocalDate.of(2020, 1, 15));
+		Assertions.assertThat(linhas.get(0).getValor()).isEqualByComparingTo(BigDecimal.valueOf(-50));
+		Assertions.assertThat(linhas.get(0).getIdentificador()).isEqualTo("0001");
+		Assertions.assertThat(linhas.get(0).getDescricao()).isEqualTo("Farmácia");
+		Assertions.assertThat(linhas.get(1).getDescricao()).isEqualTo("Pix recebido");
+		Assertions.assertThat(linhas.get(1).getValor()).isEqualByComparingTo("100");
+	}
+	
+	@Test
+	public void deveLerUmOfxXml() throws Exception {
+		String ofx = "<?xml version=\"1.0\"?><OFX><STMTTRN><DTPOSTED>20200301</DTPOSTED><TRNAMT>-9.90</TRNAMT>"
+				+ "<FITID>abc</FITID><NAME>Streaming</NAME></STMTTRN></OFX>";
+		
+		List<LinhaExtrato> linhas = ler(FormatoExtrato.OFX, ofx);
+		
+		Assertions.assertThat(linhas).hasSize(1);
+		Assertions.assertThat(linhas.get(0).getDescricao()).isEqualTo("Streaming");
+		Assertions.assertThat(linhas.get(0).getValor()).isEqualByComparingTo("-9.90");
+	}
+	
+	private List<LinhaExtrato> ler(FormatoExtrato formato, String conteudo) throws Exception {
+		List<LinhaExtrato> linhas = new ArrayList<>();
+		try (LeitorExtrato leitor = formato.abrir(new StringReader(conteudo))) {
+			leitor.forEachRemaining(linhas::add);
+		}
+		return linhas;
+	}
+}